@@ -0,0 +1,220 @@
+/*
+ * Copyright (c) 2026 Dennis Lang (LanDen Labs) landenlabs@gmail.com
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the
+ * following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT
+ * LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN
+ * NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * @author Dennis Lang
+ * @see https://LanDenLabs.com/
+ */
+
+
+package com.landenlabs.all_flipanimation;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import android.graphics.Bitmap;
+import android.graphics.Rect;
+import android.os.Handler;
+import android.os.HandlerThread;
+import android.os.Looper;
+import android.os.SystemClock;
+import android.view.FrameMetrics;
+import android.view.PixelCopy;
+import android.view.View;
+import android.view.Window;
+
+import androidx.test.core.app.ActivityScenario;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Block the main thread in the middle of a flip and check whether the flip keeps moving.
+ * <p/>
+ * {@link FlipEngine} flips are computed on the main thread, so frames stop (FrameMetrics) and the
+ * title bar freezes for the whole stall. {@link FlipOverlayView} flips run on their own render
+ * thread, which keeps drawing frames and moving the panels while the main thread sleeps.
+ */
+@RunWith(AndroidJUnit4.class)
+public class FlipStallTest {
+
+    private static final long STALL_AFTER_MSEC = 500;
+    private static final long STALL_MSEC = 300;
+    private static final long COPY1_MSEC = STALL_AFTER_MSEC + 60;
+    private static final long COPY2_MSEC = STALL_AFTER_MSEC + 220;
+    private static final long SETTLE_MSEC = 300;
+    private static final int MIN_STALL_FRAMES = 4;  // Frames expected between copies, about 9 at 60Hz.
+
+    @Test
+    public void engineFlipStallsWithMainThread() throws InterruptedException {
+        runStall(false);
+    }
+
+    @Test
+    public void surfaceFlipKeepsMovingDuringStall() throws InterruptedException {
+        runStall(true);
+    }
+
+    private void runStall(final boolean surfaceFlip) throws InterruptedException {
+        final HandlerThread copyThread = new HandlerThread("FlipStallTest");
+        copyThread.start();
+        final Handler copyHandler = new Handler(copyThread.getLooper());
+        final long[] vsyncNanos = new long[1024];
+        final int[] vsyncCount = {0};
+        final long[] startNanos = {0};
+        final long[] startUptime = {0};
+        final Window[] window = {null};
+        final FlipOverlayView[] overlay = {null};
+        final boolean[] ready = {false};
+        final Rect titleRect = new Rect();
+
+        final Window.OnFrameMetricsAvailableListener metricsListener = new Window.OnFrameMetricsAvailableListener() {
+            @Override
+            public void onFrameMetricsAvailable(Window win, FrameMetrics metrics, int dropCount) {
+                synchronized (vsyncNanos) {
+                    if (vsyncCount[0] < vsyncNanos.length) {
+                        vsyncNanos[vsyncCount[0]++] = metrics.getMetric(FrameMetrics.INTENDED_VSYNC_TIMESTAMP);
+                    }
+                }
+            }
+        };
+
+        ActivityScenario<ActivityObjAnimListR> scenario = ActivityScenario.launch(ActivityObjAnimListR.class);
+        try {
+            InstrumentationRegistry.getInstrumentation().waitForIdleSync();
+            scenario.onActivity(new ActivityScenario.ActivityAction<ActivityObjAnimListR>() {
+                @Override
+                public void perform(ActivityObjAnimListR activity) {
+                    window[0] = activity.getWindow();
+                    overlay[0] = activity.getFlipOverlay();
+                    ready[0] = overlay[0].isReady();
+                    View titleBar = Ui.viewById(activity, R.id.titleBar);
+                    int[] pos = new int[2];
+                    titleBar.getLocationInWindow(pos);
+                    titleRect.set(pos[0], pos[1], pos[0] + titleBar.getWidth(), pos[1] + titleBar.getHeight());
+
+                    window[0].addOnFrameMetricsAvailableListener(metricsListener, copyHandler);
+                    activity.setSurfaceFlip(surfaceFlip);
+                    startNanos[0] = System.nanoTime();
+                    startUptime[0] = SystemClock.uptimeMillis();
+                    activity.animateIt();
+                    new Handler(Looper.getMainLooper()).postAtTime(new Runnable() {
+                        @Override
+                        public void run() {
+                            SystemClock.sleep(STALL_MSEC);
+                        }
+                    }, startUptime[0] + STALL_AFTER_MSEC);
+                }
+            });
+            assertTrue("overlay surface not ready", ready[0]);
+
+            sleepUntil(startUptime[0] + COPY1_MSEC);
+            int frames1 = overlay[0].getFrameCount();
+            Bitmap copy1 = surfaceFlip ? copy(overlay[0], copyHandler) : copy(window[0], titleRect, copyHandler);
+            sleepUntil(startUptime[0] + COPY2_MSEC);
+            int frames2 = overlay[0].getFrameCount();
+            Bitmap copy2 = surfaceFlip ? copy(overlay[0], copyHandler) : copy(window[0], titleRect, copyHandler);
+            sleepUntil(startUptime[0] + STALL_AFTER_MSEC + STALL_MSEC + SETTLE_MSEC);
+            window[0].removeOnFrameMetricsAvailableListener(metricsListener);
+
+            if (surfaceFlip) {
+                assertTrue("overlay drew " + (frames2 - frames1) + " frames while the main thread was blocked",
+                        frames2 - frames1 >= MIN_STALL_FRAMES);
+                assertFalse("overlay flip froze while the main thread was blocked", copy1.sameAs(copy2));
+            } else {
+                assertTrue("engine flip moved while the main thread was blocked", copy1.sameAs(copy2));
+                long maxGapMsec = maxGapMsec(vsyncNanos, vsyncCount, startNanos[0]);
+                assertTrue("engine longest frame interval " + maxGapMsec + " msec, stall " + STALL_MSEC,
+                        maxGapMsec >= STALL_MSEC * 9 / 10);
+            }
+        } finally {
+            scenario.close();
+            copyThread.quitSafely();
+        }
+    }
+
+    /**
+     * Longest interval between frames drawn after {@code startNanos}, in milliseconds.
+     */
+    private static long maxGapMsec(long[] vsyncNanos, int[] vsyncCount, long startNanos) {
+        long maxGap = 0;
+        long last = 0;
+        synchronized (vsyncNanos) {
+            for (int idx = 0; idx < vsyncCount[0]; idx++) {
+                long vsync = vsyncNanos[idx];
+                if (vsync < startNanos) {
+                    continue;
+                }
+                if (last != 0) {
+                    maxGap = Math.max(maxGap, vsync - last);
+                }
+                last = vsync;
+            }
+        }
+        return TimeUnit.NANOSECONDS.toMillis(maxGap);
+    }
+
+    /**
+     * Copy {@code rect} of the window's surface, works while the main thread is blocked.
+     */
+    private static Bitmap copy(Window window, Rect rect, Handler handler) throws InterruptedException {
+        Bitmap bitmap = Bitmap.createBitmap(rect.width(), rect.height(), Bitmap.Config.ARGB_8888);
+        final CountDownLatch done = new CountDownLatch(1);
+        final int[] result = {PixelCopy.ERROR_UNKNOWN};
+        PixelCopy.request(window, rect, bitmap, new PixelCopy.OnPixelCopyFinishedListener() {
+            @Override
+            public void onPixelCopyFinished(int copyResult) {
+                result[0] = copyResult;
+                done.countDown();
+            }
+        }, handler);
+        assertTrue("pixel copy timed out", done.await(1, TimeUnit.SECONDS));
+        assertEquals(PixelCopy.SUCCESS, result[0]);
+        return bitmap;
+    }
+
+    /**
+     * Copy the overlay's surface, works while the main thread is blocked.
+     */
+    private static Bitmap copy(FlipOverlayView overlay, Handler handler) throws InterruptedException {
+        Bitmap bitmap = Bitmap.createBitmap(overlay.getWidth(), overlay.getHeight(), Bitmap.Config.ARGB_8888);
+        final CountDownLatch done = new CountDownLatch(1);
+        final int[] result = {PixelCopy.ERROR_UNKNOWN};
+        PixelCopy.request(overlay, bitmap, new PixelCopy.OnPixelCopyFinishedListener() {
+            @Override
+            public void onPixelCopyFinished(int copyResult) {
+                result[0] = copyResult;
+                done.countDown();
+            }
+        }, handler);
+        assertTrue("pixel copy timed out", done.await(1, TimeUnit.SECONDS));
+        assertEquals(PixelCopy.SUCCESS, result[0]);
+        return bitmap;
+    }
+
+    private static void sleepUntil(long uptimeMsec) {
+        long remaining = uptimeMsec - SystemClock.uptimeMillis();
+        if (remaining > 0) {
+            SystemClock.sleep(remaining);
+        }
+    }
+}
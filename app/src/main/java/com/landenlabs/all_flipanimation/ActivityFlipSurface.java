@@ -0,0 +1,158 @@
+/*
+ * Copyright (c) 2026 Dennis Lang (LanDen Labs) landenlabs@gmail.com
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the
+ * following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT
+ * LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN
+ * NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * @author Dennis Lang
+ * @see https://LanDenLabs.com/
+ */
+
+
+package com.landenlabs.all_flipanimation;
+
+import android.app.Activity;
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.Color;
+import android.graphics.Paint;
+import android.os.Bundle;
+import android.widget.TextView;
+
+import com.landenlabs.all_flipanimation.ViewFlipFactory.FlipDirection;
+
+import java.util.Locale;
+
+/**
+ * Demonstrate a wall of panels flipping at once on a {@link FlipSurfaceView} render thread.
+ *
+ * @author Dennis Lang (LanDen Labs)
+ * @see <a href="https://LanDenLabs.com/android/index-m.html"> author's web-site </a>
+ */
+public class ActivityFlipSurface extends Activity {
+
+    // ---- Local data ----
+    private static final int COLUMNS = 6;
+    private static final int ROWS = 8;
+    private static final int PAGES = 4;
+    private static final int PANEL_SIZE = 128;     // Panel bitmap size (pixels)
+    private static final int[] COLORS = {0xffc04040, 0xff40a040, 0xff4060c0, 0xffc0a030};
+
+    // ---- Timer ----
+    private final int mDurationMsec = 1500;
+    private final FlipScheduler mFlipScheduler = new FlipScheduler(new FlipScheduler.Flipper() {
+        public long startFlip() {
+            animateIt();
+            return mDurationMsec;
+        }
+    });
+    private final FlipStats mStats = FlipStats.get(FlipStats.FLIP_SURFACE);
+
+    // ---- Layout members ----
+    private TextView mTitle;
+    private FlipSurfaceView mFlipSurface;
+
+    // ---- Local Data ----
+    private final Bitmap[][] mPages = new Bitmap[PAGES][];
+    private int mPage = 0;
+    private boolean mVertical = true;
+
+    @Override
+    protected void onCreate(Bundle savedInstanceState) {
+        super.onCreate(savedInstanceState);
+        setContentView(R.layout.flip_surface);
+        float refreshRate = Ui.getRefreshRate(this);
+        mStats.setRefreshRate(refreshRate);
+        mFlipScheduler.setRefreshRate(refreshRate);
+
+        mTitle = Ui.viewById(this, R.id.title);
+        mFlipSurface = Ui.viewById(this, R.id.flipSurface);
+        mFlipSurface.setGrid(COLUMNS, ROWS);
+        mFlipSurface.setDuration(mDurationMsec);
+        mFlipSurface.setStats(mStats);
+        mFlipSurface.setListener(new FlipSurfaceView.Listener() {
+            @Override
+            public void onFlipsDone() {
+                mFlipScheduler.onFlipEnd();
+            }
+
+            @Override
+            public void onRenderStats(float frameMsec, float panelsPerSec) {
+                mTitle.setText(String.format(Locale.US, "Panels:%d Frame:%.2fms Panels/s:%.0f",
+                        COLUMNS * ROWS, frameMsec, panelsPerSec));
+            }
+        });
+
+        makePages();
+        for (int panel = 0; panel < COLUMNS * ROWS; panel++) {
+            mFlipSurface.setPanelContent(panel, mPages[0][panel]);
+        }
+        mFlipScheduler.setGapMsec(500);
+    }
+
+    @Override
+    protected void onResume() {
+        super.onResume();
+        // Flip only while the surface can be drawn.
+        mFlipScheduler.start(mDurationMsec);
+    }
+
+    @Override
+    protected void onPause() {
+        mFlipScheduler.stop();
+        super.onPause();
+    }
+
+    @Override
+    protected void onDestroy() {
+        mFlipScheduler.stop();
+        mStats.exportCsvAsync(getFilesDir());
+        super.onDestroy();
+    }
+
+    /**
+     * Draw panel bitmaps once, every flip only hands over existing bitmaps.
+     */
+    private void makePages() {
+        Paint textPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
+        textPaint.setColor(Color.WHITE);
+        textPaint.setTextSize(PANEL_SIZE / 3.0f);
+        textPaint.setTextAlign(Paint.Align.CENTER);
+        Canvas canvas = new Canvas();
+        for (int page = 0; page < PAGES; page++) {
+            mPages[page] = new Bitmap[COLUMNS * ROWS];
+            for (int panel = 0; panel < COLUMNS * ROWS; panel++) {
+                Bitmap bitmap = Bitmap.createBitmap(PANEL_SIZE, PANEL_SIZE, Bitmap.Config.ARGB_8888);
+                canvas.setBitmap(bitmap);
+                canvas.drawColor(COLORS[(page + panel) % COLORS.length]);
+                canvas.drawText(String.valueOf(panel), PANEL_SIZE / 2.0f,
+                        (PANEL_SIZE - textPaint.ascent() - textPaint.descent()) / 2, textPaint);
+                mPages[page][panel] = bitmap;
+            }
+        }
+        canvas.setBitmap(null);
+    }
+
+    /**
+     * Flip every panel to the next page, alternating between vertical and horizontal flips.
+     */
+    private void animateIt() {
+        mPage = (mPage + 1) % PAGES;
+        mVertical = !mVertical;
+        mFlipSurface.setDirection(mVertical ? FlipDirection.TOP_BOTTOM : FlipDirection.LEFT_RIGHT);
+        for (int panel = 0; panel < COLUMNS * ROWS; panel++) {
+            mFlipSurface.setPanelContent(panel, mPages[mPage][panel]);
+        }
+    }
+}
@@ -24,12 +24,10 @@ package com.landenlabs.all_flipanimation;
 import android.animation.AnimatorSet;
 import android.animation.ObjectAnimator;
 import android.animation.TypeEvaluator;
+import android.animation.ValueAnimator;
 import android.app.Activity;
-import android.graphics.Camera;
 import android.graphics.Matrix;
 import android.os.Bundle;
-import android.os.Handler;
-import android.os.Looper;
 import android.view.View;
 import android.view.View.OnClickListener;
 import android.widget.CheckBox;
@@ -51,24 +49,28 @@ public class ActivityObjAnimImg extends Activity {
     Flip3dAnimation mRotation2;
 
     // ---- Timer ----
-    private final Handler m_handler = new Handler(Looper.getMainLooper());
     private int mDurationMsec = 3000;
-    private final Runnable m_updateElapsedTimeTask = new Runnable() {
-        public void run() {
+    private final FlipScheduler mFlipScheduler = new FlipScheduler(new FlipScheduler.Flipper() {
+        public long startFlip() {
             animateIt();
-            m_handler.postDelayed(this, mDurationMsec);   // Re-execute after msec.
+            return mDurationMsec;
         }
-    };
+    });
+    private final FlipStats mStats = FlipStats.get(FlipStats.OBJ_ANIM_IMG);
 
     // ---- Layout members ----
     private TextView mTitle;
+    private FastLabel mTitleLabel;
     private ImageView mView1;
     private ImageView mView2;
     private CheckBox mAutoFlipCb;
     private CheckBox mYaxisCb;
+    private CheckBox mMatrixLerpCb;
+    private CheckBox mBakedCb;
     private SlideBar mManualPosSb;
     private SlideBar mCameraDistSb;
     private View mClickView;
+    private FloatFlipAnimator mClickFade;
 
     // ---- Local Data ----
     private float mCameraDist = 192000;
@@ -76,7 +78,30 @@ public class ActivityObjAnimImg extends Activity {
     private boolean mRotateYaxis = false;
     private boolean mAutoMode = false;
     private boolean mIsForward = true;
-    private final AnimatorSet mAnimatorSet = new AnimatorSet();
+    private AnimatorSet mAnimatorSet = new AnimatorSet();
+    private final MatrixEvaluator mMatrixEval1 = new MatrixEvaluator();
+    private final MatrixEvaluator mMatrixEval2 = new MatrixEvaluator();
+    private final Matrix mManualMatrix = new Matrix();
+
+    /**
+     * Image flip technique.
+     * <li> MATRIX_LERP - lerp the nine matrix values between start and end (not a true rotation).
+     * <li> ANGLE - lerp the angle and rebuild the perspective matrix each frame.
+     * <li> ANGLE_KEYFRAMES - same as ANGLE but matrices are sampled at display refresh rate when flip starts.
+     */
+    public enum FlipMode {MATRIX_LERP, ANGLE, ANGLE_KEYFRAMES}
+    private FlipMode mFlipMode = FlipMode.ANGLE_KEYFRAMES;
+
+    private final ValueAnimator.AnimatorUpdateListener mAngleUpdater = new ValueAnimator.AnimatorUpdateListener() {
+        @Override
+        public void onAnimationUpdate(ValueAnimator animation) {
+            long workStart = mStats.beginWork();
+            float fract = animation.getAnimatedFraction();
+            mView1.setImageMatrix(mRotation1.getAnimatedMatrix(fract));
+            mView2.setImageMatrix(mRotation2.getAnimatedMatrix(fract));
+            mStats.endWork(workStart);
+        }
+    };
 
 
     /**
@@ -86,15 +111,19 @@ public class ActivityObjAnimImg extends Activity {
     public void onCreate(Bundle savedInstanceState) {
         super.onCreate(savedInstanceState);
         setContentView(R.layout.obj_anim_images);
+        float refreshRate = Ui.getRefreshRate(this);
+        mStats.setRefreshRate(refreshRate);
+        mFlipScheduler.setRefreshRate(refreshRate);
 
         mTitle = Ui.viewById(this, R.id.title);
+        mTitleLabel = new FastLabel(mTitle);
 
         mView1 = Ui.viewById(this, R.id.view1);
         mView2 = Ui.viewById(this, R.id.view2);
 
         // Create new 3D matrix rotation animators.
-        mRotation1 = new Flip3dAnimation(mView1.getMatrix());
-        mRotation2 = new Flip3dAnimation(mView2.getMatrix());
+        mRotation1 = new Flip3dAnimation();
+        mRotation2 = new Flip3dAnimation();
 
         setupUI();
         mYaxisCb.setVisibility(View.GONE);
@@ -108,6 +137,13 @@ public class ActivityObjAnimImg extends Activity {
         });
     }
 
+    @Override
+    protected void onDestroy() {
+        mFlipScheduler.stop();
+        mStats.exportCsvAsync(getFilesDir());
+        super.onDestroy();
+    }
+
     /**
      * Execute manual animation.
      *
@@ -115,94 +151,176 @@ public class ActivityObjAnimImg extends Activity {
      */
     public void manualAnimation(float fract) {
         setPivotAndCamera();
-        mView1.setImageMatrix(mRotation1.getMatrix(fract));
-        mView2.setImageMatrix(mRotation2.getMatrix(fract));
+        // setImageMatrix copies the matrix so one scratch matrix serves both views.
+        mView1.setImageMatrix(mRotation1.getMatrix(fract, mManualMatrix));
+        mView2.setImageMatrix(mRotation2.getMatrix(fract, mManualMatrix));
+    }
+
+    /**
+     * Select image flip technique, takes effect on next flip.
+     */
+    public void setFlipMode(FlipMode flipMode) {
+        mFlipMode = flipMode;
+        if (mMatrixLerpCb != null) {
+            mMatrixLerpCb.setChecked(flipMode == FlipMode.MATRIX_LERP);
+            // Keyframes only apply to angle flips, keep last choice while matrix lerp is on.
+            mBakedCb.setEnabled(flipMode != FlipMode.MATRIX_LERP);
+            if (flipMode != FlipMode.MATRIX_LERP) {
+                mBakedCb.setChecked(flipMode == FlipMode.ANGLE_KEYFRAMES);
+            }
+        }
+    }
+
+    /**
+     * @return Flip mode selected by the matrix lerp and baked checkboxes.
+     */
+    private FlipMode checkedFlipMode() {
+        if (mMatrixLerpCb.isChecked()) {
+            return FlipMode.MATRIX_LERP;
+        }
+        return mBakedCb.isChecked() ? FlipMode.ANGLE_KEYFRAMES : FlipMode.ANGLE;
+    }
+
+    public FlipMode getFlipMode() {
+        return mFlipMode;
     }
 
     /**
      * Start animation.
      */
     public void animateIt() {
-        ObjectAnimator.ofFloat(mClickView, View.ALPHA, mClickView.getAlpha(), 0).start();
+        mStats.beginFlip();
+        mClickFade.start(mClickView.getAlpha(), 0);
 
         setPivotAndCamera();
         mIsForward = !mIsForward;
 
-        // For imageMatrix to work you must also set scaleType to Matrix.
-        ObjectAnimator anim1 = ObjectAnimator.ofObject(
-                mView1,
-                "imageMatrix",  // Property of imageView
-                new MatrixEvaluator(),
-                mRotation1.getMatrix(0), mRotation1.getMatrix(1));
-        anim1.setDuration(mDurationMsec);
+        // Stop previous flip, its start and end matrices are reused below.
+        mAnimatorSet.cancel();
+        mAnimatorSet = new AnimatorSet();
+        mAnimatorSet.addListener(mFlipScheduler.getAnimatorListener());
+
+        switch (mFlipMode) {
+            case MATRIX_LERP:
+                mAnimatorSet.play(matrixAnimator(mView1, mRotation1, mMatrixEval1))
+                    .with(matrixAnimator(mView2, mRotation2, mMatrixEval2));
+                break;
+            case ANGLE:
+            case ANGLE_KEYFRAMES:
+                if (mFlipMode == FlipMode.ANGLE_KEYFRAMES) {
+                    int frames = FlipKeyframes.frameCount(mDurationMsec, Ui.getRefreshRate(mView1));
+                    mRotation1.bake(frames);
+                    mRotation2.bake(frames);
+                } else {
+                    mRotation1.clearKeyframes();
+                    mRotation2.clearKeyframes();
+                }
+
+                // One animator rebuilds both image matrices from the current angle.
+                ValueAnimator angleAnim = ValueAnimator.ofFloat(0f, 1f);
+                angleAnim.setDuration(mDurationMsec);
+                angleAnim.addUpdateListener(mAngleUpdater);
+                mAnimatorSet.play(angleAnim);
+                break;
+        }
+
+        mAnimatorSet.start();
+    }
+
+    /**
+     * Create animator which lerps image matrix values.
+     */
+    private ObjectAnimator matrixAnimator(ImageView view, Flip3dAnimation rotation, MatrixEvaluator evaluator) {
+        evaluator.invalidate();
 
-        ObjectAnimator anim2 = ObjectAnimator.ofObject(
-                mView2,
+        // Start and end matrices are owned by the rotation and only rewritten here,
+        // the previous flip using them has been cancelled.
+        // For imageMatrix to work you must also set scaleType to Matrix.
+        ObjectAnimator anim = ObjectAnimator.ofObject(
+                view,
                 "imageMatrix",  // Property of imageView
-                new MatrixEvaluator(),
-                mRotation2.getMatrix(0), mRotation2.getMatrix(1));
-        anim2.setDuration(mDurationMsec);
-
-        // Execute two Object animations together.
-        AnimatorSet animatorSet = new AnimatorSet();
-        animatorSet.play(anim1).with(anim2);
-        animatorSet.start();
+                evaluator,
+                rotation.getMatrix(0, rotation.mStartMatrix), rotation.getMatrix(1, rotation.mEndMatrix));
+        anim.setDuration(mDurationMsec);
+        return anim;
     }
 
-    public class Flip3dAnimation {
-        private final Matrix mMatrix;
+    public class Flip3dAnimation implements FlipKeyframes.Sampler {
+        // Start and end of matrix lerp animator, see matrixAnimator.
+        final Matrix mStartMatrix = new Matrix();
+        final Matrix mEndMatrix = new Matrix();
+        private final Matrix mAnimMatrix = new Matrix();
+        private final FlipKeyframes mKeyframes = new FlipKeyframes();
+        private final float[] mValues = new float[9];
         float mFromDegrees;
         float mToDegrees;
         float mCenterX;
         float mCenterY;
         float mCameraZ;
         float mScaleX, mScaleY;
-        private final Camera mCamera;
-
-        public Flip3dAnimation(Matrix matrix) {
-            mMatrix = matrix;
-            mCamera = new Camera();
-        }
 
-        public Matrix getMatrix(float fract) {
-            return applyTransformation(fract);
+        /**
+         * Compute flip matrix into caller's matrix.
+         * @return {@code out}
+         */
+        public Matrix getMatrix(float fract, Matrix out) {
+            sample(fract, mValues);
+            out.setValues(mValues);
+            return out;
         }
 
         /**
-         * Apply animation transformation (rotate matrix)
-         * @param interpolatedTime
-         * @return
+         * Sample angle-space flip at display refresh rate, used by {@link #getAnimatedMatrix}.
          */
-        protected Matrix applyTransformation(float interpolatedTime) {
-
-            float degrees1 = mFromDegrees + ((mToDegrees - mFromDegrees) * interpolatedTime);
-            final Camera camera = mCamera;
-
-            Matrix matrix = new Matrix();
-            matrix.set(mMatrix);
-
-            camera.save();
-            camera.setLocation(0, 0, mCameraZ);
-            camera.rotateY(degrees1);
+        public void bake(int frameCount) {
+            mKeyframes.bake(this, frameCount);
+        }
 
-            camera.getMatrix(matrix);
-            camera.restore();
+        public void clearKeyframes() {
+            mKeyframes.clear();
+        }
 
-            matrix.preTranslate(-mCenterX, -mCenterY);
-            matrix.preScale(mScaleX, mScaleX);
-            matrix.postTranslate(mCenterX, mCenterY);
+        /**
+         * Return animation frame matrix, from keyframes if baked else computed from angle.
+         * Matrix is reused, valid until next call.
+         */
+        public Matrix getAnimatedMatrix(float fract) {
+            if (mKeyframes.isBaked()) {
+                mKeyframes.getValues(fract, mValues);
+            } else {
+                sample(fract, mValues);
+            }
+            mAnimMatrix.setValues(mValues);
+            return mAnimMatrix;
+        }
 
-            return matrix;
+        /**
+         * Compute image matrix values by interpolating angle and rebuilding perspective matrix
+         * from cached center, scale and camera Z.
+         */
+        @Override
+        public void sample(float fraction, float[] out) {
+            float degrees1 = mFromDegrees + ((mToDegrees - mFromDegrees) * fraction);
+
+            FlipMatrix.flip(out, FlipMatrix.ROTATION_Y, degrees1,
+                0, 0, mCameraZ,
+                mCenterX, mCenterY, 0, 0);
+            FlipMatrix.preScale(out, mScaleX, mScaleX);
         }
     }
 
     /**
      * Reset rotation angles on ALL views.
+     * Stops any running flip, drops its keyframes and lerp matrices and shows the first view.
      */
     private void resetRotation() {
-        // TODO - reset matrix
+        mAnimatorSet.cancel();
+        mIsForward = true;
+        mRotation1.clearKeyframes();
+        mRotation2.clearKeyframes();
+        mMatrixEval1.invalidate();
+        mMatrixEval2.invalidate();
         manualAnimation(0);
-        setPivotAndCamera();
     }
 
     /**
@@ -244,24 +362,44 @@ public class ActivityObjAnimImg extends Activity {
 
     /**
      * Linear interpolation between two matrix.
+     * Reuses scratch arrays and double buffers the result matrix so no garbage is made per frame.
+     * ImageView.setImageMatrix copies the matrix so a result only has to live until the next frame.
      */
     public class MatrixEvaluator implements TypeEvaluator<Matrix> {
+        private final float[] mStartEntries = new float[9];
+        private final float[] mEndEntries = new float[9];
+        private final float[] mCurrentEntries = new float[9];
+        private final MatrixRing mResults = new MatrixRing(2);
+        private Matrix mStartValue;
+        private Matrix mEndValue;
+
+        /**
+         * Forget cached start and end values, call when they may have been modified.
+         */
+        public void invalidate() {
+            mStartValue = null;
+            mEndValue = null;
+        }
+
         public Matrix evaluate(float fraction,
             Matrix startValue,
             Matrix endValue) {
-            float[] startEntries = new float[9];
-            float[] endEntries = new float[9];
-            float[] currentEntries = new float[9];
-
-            startValue.getValues(startEntries);
-            endValue.getValues(endEntries);
+            long workStart = mStats.beginWork();
+            if (startValue != mStartValue) {
+                startValue.getValues(mStartEntries);
+                mStartValue = startValue;
+            }
+            if (endValue != mEndValue) {
+                endValue.getValues(mEndEntries);
+                mEndValue = endValue;
+            }
 
-            for (int i = 0; i < 9; i++)
-                currentEntries[i] = (1 - fraction) * startEntries[i]
-                    + fraction * endEntries[i];
+            FlipMatrix.lerp(mCurrentEntries, mStartEntries, mEndEntries, fraction);
 
-            Matrix matrix = new Matrix();
-            matrix.setValues(currentEntries);
+            // Owned by this evaluator, valid until the next two evaluate calls.
+            Matrix matrix = mResults.next();
+            matrix.setValues(mCurrentEntries);
+            mStats.endWork(workStart);
             return matrix;
         }
     }
@@ -272,9 +410,12 @@ public class ActivityObjAnimImg extends Activity {
     private void setupUI() {
         mAutoFlipCb = Ui.viewById(this, R.id.autoflip);
         mYaxisCb = Ui.viewById(this, R.id.yaxis);
+        mMatrixLerpCb = Ui.viewById(this, R.id.matrixLerp);
+        mBakedCb = Ui.viewById(this, R.id.baked);
 
         // Click on panel runs one flip animation.
         mClickView = Ui.viewById(this, R.id.click_view);
+        mClickFade = new FloatFlipAnimator(mClickView, View.ALPHA, FloatCurve.LINEAR);
         mClickView.setOnClickListener(new OnClickListener() {
             @Override
             public void onClick(View v) {
@@ -292,16 +433,25 @@ public class ActivityObjAnimImg extends Activity {
                 mManualPosSb.setEnabled(!mAutoMode);
                 if (mAutoMode) {
                     mManualPosSb.setEnabled(false);
-                    animateIt();
-                    m_handler.postDelayed(m_updateElapsedTimeTask, mDurationMsec);
+                    mFlipScheduler.start();
                 } else {
                     mManualPosSb.setEnabled(true);
+                    mFlipScheduler.stop();
                     mAnimatorSet.cancel();
-                    m_handler.removeCallbacks(m_updateElapsedTimeTask);
                 }
             }
         });
 
+        // Matrix lerp, else angle flip computed each frame or from baked keyframes.
+        OnClickListener flipModeListener = new OnClickListener() {
+            @Override
+            public void onClick(View v) {
+                setFlipMode(checkedFlipMode());
+            }
+        };
+        mMatrixLerpCb.setOnClickListener(flipModeListener);
+        mBakedCb.setOnClickListener(flipModeListener);
+
         mYaxisCb.setOnClickListener(new OnClickListener() {
             @Override
             public void onClick(View v) {
@@ -324,7 +474,7 @@ public class ActivityObjAnimImg extends Activity {
             @Override
             public float onValueChanged(View v, float value) {
                 mDurationMsec = (int) (value = 100 + value * 100);
-                mTitle.setText(String.format("Delay:%d Distance:%.0f", mDurationMsec, mCameraDist));
+                mTitleLabel.begin().append("Delay:").append(mDurationMsec).append(" Distance:").append(mCameraDist, 0).commit();
                 return value;
             }
         });
@@ -352,7 +502,7 @@ public class ActivityObjAnimImg extends Activity {
                 if (!mAutoMode) {
                     manualAnimation(mManualPosSb.getProgress() / 100.0f);
                 }
-                mTitle.setText(String.format("Delay:%d Distance:%.0f", mDurationMsec, mCameraDist));
+                mTitleLabel.begin().append("Delay:").append(mDurationMsec).append(" Distance:").append(mCameraDist, 0).commit();
                 return value;
             }
         });
@@ -361,6 +511,7 @@ public class ActivityObjAnimImg extends Activity {
         mRotateYaxis = mYaxisCb.isChecked();
         mCameraDist = 1000 + mCameraDistSb.getProgress() * 1000;
         mAutoMode = mAutoFlipCb.isChecked();
+        setFlipMode(mFlipMode);
         mManualPosSb.setEnabled(!mAutoMode);
         mManualPosSb.setProgress(0);
 
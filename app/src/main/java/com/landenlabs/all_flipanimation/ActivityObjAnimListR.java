@@ -21,16 +21,12 @@
 
 package com.landenlabs.all_flipanimation;
 
-import android.animation.AnimatorSet;
-import android.animation.ObjectAnimator;
-import android.animation.TypeEvaluator;
 import android.app.Activity;
 import android.os.Bundle;
-import android.os.Handler;
-import android.os.Looper;
 import android.view.View;
 import android.widget.AdapterView;
 import android.widget.ArrayAdapter;
+import android.widget.CheckBox;
 import android.widget.ListView;
 import android.widget.TextView;
 
@@ -38,7 +34,7 @@ import java.util.Arrays;
 import java.util.List;
 
 /**
- * Demonstrate rotating Two Views using  ObjectAnimators (slide look)
+ * Demonstrate rotating Two Views using a shared FlipEngine clock (slide look)
  * Using rotation (R) only.   See ActivityObjAnimListRT for alternate look.
  *
  * @author Dennis Lang (LanDen Labs)
@@ -47,14 +43,15 @@ import java.util.List;
 public class ActivityObjAnimListR extends Activity {  // ActionBarActivity
 
     // ---- Timer ----
-    private final Handler m_handler = new Handler(Looper.getMainLooper());
     private final int mDurationMsec = 3000;
-    private final Runnable m_updateElapsedTimeTask = new Runnable() {
-        public void run() {
+    private final FlipScheduler mFlipScheduler = new FlipScheduler(new FlipScheduler.Flipper() {
+        public long startFlip() {
             animateIt();
-            m_handler.postDelayed(this, mDurationMsec);   // Re-execute after msec.
+            return mDurationMsec;
         }
-    };
+    });
+    private final FlipStats mStats = FlipStats.get(FlipStats.OBJ_ANIM_LIST_R);
+    private final FlipEngine mFlipEngine = new FlipEngine();
 
     private final List<String> mListStrings = Arrays.asList("Apple", "Avocado", "Banana",
             "Blueberry", "Coconut", "Durian", "Guava", "Kiwifruit",
@@ -66,17 +63,51 @@ public class ActivityObjAnimListR extends Activity {  // ActionBarActivity
     private TextView mTitle1;
     private TextView mTitle2;
     private ListView mListView;
+    private FlipOverlayView mFlipOverlay;
 
     // ---- Local data ----
     private static final float END_ANGLE = 90.0f;
-    private final TypeEvaluator<Float> mAngleSync = new FloatEvaluator();
+    private final FloatCurve mAngleSync = EdgeSyncCurve.getDefault();
+    // Flip on the overlay's render thread instead of the FlipEngine, toggled by the surfaceFlip CheckBox.
+    private boolean mSurfaceFlip = false;
+    private final FlipCurveInterpolator mOutSync =
+            new FlipCurveInterpolator(mAngleSync, 0, END_ANGLE, FlipEngine.EASE_ACCEL_DECEL);
+    private final FlipCurveInterpolator mInSync =
+            new FlipCurveInterpolator(mAngleSync, -END_ANGLE, 0, FlipEngine.EASE_ACCEL_DECEL);
 
     @Override
     protected void onCreate(Bundle savedInstanceState) {
         super.onCreate(savedInstanceState);
         setContentView(R.layout.obj_anim_list);
+        float refreshRate = Ui.getRefreshRate(this);
+        mStats.setRefreshRate(refreshRate);
+        mFlipScheduler.setRefreshRate(refreshRate);
         setup();
-        m_handler.postDelayed(m_updateElapsedTimeTask, mDurationMsec);
+        mFlipEngine.setStats(mStats);
+        mFlipEngine.setLayers(FlipLayers.getDefault());
+        mFlipEngine.setListener(new FlipEngine.Listener() {
+            @Override
+            public void onFlipsDone() {
+                mFlipScheduler.onFlipEnd();
+            }
+        });
+        mFlipOverlay.setStats(mStats);
+        mFlipOverlay.setListener(new FlipOverlayView.Listener() {
+            @Override
+            public void onFlipsDone() {
+                mFlipScheduler.onFlipEnd();
+            }
+        });
+        mFlipScheduler.start(mDurationMsec);
+    }
+
+    @Override
+    protected void onDestroy() {
+        mFlipScheduler.stop();
+        mStats.exportCsvAsync(getFilesDir());
+        mFlipEngine.clear();
+        mFlipOverlay.cancel();
+        super.onDestroy();
     }
 
     public void setup() {
@@ -101,6 +132,34 @@ public class ActivityObjAnimListR extends Activity {  // ActionBarActivity
                 mCurrentIdx = position;
             }
         });
+
+        mFlipOverlay = Ui.viewById(this, R.id.flipOverlay);
+        mFlipOverlay.setVisibility(View.VISIBLE);
+        final CheckBox surfaceFlipCb = Ui.viewById(this, R.id.surfaceFlip);
+        surfaceFlipCb.setVisibility(View.VISIBLE);
+        surfaceFlipCb.setChecked(mSurfaceFlip);
+        surfaceFlipCb.setOnClickListener(new View.OnClickListener() {
+            @Override
+            public void onClick(View v) {
+                setSurfaceFlip(((CheckBox) v).isChecked());
+            }
+        });
+    }
+
+    /**
+     * Flip on the {@link FlipOverlayView} render thread (true) or the {@link FlipEngine} (false),
+     * applies from the next flip.
+     */
+    public void setSurfaceFlip(boolean surfaceFlip) {
+        mSurfaceFlip = surfaceFlip;
+    }
+
+    public boolean isSurfaceFlip() {
+        return mSurfaceFlip;
+    }
+
+    public FlipOverlayView getFlipOverlay() {
+        return mFlipOverlay;
     }
 
     /**
@@ -120,16 +179,23 @@ public class ActivityObjAnimListR extends Activity {  // ActionBarActivity
         mTitle1.setPivotX(mTitle1.getWidth() * pivotPos);
         mTitle2.setPivotX(mTitle2.getWidth() * pivotPos);
 
+        // Surface is created after the first layout, engine flips until then.
+        if (mSurfaceFlip && mFlipOverlay.isReady()) {
+            mFlipOverlay.flip(mTitle1, FlipMatrix.ROTATION_X, beg1, beg1 + rot, mOutSync,
+                    mTitle1.getPivotX(), mTitle1.getPivotY(), mDurationMsec);
+            mFlipOverlay.flip(mTitle2, FlipMatrix.ROTATION_X, beg2, beg2 + rot, mInSync,
+                    mTitle2.getPivotX(), mTitle2.getPivotY(), mDurationMsec);
+            return;
+        }
+
         mTitle1.setRotationX(beg1);
         mTitle2.setRotationX(beg2);
 
-        // Build AnimatorSet to run all four animations in parallel.
-        AnimatorSet animatorSet = new AnimatorSet();
-        String parmStr = "RotationX";
-        animatorSet
-                .play(ObjectAnimator.ofObject(mTitle1, parmStr, mAngleSync, beg1, beg1 + rot).setDuration(mDurationMsec))
-                .with(ObjectAnimator.ofObject(mTitle2, parmStr, mAngleSync, beg2, beg2 + rot).setDuration(mDurationMsec));
-        animatorSet.start();
+        // Both panels advance on the engine's shared clock.
+        mFlipEngine.flip(mTitle1, FlipMatrix.ROTATION_X, beg1, beg1 + rot, mAngleSync,
+                mTitle1.getPivotX(), mTitle1.getPivotY(), FlipEngine.EASE_ACCEL_DECEL, mDurationMsec);
+        mFlipEngine.flip(mTitle2, FlipMatrix.ROTATION_X, beg2, beg2 + rot, mAngleSync,
+                mTitle2.getPivotX(), mTitle2.getPivotY(), FlipEngine.EASE_ACCEL_DECEL, mDurationMsec);
     }
 
     /**
@@ -155,27 +221,4 @@ public class ActivityObjAnimListR extends Activity {  // ActionBarActivity
         mCurrentIdx = (mCurrentIdx + 1) % mListStrings.size();
         mTitle2.setText(mListStrings.get(mCurrentIdx));
     }
-
-    /**
-     * Modify angle so both edges are in sync.
-     */
-    public class FloatEvaluator implements TypeEvaluator<Float> {
-        public Float evaluate(float fraction, Float startValue,  Float endValue) {
-
-            // Assume non-zero start is a reverse animation..
-            if (startValue != 0)
-                fraction = 1 - fraction;
-
-            // Output angle which will produce identical ending point for
-            // the opposite edge of the pivoting view, assumes both views
-            // are identical size.
-            float angle = (float) (Math.acos(1 - fraction) * 180 / Math.PI);
-            float percent = angle / END_ANGLE;
-
-            if (startValue != 0)
-                percent = 1 - percent;
-
-            return startValue + ((endValue - startValue) * percent);
-        }
-    }
 }
@@ -21,13 +21,8 @@
 
 package com.landenlabs.all_flipanimation;
 
-import android.animation.AnimatorSet;
-import android.animation.ObjectAnimator;
-import android.animation.TypeEvaluator;
 import android.app.Activity;
 import android.os.Bundle;
-import android.os.Handler;
-import android.os.Looper;
 import android.view.View;
 import android.widget.AdapterView;
 import android.widget.ArrayAdapter;
@@ -38,7 +33,7 @@ import java.util.Arrays;
 import java.util.List;
 
 /**
- * Demonstrate rotating Two Views using  ObjectAnimators (cube look)
+ * Demonstrate rotating Two Views using a shared FlipEngine clock (cube look)
  * Using rotation and translation  (R & T).  See ActivityObjAnimListR for alternate look.
  *
  * @author Dennis Lang (LanDen Labs)
@@ -47,14 +42,15 @@ import java.util.List;
 public class ActivityObjAnimListRT extends Activity {
 
     // ---- Timer ----
-    private final Handler m_handler = new Handler(Looper.getMainLooper());
     private final int mDurationMsec = 3000;
-    private final Runnable m_updateElapsedTimeTask = new Runnable() {
-        public void run() {
+    private final FlipScheduler mFlipScheduler = new FlipScheduler(new FlipScheduler.Flipper() {
+        public long startFlip() {
             animateIt();
-            m_handler.postDelayed(this, mDurationMsec);   // Re-execute after msec.
+            return mDurationMsec;
         }
-    };
+    });
+    private final FlipStats mStats = FlipStats.get(FlipStats.OBJ_ANIM_LIST_RT);
+    private final FlipEngine mFlipEngine = new FlipEngine();
 
     private final List<String> mListStrings = Arrays.asList("Apple", "Avocado", "Banana",
         "Blueberry", "Coconut", "Durian", "Guava", "Kiwifruit",
@@ -67,15 +63,34 @@ public class ActivityObjAnimListRT extends Activity {
     private ListView mListView;
 
     // ---- Local data ----
-    private final TypeEvaluator<Float> mFloatEval = new FloatEvaluator();
-    private final TypeEvaluator<Integer> mIntEval = new IntEvaluator();
+    private final FloatCurve mFloatEval = FloatCurve.LINEAR;
+    private final FloatCurve mIntEval = FloatCurve.INT_LINEAR;
 
     @Override
     protected void onCreate(Bundle savedInstanceState) {
         super.onCreate(savedInstanceState);
         setContentView(R.layout.obj_anim_list);
+        float refreshRate = Ui.getRefreshRate(this);
+        mStats.setRefreshRate(refreshRate);
+        mFlipScheduler.setRefreshRate(refreshRate);
         setup();
-        m_handler.postDelayed(m_updateElapsedTimeTask, mDurationMsec);
+        mFlipEngine.setStats(mStats);
+        mFlipEngine.setLayers(FlipLayers.getDefault());
+        mFlipEngine.setListener(new FlipEngine.Listener() {
+            @Override
+            public void onFlipsDone() {
+                mFlipScheduler.onFlipEnd();
+            }
+        });
+        mFlipScheduler.start(mDurationMsec);
+    }
+
+    @Override
+    protected void onDestroy() {
+        mFlipScheduler.stop();
+        mStats.exportCsvAsync(getFilesDir());
+        mFlipEngine.clear();
+        super.onDestroy();
     }
 
     public void setup() {
@@ -115,16 +130,13 @@ public class ActivityObjAnimListRT extends Activity {
         mTitle1.setPivotY(0);
         mTitle2.setPivotY(mTitle2.getHeight());
 
-        // Build AnimatorSet to run all four animations in parallel.
-        AnimatorSet animatorSet = new AnimatorSet();
-        String rotParm = "RotationX";
-        String tranParm = "TranslationY";
-        animatorSet
-                .play(ObjectAnimator.ofObject(mTitle1, rotParm, mFloatEval, beg1, beg1 + rot).setDuration(mDurationMsec))
-                .with(ObjectAnimator.ofObject(mTitle1, tranParm, mIntEval, 0, mTitle1.getHeight()).setDuration(mDurationMsec))
-                .with(ObjectAnimator.ofObject(mTitle2, rotParm, mFloatEval, beg2, beg2 + rot).setDuration(mDurationMsec))
-                .with(ObjectAnimator.ofObject(mTitle2, tranParm, mIntEval, -mTitle2.getHeight(), 0).setDuration(mDurationMsec));
-        animatorSet.start();
+        // Rotation and translation of both panels advance on the engine's shared clock.
+        mFlipEngine.flip(mTitle1, FlipMatrix.ROTATION_X, beg1, beg1 + rot, mFloatEval,
+                0, mTitle1.getHeight(), mIntEval,
+                mTitle1.getPivotX(), mTitle1.getPivotY(), FlipEngine.EASE_ACCEL_DECEL, mDurationMsec, null);
+        mFlipEngine.flip(mTitle2, FlipMatrix.ROTATION_X, beg2, beg2 + rot, mFloatEval,
+                -mTitle2.getHeight(), 0, mIntEval,
+                mTitle2.getPivotX(), mTitle2.getPivotY(), FlipEngine.EASE_ACCEL_DECEL, mDurationMsec, null);
     }
 
     /**
@@ -150,23 +162,4 @@ public class ActivityObjAnimListRT extends Activity {
         mCurrentIdx = (mCurrentIdx + 1) % mListStrings.size();
         mTitle2.setText(mListStrings.get(mCurrentIdx));
     }
-
-    /**
-     * Interpolate angle
-     */
-    public class FloatEvaluator implements TypeEvaluator<Float> {
-        public Float evaluate(float fraction, Float startValue,  Float endValue) {
-            return startValue + ((endValue - startValue) * fraction);
-        }
-    }
-
-    /**
-     * Interpolate translation
-     */
-    public class IntEvaluator implements TypeEvaluator<Integer> {
-        public Integer evaluate(float fraction, Integer startValue,  Integer endValue) {
-            float numF = startValue + ((endValue - startValue) * fraction);
-            return (int)numF;
-        }
-    }
 }
@@ -21,20 +21,15 @@
 
 package com.landenlabs.all_flipanimation;
 
-import android.animation.AnimatorSet;
-import android.animation.ObjectAnimator;
-import android.animation.TypeEvaluator;
 import android.app.Activity;
 import android.os.Bundle;
-import android.os.Handler;
-import android.os.Looper;
 import android.view.View;
 import android.view.View.OnClickListener;
 import android.widget.CheckBox;
 import android.widget.TextView;
 
 /**
- * Demonstrate rotating View animation using two ObjectAnimators.
+ * Demonstrate rotating View animation with two panels driven by a shared {@link FlipEngine} clock.
  *
  * @author Dennis Lang (LanDen Labs)
  * @see <a href="https://LanDenLabs.com/android/index-m.html"> author's web-site </a>
@@ -43,26 +38,35 @@ public class ActivityObjAnimView extends Activity {
 
     // ---- Local data ----
     private static final float END_ANGLE = 90.0f;
-    private final TypeEvaluator<Float> mAngleSync = new FloatEvaluator();
+    private final FloatCurve mAngleSync = EdgeSyncCurve.getDefault();
 
     // ---- Timer ----
-    private final Handler m_handler = new Handler(Looper.getMainLooper());
     private int mDurationMsec = 3000;
-    private final Runnable m_updateElapsedTimeTask = new Runnable() {
-        public void run() {
+    private final FlipScheduler mFlipScheduler = new FlipScheduler(new FlipScheduler.Flipper() {
+        public long startFlip() {
+            mFlipQueue.request();
+            return mDurationMsec;
+        }
+    });
+    // Taps and auto-flip never interrupt a running flip, pending flips run in order.
+    private final FlipQueue mFlipQueue = new FlipQueue(FlipQueue.Policy.CHAIN, new FlipQueue.Flipper() {
+        public long startFlip(int steps) {
             animateIt();
-            m_handler.postDelayed(this, mDurationMsec);   // Re-execute after msec.
+            return mDurationMsec;
         }
-    };
+    });
+    private final FlipStats mStats = FlipStats.get(FlipStats.OBJ_ANIM_VIEW);
 
     // ---- Layout members ----
     private TextView mTitle;
+    private FastLabel mTitleLabel;
     private View[] mViews;
     private CheckBox mAutoFlipCb;
     private CheckBox mYaxisCb;
     private SlideBar mManualPosSb;
     private SlideBar mCameraDistSb;
     private View mClickView;
+    private FloatFlipAnimator mClickFade;
 
     // ---- Local Data ----
     private float mCameraDist = 192000;
@@ -70,7 +74,7 @@ public class ActivityObjAnimView extends Activity {
     private boolean mRotateYaxis = false;
     private boolean mAutoMode = false;
     private boolean mIsForward = true;
-    private AnimatorSet mAnimatorSet = new AnimatorSet();
+    private final FlipEngine mFlipEngine = new FlipEngine();
     private int mCurrentIdx = 0;
     private int mNextIdx = 0;
     private View mView1;
@@ -83,8 +87,12 @@ public class ActivityObjAnimView extends Activity {
     public void onCreate(Bundle savedInstanceState) {
         super.onCreate(savedInstanceState);
         setContentView(R.layout.object_animator);
+        float refreshRate = Ui.getRefreshRate(this);
+        mStats.setRefreshRate(refreshRate);
+        mFlipScheduler.setRefreshRate(refreshRate);
 
         mTitle = Ui.viewById(this, R.id.title);
+        mTitleLabel = new FastLabel(mTitle);
         mViews = new View[3];
         mViews[0] = Ui.viewById(this, R.id.view1); // Red   - Hello World
         mViews[1] = Ui.viewById(this, R.id.view2); // Green - Time 4 Fun
@@ -97,9 +105,26 @@ public class ActivityObjAnimView extends Activity {
         advance();      // Get views loaded
         mNextIdx = 0;   // Start back at first
 
+        mFlipEngine.setStats(mStats);
+        mFlipEngine.setLayers(FlipLayers.getDefault());
+        mFlipEngine.setListener(new FlipEngine.Listener() {
+            @Override
+            public void onFlipsDone() {
+                mFlipScheduler.onFlipEnd();
+                mFlipQueue.onFlipEnd();
+            }
+        });
         setupUI();
     }
 
+    @Override
+    protected void onDestroy() {
+        mFlipScheduler.stop();
+        mStats.exportCsvAsync(getFilesDir());
+        mFlipEngine.clear();
+        super.onDestroy();
+    }
+
     /**
      * Execute manual animation.
      *
@@ -126,14 +151,15 @@ public class ActivityObjAnimView extends Activity {
             mView2.setRotationX(deg2);
         }
 
-        mTitle.setText(String.format("Frac:%.2f  D1:%.0f  D2:%.0f", fract, deg1, deg2));
+        mTitleLabel.begin().append("Frac:").append(fract, 2).append("  D1:").append(deg1, 0)
+                .append("  D2:").append(deg2, 0).commit();
     }
 
     /**
      * Start animation.
      */
     public void animateIt() {
-        ObjectAnimator.ofFloat(mClickView, View.ALPHA, mClickView.getAlpha(), 0).start();
+        mClickFade.start(mClickView.getAlpha(), 0);
 
         advance();
         manualAnimation(0);
@@ -144,14 +170,12 @@ public class ActivityObjAnimView extends Activity {
         float beg2 = -END_ANGLE * dir;
         float rot = END_ANGLE * dir;
 
-        // Clear left over state by creating new AnimatorSet
-        mAnimatorSet = new AnimatorSet();
-
-        String parmStr = mRotateYaxis ? "RotationY" : "RotationX";
-        mAnimatorSet
-            .play(ObjectAnimator.ofObject(mView1, parmStr, mAngleSync, beg1, beg1 + rot).setDuration(mDurationMsec))
-            .with(ObjectAnimator.ofObject(mView2, parmStr, mAngleSync, beg2, beg2 + rot).setDuration(mDurationMsec));
-        mAnimatorSet.start();
+        // Both panels advance on the engine's shared clock.
+        int axis = mRotateYaxis ? FlipMatrix.ROTATION_Y : FlipMatrix.ROTATION_X;
+        mFlipEngine.flip(mView1, axis, beg1, beg1 + rot, mAngleSync,
+            mView1.getPivotX(), mView1.getPivotY(), FlipEngine.EASE_ACCEL_DECEL, mDurationMsec);
+        mFlipEngine.flip(mView2, axis, beg2, beg2 + rot, mAngleSync,
+            mView2.getPivotX(), mView2.getPivotY(), FlipEngine.EASE_ACCEL_DECEL, mDurationMsec);
     }
 
     /**
@@ -231,32 +255,6 @@ public class ActivityObjAnimView extends Activity {
         mView2.setCameraDistance(mCameraDist);
     }
 
-    /**
-     * Modify angle so both edges are in sync.
-     */
-    public class FloatEvaluator implements TypeEvaluator<Float> {
-        public Float evaluate(float fraction,
-            Float startValue,
-            Float endValue) {
-
-            // Assume non-zero start is a reverse animation..
-            if (startValue != 0)
-                fraction = 1 - fraction;
-
-            // Output angle which will produce identical ending point for
-            // the opposite edge of the pivoting view, assumes both views
-            // are identical size.
-            float angle = (float) (Math.acos(1 - fraction) * 180 / Math.PI);
-            float percent = angle / END_ANGLE;
-
-            if (startValue != 0)
-                percent = 1 - percent;
-
-            float degrees2 = startValue + ((endValue - startValue) * percent);
-            return degrees2;
-        }
-    }
-
     /**
      * Build User Interface - setup callbacks.
      */
@@ -266,11 +264,12 @@ public class ActivityObjAnimView extends Activity {
 
         // Click on panel runs one flip animation.
         mClickView = Ui.viewById(this, R.id.click_view);
+        mClickFade = new FloatFlipAnimator(mClickView, View.ALPHA, FloatCurve.LINEAR);
         mClickView.setOnClickListener(new OnClickListener() {
             @Override
             public void onClick(View v) {
                 if (!mAutoMode) {
-                    animateIt();
+                    mFlipQueue.request();
                 }
             }
         });
@@ -282,11 +281,11 @@ public class ActivityObjAnimView extends Activity {
                 mAutoMode = ((CheckBox) v).isChecked();
                 mManualPosSb.setEnabled(!mAutoMode);
                 if (mAutoMode) {
-                    animateIt();
-                    m_handler.postDelayed(m_updateElapsedTimeTask, mDurationMsec);
+                    mFlipScheduler.start();
                 } else {
-                    mAnimatorSet.cancel();
-                    m_handler.removeCallbacks(m_updateElapsedTimeTask);
+                    mFlipScheduler.stop();
+                    mFlipEngine.cancel();
+                    mFlipQueue.clear();
                 }
             }
         });
@@ -313,7 +312,7 @@ public class ActivityObjAnimView extends Activity {
             @Override
             public float onValueChanged(View v, float value) {
                 mDurationMsec = (int) (value = 100 + value * 100);
-                mTitle.setText(String.format("Delay:%d Distance:%.0f", mDurationMsec, mCameraDist));
+                mTitleLabel.begin().append("Delay:").append(mDurationMsec).append(" Distance:").append(mCameraDist, 0).commit();
                 return value;
             }
         });
@@ -341,7 +340,7 @@ public class ActivityObjAnimView extends Activity {
                 if (!mAutoMode) {
                     manualAnimation(mManualPosSb.getProgress() / 100.0f);
                 }
-                mTitle.setText(String.format("Delay:%d Distance:%.0f", mDurationMsec, mCameraDist));
+                mTitleLabel.begin().append("Delay:").append(mDurationMsec).append(" Distance:").append(mCameraDist, 0).commit();
                 return value;
             }
         });
@@ -21,14 +21,9 @@
 
 package com.landenlabs.all_flipanimation;
 
-import android.animation.ObjectAnimator;
 import android.app.Activity;
-import android.graphics.Camera;
-import android.graphics.Matrix;
 import android.media.MediaPlayer;
 import android.os.Bundle;
-import android.os.Handler;
-import android.os.Looper;
 import android.view.View;
 import android.view.View.OnClickListener;
 import android.view.animation.Animation;
@@ -51,9 +46,12 @@ public class ActivityRotAnimComp extends Activity {
     View mView1;
     View mView2;
     View mClickView;
+    FloatFlipAnimator mClickFade;
     DrawView mDrawView;
     TextView mAngle1;
     TextView mAngle2;
+    FastLabel mAngle1Label;
+    FastLabel mAngle2Label;
 
     // ---- Data ----
     float mCameraZ = -25;
@@ -67,14 +65,14 @@ public class ActivityRotAnimComp extends Activity {
     MediaPlayer mSoundShut;
 
     // ---- Timer ----
-    private final Handler m_handler = new Handler(Looper.getMainLooper());
     private int mDurationMsec = 3000;
-    private final Runnable m_updateElapsedTimeTask = new Runnable() {
-        public void run() {
+    private final FlipScheduler mFlipScheduler = new FlipScheduler(new FlipScheduler.Flipper() {
+        public long startFlip() {
             animateIt();
-            m_handler.postDelayed(this, mDurationMsec);   // Re-execute after msec
+            return mDurationMsec;
         }
-    };
+    });
+    private final FlipStats mStats = FlipStats.get(FlipStats.ROT_ANIM_COMP);
 
     /**
      * Called when the activity is first created.
@@ -83,6 +81,9 @@ public class ActivityRotAnimComp extends Activity {
     public void onCreate(Bundle savedInstanceState) {
         super.onCreate(savedInstanceState);
         setContentView(R.layout.rot_animation);
+        float refreshRate = Ui.getRefreshRate(this);
+        mStats.setRefreshRate(refreshRate);
+        mFlipScheduler.setRefreshRate(refreshRate);
 
         mView1 = Ui.viewById(this, R.id.view1);
         mView2 = Ui.viewById(this, R.id.view2);
@@ -91,15 +92,23 @@ public class ActivityRotAnimComp extends Activity {
         mRotation1 = new Flip3dAnimation();
         mRotation2 = new Flip3dAnimation();
 
-        Ui.<TextView>viewById(this, R.id.side_title).setText("Rot Animation w/adj");
+        Ui.<VerticalTextView>viewById(this, R.id.side_title).setTextAsync("Rot Animation w/adj", null);
         setupUI();
     }
 
+    @Override
+    protected void onDestroy() {
+        mFlipScheduler.stop();
+        mStats.exportCsvAsync(getFilesDir());
+        super.onDestroy();
+    }
+
     /**
      * Start animation.
      */
     public void animateIt() {
-        ObjectAnimator.ofFloat(mClickView, View.ALPHA, mClickView.getAlpha(), 0).start();
+        mStats.beginFlip();
+        mClickFade.start(mClickView.getAlpha(), 0);
 
         final float end = 90.0f;
 
@@ -135,6 +144,7 @@ public class ActivityRotAnimComp extends Activity {
             @Override public void onAnimationStart(Animation animation) { }
             @Override public void onAnimationEnd(Animation animation) {
                 mSoundShut.start();
+                mFlipScheduler.onFlipEnd();
             }
             @Override public void onAnimationRepeat(Animation animation) { }
         });
@@ -147,13 +157,14 @@ public class ActivityRotAnimComp extends Activity {
         animationSet.start();
     }
 
-    public class Flip3dAnimation extends Animation {
+    public class Flip3dAnimation extends Animation implements FlipKeyframes.Sampler {
         float mFromDegrees;
         float mToDegrees;
         float mCenterX = 0;
         float mCenterY = 0;
         float mCameraZ = -8;
-        Camera mCamera;
+        final float[] mMatrixValues = new float[9];
+        final EdgeSyncCurve mCurve = EdgeSyncCurve.getDefault();
         View mView;
 
         public Flip3dAnimation() {
@@ -170,53 +181,52 @@ public class ActivityRotAnimComp extends Activity {
             mView = view;
         }
 
-        @Override
-        public void initialize(int width, int height, int parentWidth, int parentHeight) {
-            super.initialize(width, height, parentWidth, parentHeight);
-            mCamera = new Camera();
+        /**
+         * Compute percent of travel along edge (x-axis) and convert back to angle
+         * required to generate this x position so both views will have their outside
+         * edge at the same position.
+         * Note - View camera z (depth) has a big impact on how the edge meets, overlaps or
+         * undershoots. Use a large -80 camera Z to get edges to meet.
+         */
+        float angle(float interpolatedTime) {
+            float percent = (mFromDegrees == 0)
+                ? mCurve.percent(interpolatedTime)
+                : mCurve.percentReverse(interpolatedTime);
+            return mFromDegrees + ((mToDegrees - mFromDegrees) * percent);
         }
 
+        /**
+         * Compute transform matrix values, used by {@link FlipReplay}.
+         */
         @Override
-        protected void applyTransformation(float interpolatedTime, Transformation trans) {
-
-            // Compute standard angle scaled by interpolation time (value not used)
-            float degrees1 = mFromDegrees + ((mToDegrees - mFromDegrees) * interpolatedTime);
-
-            // Compute percent of travel along edge (x-axis) and convert back to angle
-            // required to generate this x position so both views will have their outside
-            // edge at the same position.
-            // Note - View camera z (depth) has a big impact on how the edge meets, overlaps or
-            // undershoots. Use a large -80 camera Z to get edges to meet.
-            float percent1 = (float)Math.toDegrees(Math.acos(1 - interpolatedTime)) / 90;
-            float percent2 = (float)Math.toDegrees(Math.asin(interpolatedTime)) / 90;
-            float percent = (mFromDegrees == 0) ? percent1 : percent2;
-            float degrees2 = mFromDegrees + ((mToDegrees - mFromDegrees) * percent);
-
-            final Camera camera = mCamera;
-            final Matrix matrix = trans.getMatrix();
-
-            camera.save();
-            camera.setLocation(0, 0, mCameraZ);
+        public void sample(float interpolatedTime, float[] out) {
+            matrixValues(angle(interpolatedTime), out);
+        }
 
-            if (mRotateYaxis)
-                camera.rotateY(degrees2);
-            else
-                camera.rotateX(degrees2);
+        private void matrixValues(float degrees, float[] out) {
+            FlipMatrix.flip(out,
+                mRotateYaxis ? FlipMatrix.ROTATION_Y : FlipMatrix.ROTATION_X, degrees,
+                0, 0, mCameraZ,
+                mCenterX, mCenterY, 0, 0);
+        }
 
-            camera.getMatrix(matrix);
-            camera.restore();
+        @Override
+        protected void applyTransformation(float interpolatedTime, Transformation trans) {
+            long workStart = mStats.beginWork();
 
-            matrix.preTranslate(-mCenterX, -mCenterY);
-            matrix.postTranslate(mCenterX, mCenterY);
+            float degrees2 = angle(interpolatedTime);
+            matrixValues(degrees2, mMatrixValues);
+            trans.getMatrix().setValues(mMatrixValues);
 
             final float degree3 = degrees2;
             if (mView == mView1) {
                 mDrawView.setAngle1(degree3);
-                mAngle1.setText(String.format("%.0f°", degree3));
+                mAngle1Label.setDegrees(degree3);
             } else {
                 mDrawView.setAngle2(degree3);
-                mAngle2.setText(String.format("%.0f°", degree3));
+                mAngle2Label.setDegrees(degree3);
             }
+            mStats.endWork(workStart);
         }
     }
 
@@ -230,9 +240,10 @@ public class ActivityRotAnimComp extends Activity {
         mSoundShut = MediaPlayer.create(this, R.raw.shut);
         // mSoundShut.setVolume(0.3f, 0.3f);
 
-        final TextView title = (TextView) this.findViewById(R.id.title);
+        final FastLabel title = new FastLabel((TextView) this.findViewById(R.id.title));
 
         mClickView = this.findViewById(R.id.click_view);
+        mClickFade = new FloatFlipAnimator(mClickView, View.ALPHA, FloatCurve.LINEAR);
         mClickView.setOnClickListener(new OnClickListener() {
             @Override
             public void onClick(View v) {
@@ -246,7 +257,7 @@ public class ActivityRotAnimComp extends Activity {
             @Override
             public float onValueChanged(View v, float value) {
                 mDurationMsec = (int) (value = 100 + value * 100);
-                title.setText(String.format("Delay:%d CameraZ:%.0f", mDurationMsec, mCameraZ));
+                title.begin().append("Delay:").append(mDurationMsec).append(" CameraZ:").append(mCameraZ, 0).commit();
                 return value;
             }
         });
@@ -257,7 +268,7 @@ public class ActivityRotAnimComp extends Activity {
             @Override
             public float onValueChanged(View v, float value) {
                 mCameraZ = value = (50 - value) * 2.0f;
-                title.setText(String.format("Delay:%d CameraZ:%.0f", mDurationMsec, mCameraZ));
+                title.begin().append("Delay:").append(mDurationMsec).append(" CameraZ:").append(mCameraZ, 0).commit();
                 return value;
             }
         });
@@ -268,9 +279,9 @@ public class ActivityRotAnimComp extends Activity {
             public void onClick(View v) {
                 mAutoMode = ((CheckBox) v).isChecked();
                 if (mAutoMode) {
-                    m_handler.postDelayed(m_updateElapsedTimeTask, 0);
+                    mFlipScheduler.start();
                 } else {
-                    m_handler.removeCallbacks(m_updateElapsedTimeTask);
+                    mFlipScheduler.stop();
                 }
             }
         });
@@ -290,7 +301,18 @@ public class ActivityRotAnimComp extends Activity {
         });
 
         mDrawView = Ui.viewById(this, R.id.drawView);
+        // Tap profile to toggle angle versus time trace, off by default to keep invalidates small.
+        mDrawView.setOnClickListener(new View.OnClickListener() {
+            @Override
+            public void onClick(View v) {
+                mDrawView.setTraceEnabled(!mDrawView.isTraceEnabled());
+            }
+        });
         mAngle1 = Ui.viewById(this, R.id.angle1);
         mAngle2 = Ui.viewById(this, R.id.angle2);
+        mAngle1Label = new FastLabel(mAngle1);
+        mAngle1Label.fixWidth("-360°");
+        mAngle2Label = new FastLabel(mAngle2);
+        mAngle2Label.fixWidth("-360°");
     }
 }
\ No newline at end of file
@@ -21,14 +21,9 @@
 
 package com.landenlabs.all_flipanimation;
 
-import android.animation.ObjectAnimator;
 import android.app.Activity;
-import android.graphics.Camera;
-import android.graphics.Matrix;
 import android.media.MediaPlayer;
 import android.os.Bundle;
-import android.os.Handler;
-import android.os.Looper;
 import android.view.View;
 import android.view.View.OnClickListener;
 import android.view.animation.Animation;
@@ -51,14 +46,18 @@ public class ActivityRotAnimation extends Activity {
     View mView1;
     View mView2;
     View mClickView;
+    FloatFlipAnimator mClickFade;
     DrawView mDrawView;
     TextView mAngle1;
     TextView mAngle2;
+    FastLabel mAngle1Label;
+    FastLabel mAngle2Label;
 
     // ---- Data ----
     float mCameraZ = -25;
     Flip3dAnimation mRotation1;
     Flip3dAnimation mRotation2;
+    AnimationSet mAnimationSet;
     boolean mRotateYaxis = true;
     boolean mIsForward = true;
     boolean mAutoMode = false;
@@ -67,14 +66,21 @@ public class ActivityRotAnimation extends Activity {
     MediaPlayer mSoundShut;
 
     // ---- Timer ----
-    private final Handler m_handler = new Handler(Looper.getMainLooper());
     private int mDurationMsec = 3000;
-    private final Runnable m_updateElapsedTimeTask = new Runnable() {
-        public void run() {
+    private final FlipScheduler mFlipScheduler = new FlipScheduler(new FlipScheduler.Flipper() {
+        public long startFlip() {
+            mFlipQueue.request();
+            return mDurationMsec;
+        }
+    });
+    // Taps and auto-flip never interrupt a running flip.
+    private final FlipQueue mFlipQueue = new FlipQueue(FlipQueue.Policy.DROP, new FlipQueue.Flipper() {
+        public long startFlip(int steps) {
             animateIt();
-            m_handler.postDelayed(this, mDurationMsec);   // Re-execute after msec
+            return mDurationMsec;
         }
-    };
+    });
+    private final FlipStats mStats = FlipStats.get(FlipStats.ROT_ANIMATION);
 
     /**
      * Called when the activity is first created.
@@ -83,6 +89,9 @@ public class ActivityRotAnimation extends Activity {
     public void onCreate(Bundle savedInstanceState) {
         super.onCreate(savedInstanceState);
         setContentView(R.layout.rot_animation);
+        float refreshRate = Ui.getRefreshRate(this);
+        mStats.setRefreshRate(refreshRate);
+        mFlipScheduler.setRefreshRate(refreshRate);
 
         mView1 = Ui.viewById(this, R.id.view1);
         mView2 = Ui.viewById(this, R.id.view2);
@@ -90,16 +99,39 @@ public class ActivityRotAnimation extends Activity {
         // Create a new 3D rotation with the supplied parameter
         mRotation1 = new Flip3dAnimation();
         mRotation2 = new Flip3dAnimation();
+        mRotation2.setAnimationListener(new Animation.AnimationListener() {
+            @Override public void onAnimationStart(Animation animation) { }
+            @Override public void onAnimationEnd(Animation animation) {
+                mSoundShut.start();
+                mFlipScheduler.onFlipEnd();
+                mFlipQueue.onFlipEnd();
+            }
+            @Override public void onAnimationRepeat(Animation animation) { }
+        });
+
+        // Run both animations in parallel, set is reused by every flip.
+        mAnimationSet = new AnimationSet(true);
+        mAnimationSet.setInterpolator(new LinearInterpolator());
+        mAnimationSet.addAnimation(mRotation1);
+        mAnimationSet.addAnimation(mRotation2);
 
-        Ui.<TextView>viewById(this, R.id.side_title).setText("Rotating Animation");
+        Ui.<VerticalTextView>viewById(this, R.id.side_title).setTextAsync("Rotating Animation", null);
         setupUI();
     }
 
+    @Override
+    protected void onDestroy() {
+        mFlipScheduler.stop();
+        mStats.exportCsvAsync(getFilesDir());
+        super.onDestroy();
+    }
+
     /**
      * Start animation.
      */
     public void animateIt() {
-        ObjectAnimator.ofFloat(mClickView, View.ALPHA, mClickView.getAlpha(), 0).start();
+        mStats.beginFlip();
+        mClickFade.start(mClickView.getAlpha(), 0);
 
         final float end = 90.0f;
 
@@ -131,29 +163,16 @@ public class ActivityRotAnimation extends Activity {
 
         mRotation1.reset(mView1, mDurationMsec, mCameraZ);
         mRotation2.reset(mView2, mDurationMsec, mCameraZ);
-        mRotation2.setAnimationListener(new Animation.AnimationListener() {
-            @Override public void onAnimationStart(Animation animation) { }
-            @Override public void onAnimationEnd(Animation animation) {
-                mSoundShut.start();
-            }
-            @Override public void onAnimationRepeat(Animation animation) { }
-        });
-
-        // Run both animations in parallel.
-        AnimationSet animationSet = new AnimationSet(true);
-        animationSet.setInterpolator(new LinearInterpolator());
-        animationSet.addAnimation(mRotation1);
-        animationSet.addAnimation(mRotation2);
-        animationSet.start();
+        mAnimationSet.start();
     }
 
-    public class Flip3dAnimation extends Animation {
+    public class Flip3dAnimation extends Animation implements FlipKeyframes.Sampler {
         float mFromDegrees;
         float mToDegrees;
         float mCenterX = 0;
         float mCenterY = 0;
         float mCameraZ = -8;
-        Camera mCamera;
+        final float[] mMatrixValues = new float[9];
         View mView;
 
         public Flip3dAnimation() {
@@ -170,42 +189,43 @@ public class ActivityRotAnimation extends Activity {
             mView = view;
         }
 
-        @Override
-        public void initialize(int width, int height, int parentWidth, int parentHeight) {
-            super.initialize(width, height, parentWidth, parentHeight);
-            mCamera = new Camera();
+        float angle(float interpolatedTime) {
+            final float fromDegrees = mFromDegrees;
+            return fromDegrees + ((mToDegrees - fromDegrees) * interpolatedTime);
         }
 
+        /**
+         * Compute transform matrix values, used by {@link FlipReplay}.
+         */
         @Override
-        protected void applyTransformation(float interpolatedTime, Transformation trans) {
-            final float fromDegrees = mFromDegrees;
-            float degrees = fromDegrees + ((mToDegrees - fromDegrees) * interpolatedTime);
-
-            final Camera camera = mCamera;
-            final Matrix matrix = trans.getMatrix();
-
-            camera.save();
-            camera.setLocation(0, 0, mCameraZ);
+        public void sample(float interpolatedTime, float[] out) {
+            matrixValues(angle(interpolatedTime), out);
+        }
 
-            if (mRotateYaxis)
-                camera.rotateY(degrees);
-            else
-                camera.rotateX(degrees);
+        private void matrixValues(float degrees, float[] out) {
+            FlipMatrix.flip(out,
+                mRotateYaxis ? FlipMatrix.ROTATION_Y : FlipMatrix.ROTATION_X, degrees,
+                0, 0, mCameraZ,
+                mCenterX, mCenterY, 0, 0);
+        }
 
-            camera.getMatrix(matrix);
-            camera.restore();
+        @Override
+        protected void applyTransformation(float interpolatedTime, Transformation trans) {
+            long workStart = mStats.beginWork();
 
-            matrix.preTranslate(-mCenterX, -mCenterY);
-            matrix.postTranslate(mCenterX, mCenterY);
+            float degrees = angle(interpolatedTime);
+            matrixValues(degrees, mMatrixValues);
+            trans.getMatrix().setValues(mMatrixValues);
 
             final float degree3 = degrees;
             if (mView == mView1) {
                 mDrawView.setAngle1(degree3);
-                mAngle1.setText(String.format("%.0f°", degree3));
+                mAngle1Label.setDegrees(degree3);
             } else {
                 mDrawView.setAngle2(degree3);
-                mAngle2.setText(String.format("%.0f°", degree3));
+                mAngle2Label.setDegrees(degree3);
             }
+            mStats.endWork(workStart);
         }
     }
 
@@ -219,14 +239,15 @@ public class ActivityRotAnimation extends Activity {
         mSoundShut = MediaPlayer.create(this, R.raw.shut);
         // mSoundShut.setVolume(0.3f, 0.3f);
 
-        final TextView title = (TextView) this.findViewById(R.id.title);
+        final FastLabel title = new FastLabel((TextView) this.findViewById(R.id.title));
 
         mClickView = this.findViewById(R.id.click_view);
+        mClickFade = new FloatFlipAnimator(mClickView, View.ALPHA, FloatCurve.LINEAR);
         mClickView.setOnClickListener(new OnClickListener() {
             @Override
             public void onClick(View v) {
                 mSoundClick.start();
-                animateIt();
+                mFlipQueue.request();
             }
         });
 
@@ -235,7 +256,7 @@ public class ActivityRotAnimation extends Activity {
             @Override
             public float onValueChanged(View v, float value) {
                 mDurationMsec = (int) (value = 100 + value * 100);
-                title.setText(String.format("Delay:%d CameraZ:%.0f", mDurationMsec, mCameraZ));
+                title.begin().append("Delay:").append(mDurationMsec).append(" CameraZ:").append(mCameraZ, 0).commit();
                 return value;
             }
         });
@@ -246,7 +267,7 @@ public class ActivityRotAnimation extends Activity {
             @Override
             public float onValueChanged(View v, float value) {
                 mCameraZ = value = (50 - value) * 2.0f;
-                title.setText(String.format("Delay:%d CameraZ:%.0f", mDurationMsec, mCameraZ));
+                title.begin().append("Delay:").append(mDurationMsec).append(" CameraZ:").append(mCameraZ, 0).commit();
                 return value;
             }
         });
@@ -257,9 +278,9 @@ public class ActivityRotAnimation extends Activity {
             public void onClick(View v) {
                 mAutoMode = ((CheckBox) v).isChecked();
                 if (mAutoMode) {
-                    m_handler.postDelayed(m_updateElapsedTimeTask, 0);
+                    mFlipScheduler.start();
                 } else {
-                    m_handler.removeCallbacks(m_updateElapsedTimeTask);
+                    mFlipScheduler.stop();
                 }
             }
         });
@@ -279,7 +300,18 @@ public class ActivityRotAnimation extends Activity {
         });
 
         mDrawView = Ui.viewById(this, R.id.drawView);
+        // Tap profile to toggle angle versus time trace, off by default to keep invalidates small.
+        mDrawView.setOnClickListener(new View.OnClickListener() {
+            @Override
+            public void onClick(View v) {
+                mDrawView.setTraceEnabled(!mDrawView.isTraceEnabled());
+            }
+        });
         mAngle1 = Ui.viewById(this, R.id.angle1);
         mAngle2 = Ui.viewById(this, R.id.angle2);
+        mAngle1Label = new FastLabel(mAngle1);
+        mAngle1Label.fixWidth("-360°");
+        mAngle2Label = new FastLabel(mAngle2);
+        mAngle2Label.fixWidth("-360°");
     }
 }
\ No newline at end of file
@@ -21,19 +21,21 @@
 
 package com.landenlabs.all_flipanimation;
 
-import android.animation.ObjectAnimator;
 import android.app.Activity;
+import android.os.Build;
 import android.os.Bundle;
-import android.os.Handler;
-import android.os.Looper;
 import android.view.View;
 import android.view.View.OnClickListener;
+import android.view.animation.Animation;
 import android.widget.CheckBox;
 import android.widget.TextView;
 import android.widget.ViewAnimator;
 
 import com.landenlabs.all_flipanimation.ViewFlipFactory.FlipDirection;
 
+import java.io.File;
+import java.util.concurrent.Executors;
+
 /**
  * Demonstrate rotating View animation using ViewAnimator and ViewFlipper
  *
@@ -44,21 +46,48 @@ public class ActivityViewFlipper extends Activity {
     // ---- Local data ----
     boolean mAutoMode = false;
     boolean mRotateYaxis = true;
+    boolean mBaked = false;
+    boolean mUseEngine = false;
+    boolean mUseSnapshot = false;
     FlipDirection mDir = mRotateYaxis ? FlipDirection.LEFT_RIGHT : FlipDirection.TOP_BOTTOM;
     final float[] mCameraPos = {0.0f, 0.0f, -8.0f};
     ViewAnimator mViewAnimator;
     View mClickView;
+    FloatFlipAnimator mClickFade;
     TextView mTitle;
+    FastLabel mTitleLabel;
+    TextView mFlipCountView;
+    int mFlipCount = 0;
 
     // ---- Timer ----
-    private final Handler m_handler = new Handler(Looper.getMainLooper());
     private int mDurationMsec = 3000;
-    private final Runnable m_updateElapsedTimeTask = new Runnable() {
-        public void run() {
-            animateIt();
-            m_handler.postDelayed(this, mDurationMsec);   // Re-execute every mDurationMsec
+    private final FlipScheduler mFlipScheduler = new FlipScheduler(new FlipScheduler.Flipper() {
+        public long startFlip() {
+            mFlipQueue.request();
+            return mDurationMsec;
+        }
+    });
+    // Taps and auto-flip never interrupt a running flip, pending flips are merged into one.
+    private final FlipQueue mFlipQueue = new FlipQueue(FlipQueue.Policy.COALESCE, new FlipQueue.Flipper() {
+        public long startFlip(int steps) {
+            animateIt(steps);
+            return mDurationMsec;
         }
+    });
+    private final Animation.AnimationListener mFlipEndListener = new Animation.AnimationListener() {
+        @Override public void onAnimationStart(Animation animation) { }
+        @Override public void onAnimationEnd(Animation animation) {
+            onFlipEnd();
+        }
+        @Override public void onAnimationRepeat(Animation animation) { }
     };
+    private final FlipStats mStats = FlipStats.get(FlipStats.VIEW_FLIPPER);
+    private final FlipEngine mFlipEngine = new FlipEngine();
+    private final FlipQuality mQuality = new FlipQuality();
+    private final BitmapPool mBitmapPool = new BitmapPool(BitmapPool.DEFAULT_MAX_BYTES);
+    private final FlipSnapshot mSnapshot = new FlipSnapshot(mBitmapPool);
+    private final SnapshotCache mSnapshotCache = new SnapshotCache(mBitmapPool, SnapshotCache.DEFAULT_MAX_BYTES);
+    private FlipRenderer mRenderer;
 
     /**
      * Create flip activity which uses ViewFlipper and ViewAnimator.
@@ -67,27 +96,132 @@ public class ActivityViewFlipper extends Activity {
     public void onCreate(Bundle savedInstanceState) {
         super.onCreate(savedInstanceState);
         setContentView(R.layout.view_flipper);
+        float refreshRate = Ui.getRefreshRate(this);
+        mStats.setRefreshRate(refreshRate);
+        mFlipScheduler.setRefreshRate(refreshRate);
+
+        ViewFlipFactory.setStats(mStats);
+
+        // Step down to cheaper flips when frames are late, back up when there is headroom.
+        mQuality.setRefreshRate(refreshRate);
+        mQuality.setListener(new FlipQuality.Listener() {
+            @Override
+            public void onTierChanged(FlipQuality.Tier tier) {
+                mTitleLabel.begin().append("Quality:").append(tier.name())
+                    .append(" down:").append(mQuality.getDowngradeCount())
+                    .append(" up:").append(mQuality.getUpgradeCount()).commit();
+            }
+        });
+        ViewFlipFactory.setQuality(mQuality);
+
+        // Baked flips share sampled camera curves across launches, file is loaded in the background.
+        if (ViewFlipFactory.getCurveCache() == null) {
+            ViewFlipFactory.setCurveCache(new FlipCurveCache(
+                new File(getCacheDir(), "flip_curves.bin"), FlipCurveCache.DEFAULT_MAX_BYTES,
+                Executors.newSingleThreadExecutor()));
+        }
 
         mViewAnimator = Ui.viewById(this, R.id.viewFlipper);
         mTitle = Ui.viewById(this, R.id.title);
+        mTitleLabel = new FastLabel(mTitle);
+        mFlipCountView = Ui.viewById(this, R.id.flipCount);
 
         mClickView = this.findViewById(R.id.click_view);
+        mClickFade = new FloatFlipAnimator(mClickView, View.ALPHA, FloatCurve.LINEAR);
         mClickView.setOnClickListener(new OnClickListener() {
             @Override
             public void onClick(View v) {
-                animateIt();
+                mFlipQueue.request();
             }
         });
 
+        mFlipEngine.setStats(mStats);
+        mFlipEngine.setLayers(FlipLayers.getDefault());
+        mFlipEngine.setListener(new FlipEngine.Listener() {
+            @Override
+            public void onFlipsDone() {
+                onFlipEnd();
+            }
+        });
+        mSnapshot.setStats(mStats);
+        mSnapshot.setCache(mSnapshotCache);
+        mSnapshot.setEndAction(new Runnable() {
+            @Override
+            public void run() {
+                onFlipEnd();
+            }
+        });
+        // Render node flips (API 29+) record the views once and only update transforms per frame.
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.Q) {
+            mRenderer = new FlipRenderer();
+            mRenderer.setStats(mStats);
+            mRenderer.setEndAction(new Runnable() {
+                @Override
+                public void run() {
+                    onFlipEnd();
+                }
+            });
+        }
         setupUI();
     }
 
+    @Override
+    protected void onDestroy() {
+        mFlipScheduler.stop();
+        mStats.exportCsvAsync(getFilesDir());
+        mFlipEngine.clear();
+        // Stop snapshot and render node flips before their bitmaps are released below.
+        mSnapshot.cancel();
+        if (mRenderer != null) {
+            mRenderer.cancel();
+        }
+        ViewFlipFactory.setQuality(null);
+        ViewFlipFactory.setStats(null);
+        // Release only the layers promoted for this activity's views.
+        for (int idx = 0; idx < mViewAnimator.getChildCount(); idx++) {
+            ViewFlipFactory.endFlip(mViewAnimator.getChildAt(idx));
+        }
+        mSnapshotCache.clear();
+        mBitmapPool.clear();
+        super.onDestroy();
+    }
+
     /**
      * Start animation.
+     *
+     * @param steps number of views to advance.
+     */
+    private void animateIt(int steps) {
+        mClickFade.start(mClickView.getAlpha(), 0);
+        if (mUseSnapshot) {
+            mDir = ViewFlipFactory.flipTransition(mSnapshot, mViewAnimator, mDir, mDurationMsec, mCameraPos, steps);
+        } else if (mUseEngine) {
+            mDir = ViewFlipFactory.flipTransition(mFlipEngine, mViewAnimator, mDir, mDurationMsec, mCameraPos, steps);
+        } else if (!mBaked && mRenderer != null && FlipRenderer.isSupported(mCameraPos)) {
+            // Camera x,y offsets are not available on render nodes, those use the Camera path below.
+            mDir = ViewFlipFactory.flipTransition(mRenderer, mViewAnimator, mDir, mDurationMsec, mCameraPos, steps);
+        } else {
+            mStats.beginFlip();
+            mDir = ViewFlipFactory.flipTransition(mViewAnimator, mDir, mDurationMsec, mCameraPos, mBaked, steps);
+            mViewAnimator.getInAnimation().setAnimationListener(mFlipEndListener);
+        }
+    }
+
+    private void onFlipEnd() {
+        updateFlipCount();
+        mFlipScheduler.onFlipEnd();
+        mFlipQueue.onFlipEnd();
+    }
+
+    /**
+     * Show flip count on the last panel while it is hidden, the version bump drops its cached snapshot.
      */
-    private void animateIt() {
-        ObjectAnimator.ofFloat(mClickView, View.ALPHA, mClickView.getAlpha(), 0).start();
-        mDir = ViewFlipFactory.flipTransition(mViewAnimator, mDir, mDurationMsec, mCameraPos);
+    private void updateFlipCount() {
+        mFlipCount++;
+        if (mViewAnimator.getCurrentView() != mFlipCountView) {
+            mFlipCountView.setText("Bye #" + mFlipCount);
+            SnapshotCache.setContentVersion(mFlipCountView, mFlipCount);
+        }
     }
 
     /**
@@ -99,7 +233,7 @@ public class ActivityViewFlipper extends Activity {
             @Override
             public float onValueChanged(View v, float value) {
                 mDurationMsec = (int) (value = 100 + value * 100);
-                mTitle.setText(String.format("Delay:%d cameraZ:%.0f", mDurationMsec, mCameraPos[2]));
+                mTitleLabel.begin().append("Delay:").append(mDurationMsec).append(" cameraZ:").append(mCameraPos[2], 0).commit();
                 return value;
             }
         });
@@ -109,7 +243,7 @@ public class ActivityViewFlipper extends Activity {
             @Override
             public float onValueChanged(View v, float value) {
                 mCameraPos[1] = value = (50 - value) / 10.0f;
-                mTitle.setText(String.format("Delay:%d cameraY:%.0f", mDurationMsec, value));
+                mTitleLabel.begin().append("Delay:").append(mDurationMsec).append(" cameraY:").append(value, 0).commit();
                 return value;
             }
         });
@@ -118,7 +252,20 @@ public class ActivityViewFlipper extends Activity {
             @Override
             public float onValueChanged(View v, float value) {
                 mCameraPos[2] = value = -value / 2.0f;
-                mTitle.setText(String.format("Delay:%d  cameraZ:%.0f", mDurationMsec, value));
+                mTitleLabel.begin().append("Delay:").append(mDurationMsec).append("  cameraZ:").append(value, 0).commit();
+                return value;
+            }
+        });
+
+        // Snapshot capture scale, lower captures fewer pixels and draws softer.
+        final SlideBar snapshotScaleSB = new SlideBar(this.findViewById(R.id.snapshotScale), "Snapshot:");
+        snapshotScaleSB.setProgress(100);
+        snapshotScaleSB.setValueChanged(new SlideBar.ValueChanged() {
+            @Override
+            public float onValueChanged(View v, float value) {
+                mSnapshot.setScale(value / 100.0f);
+                value = mSnapshot.getScale();
+                mTitleLabel.begin().append("Snapshot scale:").append(value, 2).commit();
                 return value;
             }
         });
@@ -131,15 +278,44 @@ public class ActivityViewFlipper extends Activity {
                 // Toggle auto flip checkbox to run continuous flip animations.
                 mAutoMode = ((CheckBox) v).isChecked();
                 if (mAutoMode) {
-                    animateIt();
-                    m_handler.postDelayed(m_updateElapsedTimeTask, mDurationMsec);
+                    mFlipScheduler.start();
                 } else {
                     // mAnimatorSet.cancel();
-                    m_handler.removeCallbacks(m_updateElapsedTimeTask);
+                    mFlipScheduler.stop();
                 }
             }
         });
 
+        // Pre-sample flip transforms when each flip starts.
+        final CheckBox bakedCb = Ui.viewById(this, R.id.baked);
+        mBaked = bakedCb.isChecked();
+        bakedCb.setOnClickListener(new OnClickListener() {
+            @Override
+            public void onClick(View v) {
+                mBaked = ((CheckBox) v).isChecked();
+            }
+        });
+
+        // Drive flips from the shared FlipEngine clock instead of view Animations.
+        final CheckBox engineCb = Ui.viewById(this, R.id.engine);
+        mUseEngine = engineCb.isChecked();
+        engineCb.setOnClickListener(new OnClickListener() {
+            @Override
+            public void onClick(View v) {
+                mUseEngine = ((CheckBox) v).isChecked();
+            }
+        });
+
+        // Flip bitmap snapshots of the views instead of the live views.
+        final CheckBox snapshotCb = Ui.viewById(this, R.id.snapshot);
+        mUseSnapshot = snapshotCb.isChecked();
+        snapshotCb.setOnClickListener(new OnClickListener() {
+            @Override
+            public void onClick(View v) {
+                mUseSnapshot = ((CheckBox) v).isChecked();
+            }
+        });
+
         final CheckBox yaxisCb = Ui.viewById(this, R.id.yaxis);
         mRotateYaxis = yaxisCb.isChecked();
         mDir = mRotateYaxis ? FlipDirection.LEFT_RIGHT : FlipDirection.TOP_BOTTOM;
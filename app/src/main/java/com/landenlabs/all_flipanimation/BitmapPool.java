@@ -0,0 +1,116 @@
+/*
+ * Copyright (c) 2026 Dennis Lang (LanDen Labs) landenlabs@gmail.com
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the
+ * following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT
+ * LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN
+ * NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * @author Dennis Lang
+ * @see https://LanDenLabs.com/
+ */
+
+
+package com.landenlabs.all_flipanimation;
+
+import android.graphics.Bitmap;
+import android.graphics.Color;
+
+import java.util.ArrayList;
+
+/**
+ * Pool of ARGB_8888 bitmaps reused by snapshot flips.
+ * <p/>
+ * {@link #acquire(int, int)} returns a free bitmap of the exact size, else reconfigures a free
+ * bitmap whose allocation is large enough, else allocates. Released bitmaps are kept up to
+ * the pool's byte limit, the rest are recycled. Must be used on the UI thread.
+ */
+public final class BitmapPool {
+
+    public static final long DEFAULT_MAX_BYTES = 16L * 1024 * 1024;
+
+    private final ArrayList<Bitmap> mFree = new ArrayList<>();
+    private final long mMaxBytes;
+    private long mFreeBytes = 0;
+    private int mAllocCount = 0;
+    private int mReuseCount = 0;
+
+    public BitmapPool(long maxBytes) {
+        mMaxBytes = maxBytes;
+    }
+
+    /**
+     * @return Cleared (transparent) bitmap of {@code width} x {@code height}.
+     */
+    public Bitmap acquire(int width, int height) {
+        int bestIdx = -1;
+        for (int idx = 0; idx < mFree.size(); idx++) {
+            Bitmap bitmap = mFree.get(idx);
+            if (bitmap.getWidth() == width && bitmap.getHeight() == height) {
+                bestIdx = idx;
+                break;
+            }
+            if (bestIdx < 0 && bitmap.getAllocationByteCount() >= width * height * 4) {
+                bestIdx = idx;
+            }
+        }
+
+        if (bestIdx >= 0) {
+            Bitmap bitmap = mFree.remove(bestIdx);
+            mFreeBytes -= bitmap.getAllocationByteCount();
+            if (bitmap.getWidth() != width || bitmap.getHeight() != height) {
+                bitmap.reconfigure(width, height, Bitmap.Config.ARGB_8888);
+            }
+            bitmap.eraseColor(Color.TRANSPARENT);
+            mReuseCount++;
+            return bitmap;
+        }
+
+        mAllocCount++;
+        return Bitmap.createBitmap(width, height, Bitmap.Config.ARGB_8888);
+    }
+
+    /**
+     * Return bitmap to the pool, ignored if null.
+     */
+    public void release(Bitmap bitmap) {
+        if (bitmap == null || bitmap.isRecycled()) {
+            return;
+        }
+        int bytes = bitmap.getAllocationByteCount();
+        if (bitmap.isMutable() && mFreeBytes + bytes <= mMaxBytes) {
+            mFree.add(bitmap);
+            mFreeBytes += bytes;
+        } else {
+            bitmap.recycle();
+        }
+    }
+
+    /**
+     * Recycle all free bitmaps.
+     */
+    public void clear() {
+        for (Bitmap bitmap : mFree) {
+            bitmap.recycle();
+        }
+        mFree.clear();
+        mFreeBytes = 0;
+    }
+
+    public int getAllocCount() {
+        return mAllocCount;
+    }
+
+    public int getReuseCount() {
+        return mReuseCount;
+    }
+}
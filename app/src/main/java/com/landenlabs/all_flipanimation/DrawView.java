@@ -25,12 +25,24 @@ import android.content.Context;
 import android.graphics.Canvas;
 import android.graphics.Color;
 import android.graphics.Paint;
+import android.graphics.Path;
+import android.graphics.Rect;
 import android.graphics.RectF;
 import android.util.AttributeSet;
 import android.view.View;
+import android.view.animation.AnimationUtils;
 
 /**
  * Simple class to draw profile of swinging view panels
+ * <p/>
+ * Geometry is computed on size change and the hinge lines and arcs are kept in persistent
+ * {@link Path} objects which are only rebuilt when an angle changes, so drawing does not allocate.
+ * Angle updates from both panels in the same frame are merged into one invalidate of the
+ * hinge area.
+ * <p/>
+ * Optional trace plots both angles and their difference over the last few seconds, see
+ * {@link #setTraceEnabled(boolean)}. Samples are kept in a {@link FloatRing} sized for
+ * {@link #TRACE_MAX_RATE} Hz input and drawn from reused point arrays.
  */
 public class DrawView extends View {
 
@@ -45,73 +57,277 @@ public class DrawView extends View {
     float mSize = 0.4f;
     float mMaxX = mMin + mSize;
     float mMaxY = mMin + mSize * 2;
+    float mCenY = (mMaxY + mMin) / 2;
 
-    final Paint paint = new Paint();
+    // ---- Cached drawing objects ----
+    private final Paint mFramePaint = new Paint();
+    private final Paint mCenterPaint = new Paint();
+    private final Paint mLinePaint1 = new Paint();
+    private final Paint mLinePaint2 = new Paint();
+    private final Paint mArcPaint1 = new Paint();
+    private final Paint mArcPaint2 = new Paint();
+    private final float[] mFrameLines = new float[8];
+    private final float[] mCenterLine = new float[4];
+    private final Path mLine1 = new Path();
+    private final Path mLine2 = new Path();
+    private final Path mArc1 = new Path();
+    private final Path mArc2 = new Path();
+    private final RectF mOval1 = new RectF();
+    private final RectF mOval2 = new RectF();
+
+    // ---- Angle trace, records of [seconds, degrees1, degrees2] ----
+    public static final int TRACE_MAX_RATE = 240;
+    public static final int TRACE_MAX_SECONDS = 5;
+    private static final float TRACE_RANGE_DEG = 180;      // Plot covers -180 .. 180 degrees
+    private final FloatRing mTrace = new FloatRing(TRACE_MAX_RATE * TRACE_MAX_SECONDS, 3);
+    private final float[] mTracePts1 = new float[mTrace.getCapacity() * 4];
+    private final float[] mTracePts2 = new float[mTrace.getCapacity() * 4];
+    private final float[] mTraceDiff = new float[mTrace.getCapacity() * 4];
+    private final Paint mTracePaint1 = new Paint();
+    private final Paint mTracePaint2 = new Paint();
+    private final Paint mTraceDiffPaint = new Paint();
+    private boolean mTraceEnabled = false;
+    private float mTraceSeconds = 3;
+    private long mTraceBaseMsec = 0;
+    private long mTraceLastMsec = 0;
+
+    // ---- Invalidate coalescing ----
+    private final Rect mDirty = new Rect();
+    private boolean mInvalidated = false;
 
     public DrawView(Context context) {
         super(context);
+        init();
     }
 
     public DrawView(Context context, AttributeSet attrs) {
         super(context, attrs);
+        init();
     }
 
     public DrawView(Context context, AttributeSet attrs, int defStyle) {
         super(context, attrs, defStyle);
+        init();
+    }
+
+    private void init() {
+        mFramePaint.setColor(mColorBg1);
+        mFramePaint.setStrokeWidth(3);
+        mCenterPaint.setColor(mColorBg2);
+        mCenterPaint.setStrokeWidth(3);
+        initHingePaints(mLinePaint1, mArcPaint1, 0xff408080);  // Color.CYAN
+        initHingePaints(mLinePaint2, mArcPaint2, 0xff804080);  // Color.MAGENTA
+        mTracePaint1.setColor(0xff408080);
+        mTracePaint2.setColor(0xff804080);
+        mTraceDiffPaint.setColor(Color.DKGRAY);
+    }
+
+    private static void initHingePaints(Paint linePaint, Paint arcPaint, int color) {
+        linePaint.setColor(color);
+        linePaint.setStrokeWidth(4);
+        linePaint.setStyle(Paint.Style.STROKE);
+        arcPaint.setColor(color);
+        arcPaint.setAlpha(40);
     }
 
     public void setAngle1(float degrees) {
-        mDegrees1 = degrees;
-        invalidate();
+        if (degrees != mDegrees1) {
+            mDegrees1 = degrees;
+            buildHinge(mLine1, mArc1, mOval1, mHing1Right, degrees);
+            traceAngles();
+            invalidateHinges();
+        }
     }
+
     public void setAngle2(float degrees) {
-        mDegrees2 = degrees;
+        if (degrees != mDegrees2) {
+            mDegrees2 = degrees;
+            buildHinge(mLine2, mArc2, mOval2, mHing2Right, degrees);
+            traceAngles();
+            invalidateHinges();
+        }
+    }
+
+    /**
+     * Show angle versus time trace of both hinges and their difference, clears previous trace.
+     */
+    public void setTraceEnabled(boolean enabled) {
+        mTraceEnabled = enabled;
+        mTrace.clear();
+        mTraceBaseMsec = 0;
+        updateDirty();
         invalidate();
     }
 
-    @Override
-    public void onDraw(Canvas canvas) {
+    public boolean isTraceEnabled() {
+        return mTraceEnabled;
+    }
+
+    /**
+     * @param seconds Trace time window, up to {@link #TRACE_MAX_SECONDS}
+     */
+    public void setTraceSeconds(float seconds) {
+        mTraceSeconds = Math.max(0.1f, Math.min(seconds, TRACE_MAX_SECONDS));
+    }
+
+    /**
+     * Record both angles, updates in the same animation frame share one sample.
+     */
+    private void traceAngles() {
+        if (!mTraceEnabled) {
+            return;
+        }
+        long nowMsec = AnimationUtils.currentAnimationTimeMillis();
+        if (mTraceBaseMsec == 0) {
+            mTraceBaseMsec = nowMsec;
+        }
+        int offset = (nowMsec == mTraceLastMsec && mTrace.size() != 0)
+            ? mTrace.offset(mTrace.size() - 1) : mTrace.add();
+        mTraceLastMsec = nowMsec;
+        final float[] values = mTrace.values();
+        values[offset] = (nowMsec - mTraceBaseMsec) / 1000.0f;
+        values[offset + 1] = mDegrees1;
+        values[offset + 2] = mDegrees2;
+    }
+
+    /**
+     * Invalidate area swept by both hinges, once until the next draw.
+     */
+    @SuppressWarnings("deprecation")
+    private void invalidateHinges() {
+        if (!mInvalidated && !mDirty.isEmpty()) {
+            mInvalidated = true;
+            invalidate(mDirty);
+        }
+    }
 
-        // canvas.save();
-        // canvas.scale(....)
-        // canvas.restore();
-        // int canvasDim = Math.min(canvas.getWidth(), canvas.getHeight());
-        int viewDim = Math.min(this.getWidth(), this.getHeight());
-        int dim = viewDim;
+    @Override
+    protected void onSizeChanged(int width, int height, int oldWidth, int oldHeight) {
+        super.onSizeChanged(width, height, oldWidth, oldHeight);
+        int dim = Math.min(width, height);
 
         mMin = 0.1f * dim;
         mSize = 0.8f * dim;
         mMaxX = mMin + mSize;
         mMaxY = mMin + mSize * 2;
+        mCenY = (mMaxY + mMin) / 2;
 
-        paint.setColor(mColorBg1);
-        paint.setStrokeWidth(3);
-        canvas.drawLine(mMin, mMin, mMin, mMaxY, paint);
-        canvas.drawLine(mMaxX,mMin, mMaxX, mMaxY, paint);
-        paint.setColor(mColorBg2);
-        float cenY = (mMaxY+mMin)/2;
-        canvas.drawLine(0,cenY, 1, cenY, paint);
+        final float[] frame = mFrameLines;
+        frame[0] = mMin;  frame[1] = mMin;  frame[2] = mMin;  frame[3] = mMaxY;
+        frame[4] = mMaxX; frame[5] = mMin;  frame[6] = mMaxX; frame[7] = mMaxY;
+        final float[] center = mCenterLine;
+        center[0] = 0;    center[1] = mCenY; center[2] = 1;   center[3] = mCenY;
 
-        paint.setStrokeWidth(4);
-        paint.setColor(0xff408080); // Color.CYAN);
-        drawLine(canvas, mHing1Right, mDegrees1);
+        buildHinge(mLine1, mArc1, mOval1, mHing1Right, mDegrees1);
+        buildHinge(mLine2, mArc2, mOval2, mHing2Right, mDegrees2);
 
-        paint.setColor(0xff804080); // Color.MAGENTA);
-        drawLine(canvas, mHing2Right, mDegrees2);
+        updateDirty();
     }
 
-    private void drawLine(Canvas canvas, boolean rightHing, float degrees) {
-        float cenY = (mMaxY+mMin)/2;
+    private void updateDirty() {
+        if (mTraceEnabled) {
+            mDirty.set(0, 0, getWidth(), getHeight());
+            return;
+        }
+        // Hinge ovals only depend on size, their union covers every angle.
+        mDirty.set((int) Math.floor(Math.min(mOval1.left, mOval2.left)) - 2,
+            (int) Math.floor(Math.min(mOval1.top, mOval2.top)) - 2,
+            (int) Math.ceil(Math.max(mOval1.right, mOval2.right)) + 2,
+            (int) Math.ceil(Math.max(mOval1.bottom, mOval2.bottom)) + 2);
+    }
+
+    /**
+     * Rebuild hinge line and filled arc for {@code degrees}.
+     */
+    private void buildHinge(Path line, Path arc, RectF oval, boolean rightHing, float degrees) {
         degrees = rightHing ? degrees + 180 : degrees;
         float x1 = rightHing ? mMaxX : mMin;
-        float y1 = cenY;
-        float x2 = (float)Math.cos(Math.toRadians(degrees)) * mSize + x1;
-        float y2 = (float)Math.sin(Math.toRadians(degrees)) * mSize + y1;
+        float y1 = mCenY;
+        double radians = Math.toRadians(degrees);
+        float x2 = (float) Math.cos(radians) * mSize + x1;
+        float y2 = (float) Math.sin(radians) * mSize + y1;
+
+        line.rewind();
+        line.moveTo(x1, y1);
+        line.lineTo(x2, y2);
+
+        oval.set(x1 - mSize, y1 - mSize, x1 + mSize, y1 + mSize);
+        arc.rewind();
+        arc.moveTo(x1, y1);
+        arc.arcTo(oval, 0, degrees, false);
+        arc.close();
+    }
+
+    @Override
+    public void onDraw(Canvas canvas) {
+        mInvalidated = false;
+        if (mTraceEnabled) {
+            drawTrace(canvas);
+        }
+
+        canvas.drawLines(mFrameLines, mFramePaint);
+        canvas.drawLines(mCenterLine, mCenterPaint);
+
+        canvas.drawPath(mLine1, mLinePaint1);
+        canvas.drawPath(mArc1, mArcPaint1);
+
+        canvas.drawPath(mLine2, mLinePaint2);
+        canvas.drawPath(mArc2, mArcPaint2);
+    }
 
-        canvas.drawLine(x1, y1, x2, y2, paint);
+    /**
+     * Plot trace window ending at the newest sample, time on x and angle on y.
+     */
+    private void drawTrace(Canvas canvas) {
+        final FloatRing trace = mTrace;
+        final int size = trace.size();
+        if (size < 2) {
+            return;
+        }
+        final float[] values = trace.values();
+        float endTime = values[trace.offset(size - 1)];
+        float startTime = endTime - mTraceSeconds;
+        float xScale = getWidth() / mTraceSeconds;
+        float yMid = getHeight() / 2.0f;
+        float yScale = getHeight() / (2 * TRACE_RANGE_DEG);
+
+        // Start one sample before the window so the plot reaches the left edge.
+        int first = size - 1;
+        while (first > 0 && values[trace.offset(first)] > startTime) {
+            first--;
+        }
+
+        int offset = trace.offset(first);
+        float prevX = (values[offset] - startTime) * xScale;
+        float prevY1 = yMid - values[offset + 1] * yScale;
+        float prevY2 = yMid - values[offset + 2] * yScale;
+        float prevD = yMid - (values[offset + 1] - values[offset + 2]) * yScale;
+        int pos = 0;
+        for (int idx = first + 1; idx < size; idx++) {
+            offset = trace.offset(idx);
+            float x = (values[offset] - startTime) * xScale;
+            float y1 = yMid - values[offset + 1] * yScale;
+            float y2 = yMid - values[offset + 2] * yScale;
+            float d = yMid - (values[offset + 1] - values[offset + 2]) * yScale;
+            setLine(mTracePts1, pos, prevX, prevY1, x, y1);
+            setLine(mTracePts2, pos, prevX, prevY2, x, y2);
+            setLine(mTraceDiff, pos, prevX, prevD, x, d);
+            pos += 4;
+            prevX = x;
+            prevY1 = y1;
+            prevY2 = y2;
+            prevD = d;
+        }
+
+        canvas.drawLines(mTraceDiff, 0, pos, mTraceDiffPaint);
+        canvas.drawLines(mTracePts1, 0, pos, mTracePaint1);
+        canvas.drawLines(mTracePts2, 0, pos, mTracePaint2);
+    }
 
-        RectF rectF = new RectF(x1-mSize, y1-mSize, x1+mSize, y1+mSize);
-        paint.setAlpha(40);
-        canvas.drawArc(rectF, 0, degrees, true, paint);
+    private static void setLine(float[] pts, int pos, float x1, float y1, float x2, float y2) {
+        pts[pos] = x1;
+        pts[pos + 1] = y1;
+        pts[pos + 2] = x2;
+        pts[pos + 3] = y2;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,167 @@
+/*
+ * Copyright (c) 2026 Dennis Lang (LanDen Labs) landenlabs@gmail.com
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the
+ * following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT
+ * LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN
+ * NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * @author Dennis Lang
+ * @see https://LanDenLabs.com/
+ */
+
+
+package com.landenlabs.all_flipanimation;
+
+/**
+ * Angle compensation curve which keeps the outside edges of two flipping panels in sync.
+ * <p/>
+ * The exact curve is {@code percent = acos(1 - fraction) / 90deg}. It is replaced by a
+ * precomputed float table so no trig runs per frame.
+ * <p/>
+ * The curve has an infinite slope at fraction 0, so the table is sampled on
+ * {@code s = sqrt(fraction)} where it is smooth, {@code acos(1 - s*s) = 2 * asin(s / sqrt(2))}.
+ * The only per-frame cost is one sqrt plus the interpolation.
+ * <p/>
+ * Maximum angular error over a 90 degree flip, with {@code h = 1 / resolution}:
+ * <ul>
+ * <li> LINEAR - {@code 90 * h*h / PI} degrees, ex: resolution 64 is less than 0.007 degrees.
+ * <li> CUBIC  - below 0.001 degrees for resolution 32 or more (float precision limit).
+ * </ul>
+ * Use {@link #maxErrorDegrees(int)} to measure the actual error.
+ */
+public final class EdgeSyncCurve implements FloatCurve {
+
+    public static final int LINEAR = 0;
+    public static final int CUBIC = 1;
+
+    public static final int DEFAULT_RESOLUTION = 64;
+
+    private static final EdgeSyncCurve DEFAULT = new EdgeSyncCurve(DEFAULT_RESOLUTION, LINEAR);
+
+    private final int mResolution;
+    private final int mInterpolation;
+    // Table has one guard entry before and two after the [0..1] range for cubic interpolation.
+    private final float[] mTable;
+
+    /**
+     * @param resolution    Number of table segments over the fraction range [0..1]
+     * @param interpolation {@link #LINEAR} or {@link #CUBIC}
+     */
+    public EdgeSyncCurve(int resolution, int interpolation) {
+        if (resolution < 2) {
+            throw new IllegalArgumentException("resolution must be at least 2, got " + resolution);
+        }
+        mResolution = resolution;
+        mInterpolation = interpolation;
+        mTable = new float[resolution + 4];
+        for (int idx = 0; idx < mTable.length; idx++) {
+            mTable[idx] = (float) exact((idx - 1) / (double) resolution);
+        }
+    }
+
+    /**
+     * @return Shared curve with default resolution and linear interpolation.
+     */
+    public static EdgeSyncCurve getDefault() {
+        return DEFAULT;
+    }
+
+    public int getResolution() {
+        return mResolution;
+    }
+
+    public int getInterpolation() {
+        return mInterpolation;
+    }
+
+    /**
+     * Exact curve as function of s = sqrt(fraction), s is clamped to the valid domain
+     * [-sqrt(2) .. sqrt(2)] so guard entries of coarse tables stay finite.
+     */
+    private static double exact(double s) {
+        final double limit = Math.sqrt(2);
+        s = Math.max(-limit, Math.min(limit, s));
+        return 2 * Math.asin(s / limit) / (Math.PI / 2);
+    }
+
+    /**
+     * @param fraction Animation fraction [0..1]
+     * @return Percent of rotation [0..1], same as {@code acos(1 - fraction) / 90deg}
+     */
+    public float percent(float fraction) {
+        if (fraction <= 0) {
+            return 0;
+        } else if (fraction >= 1) {
+            return 1;
+        }
+
+        float pos = (float) Math.sqrt(fraction) * mResolution;
+        int idx = (int) pos;
+        float t = pos - idx;
+        final float[] table = mTable;
+        idx++;  // skip guard entry
+
+        if (mInterpolation == CUBIC) {
+            // Catmull-Rom spline
+            float p0 = table[idx - 1];
+            float p1 = table[idx];
+            float p2 = table[idx + 1];
+            float p3 = table[idx + 2];
+            return p1 + 0.5f * t * (p2 - p0
+                + t * (2 * p0 - 5 * p1 + 4 * p2 - p3
+                + t * (3 * (p1 - p2) + p3 - p0)));
+        }
+
+        float p1 = table[idx];
+        return p1 + (table[idx + 1] - p1) * t;
+    }
+
+    /**
+     * @param fraction Animation fraction [0..1]
+     * @return Percent of rotation for reverse animation, same as {@code asin(fraction) / 90deg}
+     */
+    public float percentReverse(float fraction) {
+        return 1 - percent(1 - fraction);
+    }
+
+    /**
+     * Interpolate angle so both edges are in sync.
+     * Assumes non-zero start is a reverse animation.
+     *
+     * @param fraction   Animation fraction [0..1]
+     * @param startValue Start angle (degrees)
+     * @param endValue   End angle (degrees)
+     * @return Compensated angle (degrees)
+     */
+    @Override
+    public float evaluate(float fraction, float startValue, float endValue) {
+        float percent = (startValue != 0) ? percentReverse(fraction) : percent(fraction);
+        return startValue + ((endValue - startValue) * percent);
+    }
+
+    /**
+     * Measure maximum difference between table and exact curve over a 90 degree rotation.
+     *
+     * @param samples Number of fractions to test.
+     * @return Maximum error in degrees.
+     */
+    public double maxErrorDegrees(int samples) {
+        double maxErr = 0;
+        for (int idx = 0; idx <= samples; idx++) {
+            float fraction = idx / (float) samples;
+            double exact = Math.toDegrees(Math.acos(1 - fraction));
+            maxErr = Math.max(maxErr, Math.abs(percent(fraction) * 90 - exact));
+        }
+        return maxErr;
+    }
+}
@@ -0,0 +1,229 @@
+/*
+ * Copyright (c) 2026 Dennis Lang (LanDen Labs) landenlabs@gmail.com
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the
+ * following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT
+ * LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN
+ * NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * @author Dennis Lang
+ * @see https://LanDenLabs.com/
+ */
+
+
+package com.landenlabs.all_flipanimation;
+
+import android.view.ViewGroup;
+import android.widget.TextView;
+
+import java.util.Arrays;
+
+/**
+ * TextView label for values which change at frame rate, without {@code String.format}.
+ * <p/>
+ * Degree labels come from a shared table of interned strings, one per whole degree in
+ * [{@link #MIN_DEGREES} .. {@link #MAX_DEGREES}]. Other text is built in a reused char buffer
+ * with {@link #begin()}, {@code append} and {@link #commit()}. Numbers are rounded half up and keep
+ * the sign of the value, so text matches {@code String.format} in a '.' decimal locale, including
+ * {@code "-0"} for small negative values. The TextView is only updated when the text changes. Use {@link #fixWidth(String)} on {@code wrap_content} labels so updates redraw
+ * the label without {@code requestLayout}.
+ * <p/>
+ * Must be used on the UI thread.
+ */
+public class FastLabel {
+
+    public static final int MIN_DEGREES = -360;
+    public static final int MAX_DEGREES = 360;
+    private static final String[] DEGREES = new String[MAX_DEGREES - MIN_DEGREES + 1];
+    private static final String NEGATIVE_ZERO_DEGREES = "-0°";
+
+    static {
+        for (int idx = 0; idx < DEGREES.length; idx++) {
+            DEGREES[idx] = ((idx + MIN_DEGREES) + "°").intern();
+        }
+    }
+
+    private final TextView mTextView;
+    private char[] mChars = new char[32];
+    private char[] mShown = new char[32];
+    private int mLength = 0;
+    private int mShownLength = -1;
+    private String mDegrees = null;     // Label shown by setDegrees, null after commit
+
+    public FastLabel(TextView textView) {
+        mTextView = textView;
+    }
+
+    /**
+     * @return Label for {@code degrees} rounded to a whole degree, same as {@code String.format("%.0f°")}.
+     */
+    public static String degrees(float degrees) {
+        if (Float.isNaN(degrees) || Float.isInfinite(degrees)) {
+            return degrees + "°";
+        }
+        int value = round(Math.abs(degrees));
+        if (isNegative(degrees)) {
+            if (value == 0) {
+                return NEGATIVE_ZERO_DEGREES;
+            }
+            value = -value;
+        }
+        if (value < MIN_DEGREES || value > MAX_DEGREES) {
+            return value + "°";
+        }
+        return DEGREES[value - MIN_DEGREES];
+    }
+
+    /**
+     * Round non-negative value half up, same as {@code Formatter}. Exact for a float times a power
+     * of ten up to 10^9, which needs at most 54 bits.
+     */
+    private static int round(double value) {
+        double floor = Math.floor(value);
+        return (int) ((value - floor >= 0.5) ? floor + 1 : floor);
+    }
+
+    /**
+     * @return true if sign bit is set, -0 included, String.format shows those with a '-'.
+     */
+    private static boolean isNegative(float value) {
+        return Float.floatToRawIntBits(value) < 0;
+    }
+
+    /**
+     * Fix label width to fit {@code widest} text, so text changes do not request a layout.
+     */
+    public void fixWidth(String widest) {
+        ViewGroup.LayoutParams params = mTextView.getLayoutParams();
+        int width = (int) Math.ceil(mTextView.getPaint().measureText(widest))
+            + mTextView.getTotalPaddingLeft() + mTextView.getTotalPaddingRight();
+        if (params != null && params.width != width) {
+            params.width = width;
+            mTextView.setLayoutParams(params);
+        }
+        mTextView.setSingleLine(true);
+    }
+
+    /**
+     * Show {@code degrees} rounded to a whole degree, only updates the TextView when it changes.
+     */
+    public void setDegrees(float degrees) {
+        // Table labels are shared instances, so equals is a reference check per frame.
+        String label = degrees(degrees);
+        if (!label.equals(mDegrees)) {
+            mDegrees = label;
+            mShownLength = -1;
+            mTextView.setText(label);
+        }
+    }
+
+    /**
+     * Start building text in the reused buffer.
+     */
+    public FastLabel begin() {
+        mLength = 0;
+        return this;
+    }
+
+    public FastLabel append(String str) {
+        int len = str.length();
+        ensure(len);
+        str.getChars(0, len, mChars, mLength);
+        mLength += len;
+        return this;
+    }
+
+    public FastLabel append(int value) {
+        ensure(11);
+        if (value < 0) {
+            mChars[mLength++] = '-';
+            if (value == Integer.MIN_VALUE) {
+                return append("2147483648");
+            }
+            value = -value;
+        }
+        int start = mLength;
+        do {
+            mChars[mLength++] = (char) ('0' + value % 10);
+            value /= 10;
+        } while (value != 0);
+        // Digits were written least significant first.
+        for (int lo = start, hi = mLength - 1; lo < hi; lo++, hi--) {
+            char tmp = mChars[lo];
+            mChars[lo] = mChars[hi];
+            mChars[hi] = tmp;
+        }
+        return this;
+    }
+
+    /**
+     * Append {@code value} rounded to {@code decimals} digits, same as {@code "%.<decimals>f"}.
+     * Sign is taken from the value, ex: -0.04 with one decimal is "-0.0".
+     */
+    public FastLabel append(float value, int decimals) {
+        if (Float.isNaN(value) || Float.isInfinite(value)) {
+            return append(Float.toString(value));
+        }
+        if (isNegative(value)) {
+            ensure(1);
+            mChars[mLength++] = '-';
+            value = -value;
+        }
+        if (decimals <= 0) {
+            return append(round(value));
+        }
+        int scale = 1;
+        for (int idx = 0; idx < decimals; idx++) {
+            scale *= 10;
+        }
+        int scaled = round((double) value * scale);
+        append(scaled / scale);
+        ensure(1 + decimals);
+        mChars[mLength++] = '.';
+        int frac = scaled % scale;
+        for (int div = scale / 10; div > 0; div /= 10) {
+            mChars[mLength++] = (char) ('0' + (frac / div) % 10);
+        }
+        return this;
+    }
+
+    /**
+     * Show text built since {@link #begin()}, only updates the TextView when it changed.
+     */
+    public void commit() {
+        if (mLength == mShownLength && sameChars()) {
+            return;
+        }
+        // TextView keeps a reference to the chars it shows, swap buffers instead of copying.
+        char[] shown = mChars;
+        mChars = mShown;
+        mShown = shown;
+        mShownLength = mLength;
+        mDegrees = null;
+        mTextView.setText(mShown, 0, mShownLength);
+    }
+
+    private boolean sameChars() {
+        for (int idx = 0; idx < mLength; idx++) {
+            if (mChars[idx] != mShown[idx]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void ensure(int extra) {
+        if (mLength + extra > mChars.length) {
+            mChars = Arrays.copyOf(mChars, Math.max(mChars.length * 2, mLength + extra));
+        }
+    }
+}
@@ -0,0 +1,482 @@
+/*
+ * Copyright (c) 2026 Dennis Lang (LanDen Labs) landenlabs@gmail.com
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the
+ * following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT
+ * LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN
+ * NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * @author Dennis Lang
+ * @see https://LanDenLabs.com/
+ */
+
+
+
+package com.landenlabs.all_flipanimation;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Persistent cache of pre-sampled flip camera curves, shared across launches.
+ * <p/>
+ * A curve is the camera matrix ({@link FlipMatrix#camera}) sampled at every display frame of a flip.
+ * It only depends on the axis, from/to angles (flip direction), camera location and frame count
+ * (duration times refresh rate), so it is independent of the view size. Pivot and translation
+ * are applied per frame with {@link FlipMatrix#pivotTranslate}.
+ * <p/>
+ * All file work (open, validate, sample, append, evict) runs on the executor passed to the
+ * constructor, which must run tasks one at a time in order. Loaded curves are kept in memory and
+ * published as an immutable index, so {@link #find}, {@link #findOrRequest} and {@link #getValues}
+ * never touch the file and are safe to call from the UI thread while drawing.
+ * A curve requested before it is available is sampled and appended in the background and found
+ * by a later flip. When the file would exceed its size limit the least recently used curves are
+ * dropped. A missing, truncated or corrupt file is reset so callers always fall back to computing
+ * the transform.
+ * <p/>
+ * File format (big endian):
+ * <pre>
+ *   header:  int magic, int version, int entryCount, int reserved
+ *   entry:   int axis, float fromDeg, float toDeg, float camX, float camY, float camZ,
+ *            int frameCount, int checksum, float[frameCount * 9] values
+ * </pre>
+ */
+public final class FlipCurveCache {
+
+    public static final int MAGIC = 0x464C4950;     // "FLIP"
+    public static final int VERSION = 1;
+    public static final int DEFAULT_MAX_BYTES = 1024 * 1024;
+
+    /**
+     * Runs cache file work on the calling thread, for tests and benchmarks.
+     */
+    public static final Executor DIRECT = new Executor() {
+        @Override
+        public void execute(Runnable task) {
+            task.run();
+        }
+    };
+
+    private static final int HEADER_BYTES = 16;
+    private static final int ENTRY_HEADER_BYTES = 32;
+    private static final int FRAME_BYTES = FlipKeyframes.VALUES * 4;
+    private static final int MAX_FRAMES = 10000;
+
+    private static final class Curve {
+        final int axis;
+        final float fromDeg, toDeg;
+        final float camX, camY, camZ;
+        final int frameCount;
+        final float[] values;
+        volatile long lastUsed;
+
+        Curve(int axis, float fromDeg, float toDeg, float camX, float camY, float camZ, int frameCount) {
+            this.axis = axis;
+            this.fromDeg = fromDeg;
+            this.toDeg = toDeg;
+            this.camX = camX;
+            this.camY = camY;
+            this.camZ = camZ;
+            this.frameCount = frameCount;
+            this.values = new float[frameCount * FlipKeyframes.VALUES];
+        }
+
+        int byteSize() {
+            return ENTRY_HEADER_BYTES + frameCount * FRAME_BYTES;
+        }
+
+        boolean matches(int axis, float fromDeg, float toDeg, float camX, float camY, float camZ, int frameCount) {
+            return this.axis == axis && this.frameCount == frameCount
+                && Float.floatToIntBits(this.fromDeg) == Float.floatToIntBits(fromDeg)
+                && Float.floatToIntBits(this.toDeg) == Float.floatToIntBits(toDeg)
+                && Float.floatToIntBits(this.camX) == Float.floatToIntBits(camX)
+                && Float.floatToIntBits(this.camY) == Float.floatToIntBits(camY)
+                && Float.floatToIntBits(this.camZ) == Float.floatToIntBits(camZ);
+        }
+    }
+
+    /**
+     * Immutable snapshot of loaded curves. Generation changes whenever curves are removed,
+     * which invalidates outstanding handles.
+     */
+    private static final class Index {
+        final int generation;
+        final Curve[] curves;
+
+        Index(int generation, Curve[] curves) {
+            this.generation = generation;
+            this.curves = curves;
+        }
+    }
+
+    private final File mFile;
+    private final int mMaxBytes;
+    private final Executor mExecutor;
+    private final AtomicLong mUseCounter = new AtomicLong();
+    private volatile Index mIndex = new Index(0, new Curve[0]);
+    private volatile boolean mDisabled = false;
+
+    // ---- Executor thread only ----
+    private FileChannel mChannel;
+    private int mFileEnd;
+    private final float[] mScratch = new float[FlipKeyframes.VALUES];
+
+    /**
+     * Open or create cache file in the background. Never throws, on any I/O problem the cache
+     * is disabled.
+     *
+     * @param file     Cache file, ex: new File(context.getCacheDir(), "flip_curves.bin")
+     * @param maxBytes Maximum file size in bytes.
+     * @param executor Serial executor for file work, ex: Executors.newSingleThreadExecutor()
+     */
+    public FlipCurveCache(File file, int maxBytes, Executor executor) {
+        mFile = file;
+        mMaxBytes = Math.max(maxBytes, HEADER_BYTES + ENTRY_HEADER_BYTES + 2 * FRAME_BYTES);
+        mExecutor = executor;
+        mExecutor.execute(new Runnable() {
+            @Override
+            public void run() {
+                open();
+            }
+        });
+    }
+
+    /**
+     * @return true if cache is usable, false after {@link #close} or an I/O problem.
+     */
+    public boolean isOpen() {
+        return !mDisabled;
+    }
+
+    public int getEntryCount() {
+        return mIndex.curves.length;
+    }
+
+    /**
+     * Release file, cache is disabled afterwards.
+     */
+    public void close() {
+        synchronized (this) {
+            mDisabled = true;
+            mIndex = new Index(mIndex.generation + 1, new Curve[0]);
+        }
+        mExecutor.execute(new Runnable() {
+            @Override
+            public void run() {
+                closeFile();
+            }
+        });
+    }
+
+    /**
+     * Find loaded curve, memory only.
+     *
+     * @return Curve handle for {@link #getValues} or -1 if curve is not available.
+     */
+    public long find(int axis, float fromDeg, float toDeg, float camX, float camY, float camZ, int frameCount) {
+        final Index index = mIndex;
+        final Curve[] curves = index.curves;
+        for (int idx = 0; idx < curves.length; idx++) {
+            Curve curve = curves[idx];
+            if (curve.matches(axis, fromDeg, toDeg, camX, camY, camZ, frameCount)) {
+                curve.lastUsed = mUseCounter.incrementAndGet();
+                return ((long) index.generation << 32) | idx;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Find loaded curve, memory only. If missing, the curve is sampled and appended to the file
+     * in the background so a later flip finds it.
+     *
+     * @return Curve handle for {@link #getValues} or -1 if curve is not available yet.
+     */
+    public long findOrRequest(final int axis, final float fromDeg, final float toDeg,
+        final float camX, final float camY, final float camZ, final int frameCount) {
+        long handle = find(axis, fromDeg, toDeg, camX, camY, camZ, frameCount);
+        if (handle >= 0 || mDisabled || frameCount < 2 || frameCount > MAX_FRAMES) {
+            return handle;
+        }
+
+        mExecutor.execute(new Runnable() {
+            @Override
+            public void run() {
+                add(axis, fromDeg, toDeg, camX, camY, camZ, frameCount);
+            }
+        });
+        // Direct executor has already added it.
+        return find(axis, fromDeg, toDeg, camX, camY, camZ, frameCount);
+    }
+
+    /**
+     * Read camera matrix at fraction, interpolating between the two nearest frames. Memory only.
+     *
+     * @param handle   Curve handle from {@link #find}
+     * @param fraction Animation fraction [0..1]
+     * @param out      Output values, 9 floats.
+     * @return false if handle is no longer valid (cache compacted or closed).
+     */
+    public boolean getValues(long handle, float fraction, float[] out) {
+        final Index index = mIndex;
+        int idx = (int) handle;
+        if (handle < 0 || (int) (handle >>> 32) != index.generation || idx >= index.curves.length) {
+            return false;
+        }
+
+        final Curve curve = index.curves[idx];
+        final int last = curve.frameCount - 1;
+        float pos = Math.max(0, Math.min(1, fraction)) * last;
+        int frame = Math.min((int) pos, last - 1);
+        float t = pos - frame;
+
+        final float[] values = curve.values;
+        int off0 = frame * FlipKeyframes.VALUES;
+        int off1 = off0 + FlipKeyframes.VALUES;
+        for (int vIdx = 0; vIdx < FlipKeyframes.VALUES; vIdx++) {
+            float v0 = values[off0 + vIdx];
+            out[vIdx] = v0 + (values[off1 + vIdx] - v0) * t;
+        }
+        return true;
+    }
+
+    /**
+     * Publish new index unless cache was closed.
+     *
+     * @param removed true if curves were removed, invalidates outstanding handles.
+     */
+    private synchronized void publish(Curve[] curves, boolean removed) {
+        if (!mDisabled) {
+            mIndex = new Index(mIndex.generation + (removed ? 1 : 0), curves);
+        }
+    }
+
+    // =============================================================================================
+    // Executor thread
+
+    private void open() {
+        if (mDisabled) {
+            return;
+        }
+        try {
+            mChannel = new RandomAccessFile(mFile, "rw").getChannel();
+            Curve[] curves = load();
+            if (curves == null) {
+                reset();
+                curves = new Curve[0];
+            }
+            publish(curves, true);
+        } catch (IOException ex) {
+            disable();
+        }
+    }
+
+    private void disable() {
+        synchronized (this) {
+            mDisabled = true;
+            mIndex = new Index(mIndex.generation + 1, new Curve[0]);
+        }
+        closeFile();
+    }
+
+    private void closeFile() {
+        if (mChannel != null) {
+            try {
+                mChannel.close();
+            } catch (IOException ignore) {
+            }
+            mChannel = null;
+        }
+    }
+
+    private void add(int axis, float fromDeg, float toDeg, float camX, float camY, float camZ, int frameCount) {
+        if (mChannel == null || mDisabled
+            || find(axis, fromDeg, toDeg, camX, camY, camZ, frameCount) >= 0) {
+            return;
+        }
+
+        Curve curve = new Curve(axis, fromDeg, toDeg, camX, camY, camZ, frameCount);
+        if (HEADER_BYTES + curve.byteSize() > mMaxBytes) {
+            return;
+        }
+        float step = 1.0f / (frameCount - 1);
+        for (int frame = 0; frame < frameCount; frame++) {
+            float degrees = fromDeg + (toDeg - fromDeg) * (frame * step);
+            FlipMatrix.camera(mScratch, axis, degrees, camX, camY, camZ);
+            System.arraycopy(mScratch, 0, curve.values, frame * FlipKeyframes.VALUES, FlipKeyframes.VALUES);
+        }
+        curve.lastUsed = mUseCounter.incrementAndGet();
+
+        try {
+            Curve[] curves = mIndex.curves;
+            boolean removed = false;
+            if (mFileEnd + curve.byteSize() > mMaxBytes) {
+                curves = evict(curves, mMaxBytes / 2 - curve.byteSize());
+                removed = true;
+            }
+
+            writeCurve(curve, mFileEnd);
+            mFileEnd += curve.byteSize();
+            curves = Arrays.copyOf(curves, curves.length + 1);
+            curves[curves.length - 1] = curve;
+            writeEntryCount(curves.length);
+            publish(curves, removed);
+        } catch (IOException ex) {
+            disable();
+        }
+    }
+
+    /**
+     * Keep most recently used curves which fit in {@code targetBytes} and rewrite file.
+     */
+    private Curve[] evict(Curve[] curves, int targetBytes) throws IOException {
+        Curve[] keep = curves.clone();
+        Arrays.sort(keep, new Comparator<Curve>() {
+            @Override
+            public int compare(Curve c1, Curve c2) {
+                return Long.compare(c2.lastUsed, c1.lastUsed);
+            }
+        });
+
+        int bytes = 0;
+        int count = 0;
+        while (count < keep.length && bytes + keep[count].byteSize() <= targetBytes) {
+            bytes += keep[count].byteSize();
+            count++;
+        }
+        keep = Arrays.copyOf(keep, count);
+
+        mChannel.truncate(HEADER_BYTES);
+        mFileEnd = HEADER_BYTES;
+        for (Curve curve : keep) {
+            writeCurve(curve, mFileEnd);
+            mFileEnd += curve.byteSize();
+        }
+        writeEntryCount(keep.length);
+        return keep;
+    }
+
+    /**
+     * Read and validate file.
+     *
+     * @return Loaded curves or null if file is missing, from another version or corrupt.
+     */
+    private Curve[] load() throws IOException {
+        long size = mChannel.size();
+        if (size < HEADER_BYTES || size > mMaxBytes) {
+            return null;
+        }
+        ByteBuffer buf = ByteBuffer.allocate((int) size);
+        while (buf.hasRemaining()) {
+            if (mChannel.read(buf, buf.position()) < 0) {
+                return null;
+            }
+        }
+        if (buf.getInt(0) != MAGIC || buf.getInt(4) != VERSION) {
+            return null;
+        }
+
+        int entryCount = buf.getInt(8);
+        if (entryCount < 0 || entryCount > (size - HEADER_BYTES) / ENTRY_HEADER_BYTES) {
+            return null;
+        }
+        Curve[] curves = new Curve[entryCount];
+        int offset = HEADER_BYTES;
+        for (int idx = 0; idx < entryCount; idx++) {
+            if (offset + ENTRY_HEADER_BYTES > size) {
+                return null;
+            }
+            int frameCount = buf.getInt(offset + 24);
+            int checksum = buf.getInt(offset + 28);
+            if (frameCount < 2 || frameCount > MAX_FRAMES
+                || offset + ENTRY_HEADER_BYTES + (long) frameCount * FRAME_BYTES > size) {
+                return null;
+            }
+            int dataOffset = offset + ENTRY_HEADER_BYTES;
+            if (checksum(buf, dataOffset, frameCount * FlipKeyframes.VALUES) != checksum) {
+                return null;
+            }
+
+            Curve curve = new Curve(buf.getInt(offset),
+                buf.getFloat(offset + 4), buf.getFloat(offset + 8),
+                buf.getFloat(offset + 12), buf.getFloat(offset + 16), buf.getFloat(offset + 20),
+                frameCount);
+            for (int vIdx = 0; vIdx < curve.values.length; vIdx++) {
+                curve.values[vIdx] = buf.getFloat(dataOffset + vIdx * 4);
+            }
+            curves[idx] = curve;
+            offset += curve.byteSize();
+        }
+
+        if (offset != size) {
+            // Drop partially written tail.
+            mChannel.truncate(offset);
+        }
+        mFileEnd = offset;
+        return curves;
+    }
+
+    /**
+     * Reset file to an empty cache.
+     */
+    private void reset() throws IOException {
+        mChannel.truncate(0);
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+        header.putInt(MAGIC).putInt(VERSION).putInt(0).putInt(0);
+        header.flip();
+        writeFully(header, 0);
+        mFileEnd = HEADER_BYTES;
+    }
+
+    private void writeCurve(Curve curve, int offset) throws IOException {
+        ByteBuffer buf = ByteBuffer.allocate(curve.byteSize());
+        buf.position(ENTRY_HEADER_BYTES);
+        for (float value : curve.values) {
+            buf.putFloat(value);
+        }
+        int checksum = checksum(buf, ENTRY_HEADER_BYTES, curve.values.length);
+        buf.position(0);
+        buf.putInt(curve.axis).putFloat(curve.fromDeg).putFloat(curve.toDeg)
+            .putFloat(curve.camX).putFloat(curve.camY).putFloat(curve.camZ)
+            .putInt(curve.frameCount).putInt(checksum);
+        buf.position(0);
+        writeFully(buf, offset);
+    }
+
+    private void writeEntryCount(int entryCount) throws IOException {
+        ByteBuffer count = ByteBuffer.allocate(4);
+        count.putInt(entryCount);
+        count.flip();
+        writeFully(count, 8);
+    }
+
+    private void writeFully(ByteBuffer buf, long position) throws IOException {
+        while (buf.hasRemaining()) {
+            position += mChannel.write(buf, position);
+        }
+    }
+
+    private static int checksum(ByteBuffer buf, int offset, int floatCount) {
+        int hash = 1;
+        for (int idx = 0; idx < floatCount; idx++) {
+            hash = 31 * hash + buf.getInt(offset + idx * 4);
+        }
+        return hash;
+    }
+}
@@ -0,0 +1,64 @@
+/*
+ * Copyright (c) 2026 Dennis Lang (LanDen Labs) landenlabs@gmail.com
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the
+ * following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT
+ * LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN
+ * NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * @author Dennis Lang
+ * @see https://LanDenLabs.com/
+ */
+
+
+package com.landenlabs.all_flipanimation;
+
+import android.view.animation.Interpolator;
+
+/**
+ * Interpolator which applies a {@link FloatCurve} (ex: {@link EdgeSyncCurve}) to a fixed
+ * start and end value and returns it as a fraction of that range.
+ * <p/>
+ * Lets curves which depend on the start value, like the edge sync reverse curve, be used by
+ * animators which only accept an {@link Interpolator}, such as {@link FlipOverlayView}.
+ */
+public final class FlipCurveInterpolator implements Interpolator {
+
+    private final FloatCurve mCurve;
+    private final float mStartValue;
+    private final float mEndValue;
+    private final int mEase;
+
+    /**
+     * @param curve      Curve to apply, ex: {@link EdgeSyncCurve#getDefault()}
+     * @param startValue Start value the curve is evaluated with, ex: start angle
+     * @param endValue   End value the curve is evaluated with, ex: end angle
+     * @param ease       {@link FlipEngine#EASE_LINEAR} or {@link FlipEngine#EASE_ACCEL_DECEL}, applied before curve
+     */
+    public FlipCurveInterpolator(FloatCurve curve, float startValue, float endValue, int ease) {
+        if (startValue == endValue) {
+            throw new IllegalArgumentException("start and end values must differ, got " + startValue);
+        }
+        mCurve = curve;
+        mStartValue = startValue;
+        mEndValue = endValue;
+        mEase = ease;
+    }
+
+    @Override
+    public float getInterpolation(float input) {
+        if (mEase == FlipEngine.EASE_ACCEL_DECEL) {
+            input = (float) (Math.cos((input + 1) * Math.PI) / 2.0) + 0.5f;
+        }
+        return (mCurve.evaluate(input, mStartValue, mEndValue) - mStartValue) / (mEndValue - mStartValue);
+    }
+}
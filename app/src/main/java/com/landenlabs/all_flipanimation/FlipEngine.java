@@ -0,0 +1,351 @@
+/*
+ * Copyright (c) 2026 Dennis Lang (LanDen Labs) landenlabs@gmail.com
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the
+ * following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT
+ * LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN
+ * NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * @author Dennis Lang
+ * @see https://LanDenLabs.com/
+ */
+
+
+package com.landenlabs.all_flipanimation;
+
+import android.view.Choreographer;
+import android.view.View;
+
+import java.util.Arrays;
+
+/**
+ * Flip engine which drives every registered panel from one shared animation clock.
+ * <p/>
+ * One {@link Choreographer} frame callback advances all active panels in a single loop over a flat
+ * primitive state array (axis, from/to angle, from/to translation, pivot, easing) plus start time
+ * and duration. There are no per-flip Animator, Animation or listener objects, so frame cost grows
+ * with the number of panels only.
+ * <p/>
+ * Panels are animated with view properties (rotation, translation, pivot), the same as
+ * {@code ViewFlipFactory.FlipAnimation} VIEW_ONLY mode.
+ * Must be used on the UI thread.
+ */
+public class FlipEngine implements Choreographer.FrameCallback {
+
+    public static final int EASE_LINEAR = 0;
+    public static final int EASE_ACCEL_DECEL = 1;   // Same as ValueAnimator default interpolator.
+
+    /**
+     * Notified when the last active panel finishes its flip.
+     */
+    public interface Listener {
+        void onFlipsDone();
+    }
+
+    // ---- Per panel state, STRIDE floats per panel ----
+    private static final int S_ACTIVE = 0;
+    private static final int S_AXIS = 1;
+    private static final int S_FROM_DEG = 2;
+    private static final int S_TO_DEG = 3;
+    private static final int S_FROM_TRANS = 4;
+    private static final int S_TO_TRANS = 5;
+    private static final int S_PIVOT_X = 6;
+    private static final int S_PIVOT_Y = 7;
+    private static final int S_EASE = 8;
+    private static final int S_LAYER = 9;      // 1 = holds hardware layer promotion
+    private static final int STRIDE = 10;
+
+    private static final long NANOS_PER_MSEC = 1000000L;
+
+    private final Choreographer mChoreographer = Choreographer.getInstance();
+    private float[] mState = new float[4 * STRIDE];
+    private long[] mStartNanos = new long[4];       // 0 = start on next frame
+    private long[] mDurationNanos = new long[4];
+    private View[] mViews = new View[4];
+    private FloatCurve[] mAngleCurves = new FloatCurve[4];
+    private FloatCurve[] mTransCurves = new FloatCurve[4];
+    private Runnable[] mEndActions = new Runnable[4];
+    private Runnable[] mFinished = new Runnable[4];   // End actions deferred until frame loop is done
+    private int mCount = 0;
+    private int mActiveCount = 0;
+    private boolean mPosted = false;
+    private Listener mListener;
+    private FlipStats mStats;
+    private FlipLayers mLayers;
+
+    public void setListener(Listener listener) {
+        mListener = listener;
+    }
+
+    /**
+     * Record frame intervals and frame cost, null to disable.
+     */
+    public void setStats(FlipStats stats) {
+        mStats = stats;
+    }
+
+    /**
+     * Promote panels to hardware layers while they flip, null to leave layer types alone.
+     */
+    public void setLayers(FlipLayers layers) {
+        mLayers = layers;
+    }
+
+    public int getPanelCount() {
+        return mCount;
+    }
+
+    public int getActiveCount() {
+        return mActiveCount;
+    }
+
+    /**
+     * Register panel view, returns existing panel index if already registered.
+     */
+    public int register(View view) {
+        for (int panel = 0; panel < mCount; panel++) {
+            if (mViews[panel] == view) {
+                return panel;
+            }
+        }
+
+        if (mCount == mViews.length) {
+            int size = mCount * 2;
+            mState = Arrays.copyOf(mState, size * STRIDE);
+            mStartNanos = Arrays.copyOf(mStartNanos, size);
+            mDurationNanos = Arrays.copyOf(mDurationNanos, size);
+            mViews = Arrays.copyOf(mViews, size);
+            mAngleCurves = Arrays.copyOf(mAngleCurves, size);
+            mTransCurves = Arrays.copyOf(mTransCurves, size);
+            mEndActions = Arrays.copyOf(mEndActions, size);
+            mFinished = Arrays.copyOf(mFinished, size);
+        }
+        mViews[mCount] = view;
+        return mCount++;
+    }
+
+    /**
+     * Remove panel, stopping its flip without running its end action. The view keeps its current
+     * rotation.
+     */
+    public void unregister(View view) {
+        for (int panel = 0; panel < mCount; panel++) {
+            if (mViews[panel] == view) {
+                if (mState[panel * STRIDE + S_ACTIVE] != 0) {
+                    mState[panel * STRIDE + S_ACTIVE] = 0;
+                    mActiveCount--;
+                }
+                releaseLayer(panel);
+
+                // Move last panel into the free slot.
+                int last = --mCount;
+                System.arraycopy(mState, last * STRIDE, mState, panel * STRIDE, STRIDE);
+                mStartNanos[panel] = mStartNanos[last];
+                mDurationNanos[panel] = mDurationNanos[last];
+                mViews[panel] = mViews[last];
+                mAngleCurves[panel] = mAngleCurves[last];
+                mTransCurves[panel] = mTransCurves[last];
+                mEndActions[panel] = mEndActions[last];
+                mViews[last] = null;
+                mAngleCurves[last] = null;
+                mTransCurves[last] = null;
+                mEndActions[last] = null;
+                Arrays.fill(mState, last * STRIDE, (last + 1) * STRIDE, 0);
+                break;
+            }
+        }
+        if (mActiveCount == 0 && mPosted) {
+            mPosted = false;
+            mChoreographer.removeFrameCallback(this);
+        }
+    }
+
+    /**
+     * Stop all flips and remove all panels, call when the owning activity is destroyed.
+     */
+    public void clear() {
+        cancel();
+        Arrays.fill(mState, 0);
+        Arrays.fill(mViews, null);
+        Arrays.fill(mAngleCurves, null);
+        Arrays.fill(mTransCurves, null);
+        Arrays.fill(mFinished, null);
+        mCount = 0;
+    }
+
+    /**
+     * Flip panel rotation only.
+     *
+     * @param view         Panel view
+     * @param axis         {@link FlipMatrix#ROTATION_X} or {@link FlipMatrix#ROTATION_Y}
+     * @param fromDeg      Start angle (degrees)
+     * @param toDeg        End angle (degrees)
+     * @param angleCurve   Angle curve, ex: {@link FloatCurve#LINEAR} or {@link EdgeSyncCurve}
+     * @param pivotX       Rotation pivot x (pixels)
+     * @param pivotY       Rotation pivot y (pixels)
+     * @param ease         {@link #EASE_LINEAR} or {@link #EASE_ACCEL_DECEL}
+     * @param durationMsec Flip duration
+     */
+    public void flip(View view, int axis, float fromDeg, float toDeg, FloatCurve angleCurve,
+        float pivotX, float pivotY, int ease, long durationMsec) {
+        flip(view, axis, fromDeg, toDeg, angleCurve, 0, 0, null, pivotX, pivotY, ease, durationMsec, null);
+    }
+
+    /**
+     * Flip panel rotation and translation. Translation is along Y for rotation about X and along X
+     * for rotation about Y.
+     *
+     * @param transCurve Translation curve or null for no translation.
+     * @param endAction  Optional action run when this panel's flip ends.
+     */
+    public void flip(View view, int axis, float fromDeg, float toDeg, FloatCurve angleCurve,
+        float fromTrans, float toTrans, FloatCurve transCurve,
+        float pivotX, float pivotY, int ease, long durationMsec, Runnable endAction) {
+        int panel = register(view);
+        int base = panel * STRIDE;
+        final float[] state = mState;
+        if (state[base + S_ACTIVE] == 0) {
+            if (mActiveCount++ == 0 && mStats != null) {
+                mStats.beginFlip();
+            }
+        }
+        state[base + S_ACTIVE] = 1;
+        if (state[base + S_LAYER] == 0 && mLayers != null && mLayers.promote(view)) {
+            state[base + S_LAYER] = 1;
+        }
+        state[base + S_AXIS] = axis;
+        state[base + S_FROM_DEG] = fromDeg;
+        state[base + S_TO_DEG] = toDeg;
+        state[base + S_FROM_TRANS] = fromTrans;
+        state[base + S_TO_TRANS] = toTrans;
+        state[base + S_PIVOT_X] = pivotX;
+        state[base + S_PIVOT_Y] = pivotY;
+        state[base + S_EASE] = ease;
+        mStartNanos[panel] = 0;
+        mDurationNanos[panel] = Math.max(1, durationMsec) * NANOS_PER_MSEC;
+        mAngleCurves[panel] = angleCurve;
+        mTransCurves[panel] = transCurve;
+        mEndActions[panel] = endAction;
+
+        if (!mPosted) {
+            mPosted = true;
+            mChoreographer.postFrameCallback(this);
+        }
+    }
+
+    /**
+     * Stop all flips, panels keep their current rotation.
+     */
+    public void cancel() {
+        for (int panel = 0; panel < mCount; panel++) {
+            mState[panel * STRIDE + S_ACTIVE] = 0;
+            mEndActions[panel] = null;
+            releaseLayer(panel);
+        }
+        mActiveCount = 0;
+        mPosted = false;
+        mChoreographer.removeFrameCallback(this);
+    }
+
+    private void releaseLayer(int panel) {
+        int base = panel * STRIDE;
+        if (mState[base + S_LAYER] != 0) {
+            mState[base + S_LAYER] = 0;
+            mLayers.release(mViews[panel]);
+        }
+    }
+
+    @Override
+    public void doFrame(long frameTimeNanos) {
+        mPosted = false;
+        final float[] state = mState;
+        final FlipStats stats = mStats;
+        int finished = 0;
+        long workStart = 0;
+        if (stats != null) {
+            stats.onFrame(frameTimeNanos);
+            workStart = System.nanoTime();
+        }
+
+        for (int panel = 0; panel < mCount; panel++) {
+            int base = panel * STRIDE;
+            if (state[base + S_ACTIVE] == 0) {
+                continue;
+            }
+
+            final View view = mViews[panel];
+            if (mStartNanos[panel] == 0) {
+                // First frame of flip, start on this vsync.
+                mStartNanos[panel] = frameTimeNanos;
+                view.setPivotX(state[base + S_PIVOT_X]);
+                view.setPivotY(state[base + S_PIVOT_Y]);
+            }
+
+            float fraction = (frameTimeNanos - mStartNanos[panel]) / (float) mDurationNanos[panel];
+            boolean done = fraction >= 1;
+            fraction = done ? 1 : fraction;
+            if (state[base + S_EASE] == EASE_ACCEL_DECEL) {
+                fraction = (float) (Math.cos((fraction + 1) * Math.PI) / 2.0) + 0.5f;
+            }
+
+            boolean rotateX = state[base + S_AXIS] == FlipMatrix.ROTATION_X;
+            float degrees = mAngleCurves[panel].evaluate(fraction, state[base + S_FROM_DEG], state[base + S_TO_DEG]);
+            if (rotateX) {
+                view.setRotationX(degrees);
+            } else {
+                view.setRotationY(degrees);
+            }
+
+            FloatCurve transCurve = mTransCurves[panel];
+            if (transCurve != null) {
+                float trans = transCurve.evaluate(fraction, state[base + S_FROM_TRANS], state[base + S_TO_TRANS]);
+                if (rotateX) {
+                    view.setTranslationY(trans);
+                } else {
+                    view.setTranslationX(trans);
+                }
+            }
+
+            if (done) {
+                state[base + S_ACTIVE] = 0;
+                mActiveCount--;
+                releaseLayer(panel);
+                Runnable endAction = mEndActions[panel];
+                mEndActions[panel] = null;
+                if (endAction != null) {
+                    mFinished[finished++] = endAction;
+                }
+            }
+        }
+
+        // End actions may register or flip panels which can grow the state arrays,
+        // so run them only after the loop is done with the arrays.
+        for (int idx = 0; idx < finished; idx++) {
+            Runnable endAction = mFinished[idx];
+            mFinished[idx] = null;
+            endAction.run();
+        }
+
+        if (stats != null) {
+            stats.endWork(workStart);
+        }
+
+        if (mActiveCount > 0) {
+            if (!mPosted) {
+                mPosted = true;
+                mChoreographer.postFrameCallback(this);
+            }
+        } else if (mListener != null) {
+            mListener.onFlipsDone();
+        }
+    }
+}
@@ -0,0 +1,118 @@
+/*
+ * Copyright (c) 2026 Dennis Lang (LanDen Labs) landenlabs@gmail.com
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the
+ * following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT
+ * LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN
+ * NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * @author Dennis Lang
+ * @see https://LanDenLabs.com/
+ */
+
+
+package com.landenlabs.all_flipanimation;
+
+/**
+ * Precomputed transform keyframes for one flip.
+ * <p/>
+ * A flip's transform is sampled once at the display refresh rate into a flat float array,
+ * {@link #VALUES} floats (one 3x3 matrix) per frame. Playback is an array lookup keyed by the
+ * animation fraction with linear interpolation between neighbouring frames.
+ */
+public final class FlipKeyframes {
+
+    public static final int VALUES = 9;
+    public static final float DEFAULT_REFRESH_RATE = 60.0f;
+
+    /**
+     * Computes transform values for one animation fraction.
+     */
+    public interface Sampler {
+        /**
+         * @param fraction Animation fraction [0..1]
+         * @param out      Output values, {@link FlipKeyframes#VALUES} floats.
+         */
+        void sample(float fraction, float[] out);
+    }
+
+    private final float[] mScratch = new float[VALUES];
+    private float[] mFrames = new float[0];
+    private int mFrameCount = 0;
+
+    /**
+     * @param durationMsec Animation duration in milliseconds.
+     * @param refreshRate  Display refresh rate in Hz, zero or less uses 60Hz.
+     * @return Number of frames to sample, at least 2 (start and end).
+     */
+    public static int frameCount(long durationMsec, float refreshRate) {
+        if (refreshRate <= 0) {
+            refreshRate = DEFAULT_REFRESH_RATE;
+        }
+        return Math.max(2, (int) Math.ceil(durationMsec * refreshRate / 1000.0) + 1);
+    }
+
+    /**
+     * Sample {@code frameCount} frames evenly over fraction [0..1].
+     * Reuses the frame array when it is large enough.
+     */
+    public void bake(Sampler sampler, int frameCount) {
+        int size = frameCount * VALUES;
+        if (mFrames.length < size) {
+            mFrames = new float[size];
+        }
+        mFrameCount = frameCount;
+
+        float step = 1.0f / (frameCount - 1);
+        for (int frame = 0; frame < frameCount; frame++) {
+            sampler.sample(frame * step, mScratch);
+            System.arraycopy(mScratch, 0, mFrames, frame * VALUES, VALUES);
+        }
+    }
+
+    public boolean isBaked() {
+        return mFrameCount != 0;
+    }
+
+    public void clear() {
+        mFrameCount = 0;
+    }
+
+    public int getFrameCount() {
+        return mFrameCount;
+    }
+
+    public float[] getFrames() {
+        return mFrames;
+    }
+
+    /**
+     * Look up transform at fraction, interpolating between the two nearest frames.
+     *
+     * @param fraction Animation fraction [0..1]
+     * @param out      Output values, {@link #VALUES} floats.
+     */
+    public void getValues(float fraction, float[] out) {
+        final int last = mFrameCount - 1;
+        float pos = Math.max(0, Math.min(1, fraction)) * last;
+        int frame = Math.min((int) pos, last - 1);
+        float t = pos - frame;
+
+        final float[] frames = mFrames;
+        int off0 = frame * VALUES;
+        int off1 = off0 + VALUES;
+        for (int idx = 0; idx < VALUES; idx++) {
+            float v0 = frames[off0 + idx];
+            out[idx] = v0 + (frames[off1 + idx] - v0) * t;
+        }
+    }
+}
@@ -0,0 +1,167 @@
+/*
+ * Copyright (c) 2026 Dennis Lang (LanDen Labs) landenlabs@gmail.com
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the
+ * following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT
+ * LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN
+ * NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * @author Dennis Lang
+ * @see https://LanDenLabs.com/
+ */
+
+
+package com.landenlabs.all_flipanimation;
+
+import android.view.View;
+
+import java.util.Arrays;
+
+/**
+ * Hardware layer lifecycle for flipping views.
+ * <p/>
+ * A promoted view is drawn once into a {@link View#LAYER_TYPE_HARDWARE} layer and each flip frame
+ * only re-composites that layer with a new transform, instead of re-recording and re-rasterizing
+ * the view content. Promotions are reference counted so overlapping flips of the same view share
+ * one layer, and the previous layer type is restored when the last flip releases the view.
+ * Layers are estimated at 4 bytes per pixel, a view which does not fit in the memory cap is left
+ * as is. Must be used on the UI thread.
+ */
+public final class FlipLayers {
+
+    public static final long DEFAULT_MAX_BYTES = 32L * 1024 * 1024;
+
+    private static FlipLayers sDefault;
+
+    private final long mMaxBytes;
+    private long mBytes = 0;
+    private View[] mViews = new View[4];
+    private int[] mRefCounts = new int[4];
+    private int[] mSavedTypes = new int[4];
+    private long[] mViewBytes = new long[4];
+    private int mCount = 0;
+    private int mRejectCount = 0;
+
+    public FlipLayers(long maxBytes) {
+        mMaxBytes = maxBytes;
+    }
+
+    /**
+     * Shared instance with {@link #DEFAULT_MAX_BYTES} cap.
+     */
+    public static FlipLayers getDefault() {
+        if (sDefault == null) {
+            sDefault = new FlipLayers(DEFAULT_MAX_BYTES);
+        }
+        return sDefault;
+    }
+
+    /**
+     * Promote view to a hardware layer for the length of a flip.
+     *
+     * @return true if promoted, every true return must be matched by {@link #release(View)}.
+     */
+    public boolean promote(View view) {
+        int idx = indexOf(view);
+        if (idx >= 0) {
+            mRefCounts[idx]++;
+            return true;
+        }
+
+        long bytes = 4L * view.getWidth() * view.getHeight();
+        if (bytes == 0 || mBytes + bytes > mMaxBytes) {
+            mRejectCount++;
+            return false;
+        }
+
+        if (mCount == mViews.length) {
+            int size = mCount * 2;
+            mViews = Arrays.copyOf(mViews, size);
+            mRefCounts = Arrays.copyOf(mRefCounts, size);
+            mSavedTypes = Arrays.copyOf(mSavedTypes, size);
+            mViewBytes = Arrays.copyOf(mViewBytes, size);
+        }
+        idx = mCount++;
+        mViews[idx] = view;
+        mRefCounts[idx] = 1;
+        mSavedTypes[idx] = view.getLayerType();
+        mViewBytes[idx] = bytes;
+        mBytes += bytes;
+        if (mSavedTypes[idx] != View.LAYER_TYPE_HARDWARE) {
+            view.setLayerType(View.LAYER_TYPE_HARDWARE, null);
+        }
+        return true;
+    }
+
+    /**
+     * Release one promotion, restores the previous layer type when none are left.
+     */
+    public void release(View view) {
+        int idx = indexOf(view);
+        if (idx >= 0 && --mRefCounts[idx] == 0) {
+            restore(idx);
+        }
+    }
+
+    /**
+     * Restore every promoted view, ex: when flips are cancelled or the activity is destroyed.
+     */
+    public void releaseAll() {
+        while (mCount > 0) {
+            restore(mCount - 1);
+        }
+    }
+
+    public long getBytes() {
+        return mBytes;
+    }
+
+    public long getMaxBytes() {
+        return mMaxBytes;
+    }
+
+    public int getLayerCount() {
+        return mCount;
+    }
+
+    /**
+     * @return Number of promotions refused because of the memory cap.
+     */
+    public int getRejectCount() {
+        return mRejectCount;
+    }
+
+    private void restore(int idx) {
+        View view = mViews[idx];
+        if (mSavedTypes[idx] != View.LAYER_TYPE_HARDWARE) {
+            view.setLayerType(mSavedTypes[idx], null);
+        }
+        mBytes -= mViewBytes[idx];
+
+        // Move last entry into free slot.
+        int last = --mCount;
+        mViews[idx] = mViews[last];
+        mRefCounts[idx] = mRefCounts[last];
+        mSavedTypes[idx] = mSavedTypes[last];
+        mViewBytes[idx] = mViewBytes[last];
+        mViews[last] = null;
+    }
+
+    private int indexOf(View view) {
+        for (int idx = 0; idx < mCount; idx++) {
+            if (mViews[idx] == view) {
+                return idx;
+            }
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,178 @@
+/*
+ * Copyright (c) 2026 Dennis Lang (LanDen Labs) landenlabs@gmail.com
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the
+ * following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT
+ * LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN
+ * NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * @author Dennis Lang
+ * @see https://LanDenLabs.com/
+ */
+
+
+package com.landenlabs.all_flipanimation;
+
+/**
+ * Pure Java flip transform kernel.
+ * <p/>
+ * Computes the same 3x3 perspective matrix as {@code android.graphics.Camera} rotateX or rotateY
+ * followed by {@code getMatrix}, plus the pivot and translation steps used by
+ * {@link ViewFlipFactory.FlipAnimation}. Results are written into a caller supplied {@code float[9]}
+ * using the same value order as {@code android.graphics.Matrix.getValues}, so a result can be
+ * copied into an Android matrix with {@code Matrix.setValues}.
+ * <p/>
+ * No method allocates, so the kernel can run every frame and can be measured off-device on a JVM.
+ */
+public final class FlipMatrix {
+
+    public static final int ROTATION_X = 0;
+    public static final int ROTATION_Y = 1;
+
+    // Same value layout as android.graphics.Matrix
+    public static final int MSCALE_X = 0;
+    public static final int MSKEW_X = 1;
+    public static final int MTRANS_X = 2;
+    public static final int MSKEW_Y = 3;
+    public static final int MSCALE_Y = 4;
+    public static final int MTRANS_Y = 5;
+    public static final int MPERSP_0 = 6;
+    public static final int MPERSP_1 = 7;
+    public static final int MPERSP_2 = 8;
+
+    /**
+     * Camera location is specified in inches, Skia converts it to pixels at 72 dpi.
+     */
+    public static final float CAMERA_DPI = 72.0f;
+
+    private FlipMatrix() {
+    }
+
+    /**
+     * Compute camera perspective rotation matrix, same as:
+     * <pre>
+     *   camera.setLocation(camX, camY, camZ);
+     *   camera.rotateX(degrees) or camera.rotateY(degrees);
+     *   camera.getMatrix(matrix);
+     * </pre>
+     *
+     * @param out     Output matrix values (9 floats).
+     * @param axis    Rotation axis {@link #ROTATION_X} or {@link #ROTATION_Y}
+     * @param degrees Rotation angle in degrees.
+     * @param camX    Camera location x (inches)
+     * @param camY    Camera location y (inches)
+     * @param camZ    Camera location z (inches, negative is in front of the view)
+     */
+    public static void camera(float[] out, int axis, float degrees, float camX, float camY, float camZ) {
+        final double radians = Math.toRadians(degrees);
+        final float sin = (float) Math.sin(radians);
+        final float cos = (float) Math.cos(radians);
+        final float depth = -camZ * CAMERA_DPI;
+
+        if (axis == ROTATION_X) {
+            out[MSCALE_X] = 1;
+            out[MSKEW_X] = 0;
+            out[MSKEW_Y] = 0;
+            out[MSCALE_Y] = cos;
+            out[MPERSP_0] = 0;
+            out[MPERSP_1] = -sin / depth;
+        } else {
+            out[MSCALE_X] = cos;
+            out[MSKEW_X] = 0;
+            out[MSKEW_Y] = 0;
+            out[MSCALE_Y] = 1;
+            out[MPERSP_0] = sin / depth;
+            out[MPERSP_1] = 0;
+        }
+
+        out[MTRANS_X] = -camX * CAMERA_DPI;
+        out[MTRANS_Y] = camY * CAMERA_DPI;
+        out[MPERSP_2] = 1;
+    }
+
+    /**
+     * Compute complete flip matrix, same as:
+     * <pre>
+     *   camera(...)
+     *   matrix.postTranslate(transX, transY);
+     *   matrix.preTranslate(-pivotX, -pivotY);
+     *   matrix.postTranslate(pivotX, pivotY);
+     * </pre>
+     *
+     * @param out     Output matrix values (9 floats).
+     * @param axis    Rotation axis {@link #ROTATION_X} or {@link #ROTATION_Y}
+     * @param degrees Rotation angle in degrees.
+     * @param camX    Camera location x (inches)
+     * @param camY    Camera location y (inches)
+     * @param camZ    Camera location z (inches)
+     * @param pivotX  Rotation pivot x (pixels)
+     * @param pivotY  Rotation pivot y (pixels)
+     * @param transX  Translation x (pixels)
+     * @param transY  Translation y (pixels)
+     */
+    public static void flip(float[] out, int axis, float degrees,
+        float camX, float camY, float camZ,
+        float pivotX, float pivotY, float transX, float transY) {
+        camera(out, axis, degrees, camX, camY, camZ);
+        pivotTranslate(out, pivotX, pivotY, transX, transY);
+    }
+
+    /**
+     * Apply pivot and translation to a camera matrix, second half of {@link #flip}.
+     */
+    public static void pivotTranslate(float[] m, float pivotX, float pivotY, float transX, float transY) {
+        preTranslate(m, -pivotX, -pivotY);
+        postTranslate(m, pivotX + transX, pivotY + transY);
+    }
+
+    /**
+     * Same as {@code Matrix.preTranslate}, M' = M * T(dx,dy)
+     */
+    public static void preTranslate(float[] m, float dx, float dy) {
+        m[MTRANS_X] += m[MSCALE_X] * dx + m[MSKEW_X] * dy;
+        m[MTRANS_Y] += m[MSKEW_Y] * dx + m[MSCALE_Y] * dy;
+        m[MPERSP_2] += m[MPERSP_0] * dx + m[MPERSP_1] * dy;
+    }
+
+    /**
+     * Same as {@code Matrix.postTranslate}, M' = T(dx,dy) * M
+     */
+    public static void postTranslate(float[] m, float dx, float dy) {
+        m[MSCALE_X] += dx * m[MPERSP_0];
+        m[MSKEW_X] += dx * m[MPERSP_1];
+        m[MTRANS_X] += dx * m[MPERSP_2];
+        m[MSKEW_Y] += dy * m[MPERSP_0];
+        m[MSCALE_Y] += dy * m[MPERSP_1];
+        m[MTRANS_Y] += dy * m[MPERSP_2];
+    }
+
+    /**
+     * Same as {@code Matrix.preScale}, M' = M * S(sx,sy)
+     */
+    public static void preScale(float[] m, float sx, float sy) {
+        m[MSCALE_X] *= sx;
+        m[MSKEW_Y] *= sx;
+        m[MPERSP_0] *= sx;
+        m[MSKEW_X] *= sy;
+        m[MSCALE_Y] *= sy;
+        m[MPERSP_1] *= sy;
+    }
+
+    /**
+     * Linear interpolation of each matrix value, out = start + (end - start) * fraction
+     */
+    public static void lerp(float[] out, float[] start, float[] end, float fraction) {
+        for (int idx = 0; idx < 9; idx++) {
+            out[idx] = start[idx] + (end[idx] - start[idx]) * fraction;
+        }
+    }
+}
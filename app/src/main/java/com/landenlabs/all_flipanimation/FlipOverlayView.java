@@ -0,0 +1,477 @@
+/*
+ * Copyright (c) 2026 Dennis Lang (LanDen Labs) landenlabs@gmail.com
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the
+ * following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT
+ * LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN
+ * NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * @author Dennis Lang
+ * @see https://LanDenLabs.com/
+ */
+
+
+package com.landenlabs.all_flipanimation;
+
+import android.content.Context;
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.Color;
+import android.graphics.Matrix;
+import android.graphics.Paint;
+import android.graphics.PixelFormat;
+import android.graphics.PorterDuff;
+import android.os.Handler;
+import android.os.HandlerThread;
+import android.os.Looper;
+import android.util.AttributeSet;
+import android.view.Choreographer;
+import android.view.SurfaceHolder;
+import android.view.SurfaceView;
+import android.view.View;
+import android.view.animation.Interpolator;
+
+import java.util.ArrayList;
+
+/**
+ * Transparent surface on top of the window which flips snapshots of views on its own render thread.
+ * <p/>
+ * {@link #flip} records the view into a bitmap, hides it and hands the whole timeline (angles,
+ * interpolator, pivot, camera distance, duration) to the render thread. The render thread draws
+ * every frame with {@link FlipMatrix}, the same camera transform the view's render node applies,
+ * and has its own {@link Choreographer}, so main thread stalls (GC, slow
+ * {@code ListView.setSelection}) do not stutter a running flip. The view is left at its end
+ * rotation and shown again when the render thread reports the real end of the flip.
+ * <p/>
+ * Place it over the flipping views, ex: aligned to their parent. Must be configured on the UI thread.
+ */
+public class FlipOverlayView extends SurfaceView implements SurfaceHolder.Callback {
+
+    /**
+     * Flip completion, called on the UI thread.
+     */
+    public interface Listener {
+        /**
+         * Last flipping view has finished and is shown again.
+         */
+        void onFlipsDone();
+    }
+
+    private static final long NANOS_PER_MSEC = 1000000L;
+
+    /**
+     * One flipping view. Timeline is written on the UI thread before the handoff.
+     */
+    private static final class Panel {
+        View view;                  // UI thread only
+        float alpha;                // UI thread only
+        Bitmap bitmap;
+        int axis;
+        float fromDeg, toDeg;
+        Interpolator interpolator;
+        float pivotX, pivotY;
+        float left, top;
+        float cameraZ;
+        long durationNanos;
+        long startNanos;            // render thread, 0 = start on next frame
+        volatile boolean done;
+    }
+
+    private Listener mListener;
+    private FlipStats mStats;
+    private final Handler mUiHandler = new Handler(Looper.getMainLooper());
+    private final ArrayList<Panel> mActive = new ArrayList<>();      // UI thread
+    private final int[] mOverlayPos = new int[2];
+    private final int[] mParentPos = new int[2];
+
+    // ---- Handoff, UI thread -> render thread ----
+    private final ArrayList<Panel> mHandoff = new ArrayList<>();     // guarded by itself
+
+    // ---- Render thread ----
+    private HandlerThread mRenderThread;
+    private Handler mRenderHandler;
+    private Renderer mRenderer;
+    private volatile int mFrameCount = 0;
+
+    private final Runnable mWake = new Runnable() {
+        @Override
+        public void run() {
+            if (mRenderer != null) {
+                mRenderer.wake();
+            }
+        }
+    };
+    private final Runnable mClear = new Runnable() {
+        @Override
+        public void run() {
+            if (mRenderer != null) {
+                mRenderer.clear();
+            }
+        }
+    };
+    private final Runnable mRequestClear = new Runnable() {
+        @Override
+        public void run() {
+            // Shown views have drawn by now, remove their last flip frame.
+            Handler handler = mRenderHandler;
+            if (handler != null && mActive.isEmpty()) {
+                handler.post(mClear);
+            }
+        }
+    };
+    private final Runnable mFlipsDone = new Runnable() {
+        @Override
+        public void run() {
+            for (int idx = mActive.size() - 1; idx >= 0; idx--) {
+                Panel panel = mActive.get(idx);
+                if (panel.done) {
+                    panel.view.setAlpha(panel.alpha);
+                    mActive.remove(idx);
+                }
+            }
+            if (mActive.isEmpty()) {
+                postOnAnimation(mRequestClear);
+                if (mListener != null) {
+                    mListener.onFlipsDone();
+                }
+            }
+        }
+    };
+
+    public FlipOverlayView(Context context) {
+        super(context);
+        init();
+    }
+
+    public FlipOverlayView(Context context, AttributeSet attrs) {
+        super(context, attrs);
+        init();
+    }
+
+    private void init() {
+        setZOrderOnTop(true);
+        getHolder().setFormat(PixelFormat.TRANSLUCENT);
+        getHolder().addCallback(this);
+    }
+
+    public void setListener(Listener listener) {
+        mListener = listener;
+    }
+
+    /**
+     * Record frame intervals and frame cost on the render thread, null to disable.
+     */
+    public void setStats(FlipStats stats) {
+        mStats = stats;
+    }
+
+    /**
+     * @return true if the surface is ready and {@link #flip} will run on the render thread.
+     */
+    public boolean isReady() {
+        return mRenderHandler != null && getWidth() > 0;
+    }
+
+    public boolean isRunning() {
+        return !mActive.isEmpty();
+    }
+
+    /**
+     * Frames drawn by the render thread since created.
+     */
+    public int getFrameCount() {
+        return mFrameCount;
+    }
+
+    /**
+     * Flip view rotation on the render thread. The view is hidden and set to {@code toDeg} now,
+     * it is shown again when the flip ends.
+     *
+     * @param view         View inside the overlay's bounds, its own rotation is ignored
+     * @param axis         {@link FlipMatrix#ROTATION_X} or {@link FlipMatrix#ROTATION_Y}
+     * @param fromDeg      Start angle (degrees)
+     * @param toDeg        End angle (degrees)
+     * @param interpolator Angle interpolator, ex: {@link FlipCurveInterpolator}, called on the render thread
+     * @param pivotX       Rotation pivot x (pixels)
+     * @param pivotY       Rotation pivot y (pixels)
+     * @param durationMsec Flip duration
+     * @return false if the overlay is not ready or the view has no size, nothing is changed.
+     */
+    public boolean flip(View view, int axis, float fromDeg, float toDeg, Interpolator interpolator,
+        float pivotX, float pivotY, long durationMsec) {
+        Handler handler = mRenderHandler;
+        int width = view.getWidth();
+        int height = view.getHeight();
+        if (handler == null || width <= 0 || height <= 0) {
+            return false;
+        }
+
+        Panel panel = new Panel();
+        panel.bitmap = Bitmap.createBitmap(width, height, Bitmap.Config.ARGB_8888);
+        view.draw(new Canvas(panel.bitmap));     // Content only, view's own transform is not applied.
+
+        // Layout position, getLocationInWindow of the view itself would include its rotation.
+        getLocationInWindow(mOverlayPos);
+        ((View) view.getParent()).getLocationInWindow(mParentPos);
+        panel.left = mParentPos[0] + view.getLeft() - mOverlayPos[0];
+        panel.top = mParentPos[1] + view.getTop() - mOverlayPos[1];
+        panel.view = view;
+        panel.alpha = view.getAlpha();
+        panel.axis = axis;
+        panel.fromDeg = fromDeg;
+        panel.toDeg = toDeg;
+        panel.interpolator = interpolator;
+        panel.pivotX = pivotX;
+        panel.pivotY = pivotY;
+        // View camera distance is in pixels, render node camera is in inches.
+        panel.cameraZ = -view.getCameraDistance() / getResources().getDisplayMetrics().densityDpi;
+        panel.durationNanos = Math.max(1, durationMsec) * NANOS_PER_MSEC;
+        cancelPanel(view, panel);
+
+        view.setPivotX(pivotX);
+        view.setPivotY(pivotY);
+        if (axis == FlipMatrix.ROTATION_X) {
+            view.setRotationX(toDeg);
+        } else {
+            view.setRotationY(toDeg);
+        }
+        view.setAlpha(0);
+        mActive.add(panel);
+
+        synchronized (mHandoff) {
+            mHandoff.add(panel);
+        }
+        handler.post(mWake);
+        return true;
+    }
+
+    /**
+     * Stop all flips, views are shown at their end rotation.
+     */
+    public void cancel() {
+        for (int idx = 0; idx < mActive.size(); idx++) {
+            Panel panel = mActive.get(idx);
+            panel.done = true;
+            panel.view.setAlpha(panel.alpha);
+        }
+        mActive.clear();
+        synchronized (mHandoff) {
+            mHandoff.clear();
+        }
+        mUiHandler.removeCallbacks(mFlipsDone);
+        Handler handler = mRenderHandler;
+        if (handler != null) {
+            handler.post(mClear);
+        }
+    }
+
+    /**
+     * Drop a running flip of {@code view} which is replaced by {@code replacement}, keeps its saved alpha.
+     */
+    private void cancelPanel(View view, Panel replacement) {
+        for (int idx = mActive.size() - 1; idx >= 0; idx--) {
+            Panel panel = mActive.get(idx);
+            if (panel.view == view) {
+                replacement.alpha = panel.alpha;
+                panel.done = true;
+                mActive.remove(idx);
+            }
+        }
+    }
+
+    // ---- SurfaceHolder.Callback ----
+
+    @Override
+    public void surfaceCreated(SurfaceHolder holder) {
+        mRenderThread = new HandlerThread("FlipOverlay");
+        mRenderThread.start();
+        mRenderHandler = new Handler(mRenderThread.getLooper());
+        final Renderer renderer = new Renderer(holder, mStats);
+        mRenderHandler.post(new Runnable() {
+            @Override
+            public void run() {
+                // Choreographer must be created on the render thread's looper.
+                mRenderer = renderer;
+                renderer.start(Choreographer.getInstance());
+            }
+        });
+    }
+
+    @Override
+    public void surfaceChanged(SurfaceHolder holder, int format, int width, int height) {
+        Handler handler = mRenderHandler;
+        if (handler != null) {
+            handler.post(mWake);    // Redraw at new size.
+        }
+    }
+
+    @Override
+    public void surfaceDestroyed(SurfaceHolder holder) {
+        // Surface must not be drawn after this returns, wait for render thread to exit.
+        final HandlerThread thread = mRenderThread;
+        mRenderHandler.post(new Runnable() {
+            @Override
+            public void run() {
+                mRenderer.stop();
+                mRenderer = null;
+            }
+        });
+        thread.quitSafely();
+        try {
+            thread.join();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        mRenderThread = null;
+        mRenderHandler = null;
+
+        // Nothing can draw the remaining flips, end them now.
+        boolean wasRunning = !mActive.isEmpty();
+        cancel();
+        removeCallbacks(mRequestClear);
+        if (wasRunning && mListener != null) {
+            mListener.onFlipsDone();
+        }
+    }
+
+    /**
+     * Render thread state, only touched on the render thread.
+     */
+    private final class Renderer implements Choreographer.FrameCallback {
+        private final SurfaceHolder mHolder;
+        private final FlipStats mFlipStats;
+        private final ArrayList<Panel> mPanels = new ArrayList<>();
+        private final Paint mPaint = new Paint(Paint.FILTER_BITMAP_FLAG);
+        private final Matrix mMatrix = new Matrix();
+        private final float[] mValues = new float[FlipKeyframes.VALUES];
+        private Choreographer mChoreographer;
+        private boolean mPosted = false;
+        private boolean mRunning = false;
+
+        Renderer(SurfaceHolder holder, FlipStats stats) {
+            mHolder = holder;
+            mFlipStats = stats;
+        }
+
+        void start(Choreographer choreographer) {
+            mChoreographer = choreographer;
+            mRunning = true;
+            wake();
+        }
+
+        void stop() {
+            mRunning = false;
+            mChoreographer.removeFrameCallback(this);
+        }
+
+        void wake() {
+            if (mRunning && !mPosted) {
+                mPosted = true;
+                mChoreographer.postFrameCallback(this);
+            }
+        }
+
+        /**
+         * Drop finished or cancelled panels and draw an empty frame if nothing flips.
+         */
+        void clear() {
+            removeDone();
+            if (mRunning && mPanels.isEmpty()) {
+                Canvas canvas = mHolder.lockHardwareCanvas();
+                if (canvas != null) {
+                    canvas.drawColor(Color.TRANSPARENT, PorterDuff.Mode.CLEAR);
+                    mHolder.unlockCanvasAndPost(canvas);
+                }
+            }
+        }
+
+        @Override
+        public void doFrame(long frameTimeNanos) {
+            mPosted = false;
+            if (!mRunning) {
+                return;
+            }
+            final FlipStats stats = mFlipStats;
+            long workStart = System.nanoTime();
+            if (stats != null) {
+                stats.onFrame(frameTimeNanos);
+            }
+
+            synchronized (mHandoff) {
+                if (!mHandoff.isEmpty()) {
+                    if (mPanels.isEmpty() && stats != null) {
+                        stats.beginFlip();
+                    }
+                    mPanels.addAll(mHandoff);
+                    mHandoff.clear();
+                }
+            }
+            removeDone();
+            if (mPanels.isEmpty()) {
+                return;
+            }
+
+            boolean flipping = false;
+            Canvas canvas = mHolder.lockHardwareCanvas();
+            if (canvas != null) {
+                try {
+                    canvas.drawColor(Color.TRANSPARENT, PorterDuff.Mode.CLEAR);
+                    for (int idx = 0; idx < mPanels.size(); idx++) {
+                        flipping |= drawPanel(canvas, mPanels.get(idx), frameTimeNanos);
+                    }
+                } finally {
+                    mHolder.unlockCanvasAndPost(canvas);
+                }
+                mFrameCount++;
+            }
+            if (stats != null) {
+                stats.endWork(workStart);
+            }
+
+            if (flipping) {
+                mPosted = true;
+                mChoreographer.postFrameCallback(this);
+            } else {
+                // Last frame stays on the surface until the views are shown again.
+                for (int idx = 0; idx < mPanels.size(); idx++) {
+                    mPanels.get(idx).done = true;
+                }
+                mPanels.clear();
+                mUiHandler.post(mFlipsDone);
+            }
+        }
+
+        /**
+         * Draw panel at its frame time, returns false once it reached its end angle.
+         */
+        private boolean drawPanel(Canvas canvas, Panel panel, long frameTimeNanos) {
+            if (panel.startNanos == 0) {
+                panel.startNanos = frameTimeNanos;
+            }
+            float fraction = Math.min(1, (frameTimeNanos - panel.startNanos) / (float) panel.durationNanos);
+            float degrees = panel.fromDeg + (panel.toDeg - panel.fromDeg) * panel.interpolator.getInterpolation(fraction);
+            FlipMatrix.flip(mValues, panel.axis, degrees, 0, 0, panel.cameraZ,
+                panel.pivotX, panel.pivotY, panel.left, panel.top);
+            mMatrix.setValues(mValues);
+            canvas.drawBitmap(panel.bitmap, mMatrix, mPaint);
+            return fraction < 1;
+        }
+
+        private void removeDone() {
+            for (int idx = mPanels.size() - 1; idx >= 0; idx--) {
+                if (mPanels.get(idx).done) {
+                    mPanels.remove(idx);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,182 @@
+/*
+ * Copyright (c) 2026 Dennis Lang (LanDen Labs) landenlabs@gmail.com
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the
+ * following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT
+ * LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN
+ * NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * @author Dennis Lang
+ * @see https://LanDenLabs.com/
+ */
+
+
+package com.landenlabs.all_flipanimation;
+
+/**
+ * Adaptive flip quality controller.
+ * <p/>
+ * Watches frame intervals in windows of {@link #WINDOW} frames. When more than a fifth of a
+ * window's frames are late (over 1.5 refresh periods) the controller steps down to a cheaper
+ * {@link Tier}. After enough windows with no late frames it steps back up. Each step up that is
+ * followed directly by a step down doubles the clean windows required for the next step up, so
+ * the controller settles instead of oscillating.
+ * <p/>
+ * Pure Java, feed it with {@link #onFrame(long)}. Must be used on one thread.
+ */
+public final class FlipQuality {
+
+    /**
+     * Flip rendering strategies, most expensive first.
+     */
+    public enum Tier {
+        CAMERA,         // Camera perspective matrix
+        VIEW_PROPERTY,  // View rotation properties
+        BITMAP,         // View rotation of a cached layer (bitmap)
+        CROSS_FADE      // No rotation, fade between views
+    }
+
+    /**
+     * Notified when the tier changes.
+     */
+    public interface Listener {
+        void onTierChanged(Tier tier);
+    }
+
+    public static final int WINDOW = 30;
+    public static final int MIN_UP_WINDOWS = 3;
+    public static final int MAX_UP_WINDOWS = 48;
+
+    private static final Tier[] TIERS = Tier.values();
+
+    private long mPeriodNanos = (long) (1000000000L / FlipKeyframes.DEFAULT_REFRESH_RATE);
+    private long mLastFrameNanos = 0;
+    private int mFrames = 0;
+    private int mLateFrames = 0;
+    private int mCleanWindows = 0;
+    private int mUpWindows = MIN_UP_WINDOWS;
+    private boolean mJustUpgraded = false;
+
+    private int mTier = 0;
+    private int mMaxTier = TIERS.length - 1;
+    private final int[] mTierEntries = new int[TIERS.length];
+    private int mDowngradeCount = 0;
+    private int mUpgradeCount = 0;
+    private Listener mListener;
+
+    public void setListener(Listener listener) {
+        mListener = listener;
+    }
+
+    /**
+     * Set display refresh rate, ignored if not positive.
+     */
+    public void setRefreshRate(float refreshRate) {
+        if (refreshRate > 0) {
+            mPeriodNanos = (long) (1000000000L / refreshRate);
+        }
+    }
+
+    /**
+     * Limit the cheapest tier the controller may use.
+     */
+    public void setMaxTier(Tier maxTier) {
+        mMaxTier = maxTier.ordinal();
+        if (mTier > mMaxTier) {
+            setTier(mMaxTier);
+        }
+    }
+
+    public Tier getTier() {
+        return TIERS[mTier];
+    }
+
+    public int getDowngradeCount() {
+        return mDowngradeCount;
+    }
+
+    public int getUpgradeCount() {
+        return mUpgradeCount;
+    }
+
+    /**
+     * @return Number of times {@code tier} has been entered.
+     */
+    public int getTierEntries(Tier tier) {
+        return mTierEntries[tier.ordinal()];
+    }
+
+    /**
+     * Mark start of a flip, the gap since the previous flip is not a frame interval.
+     */
+    public void beginFlip() {
+        mLastFrameNanos = 0;
+    }
+
+    /**
+     * Record a frame at {@code frameNanos} ({@link System#nanoTime()} time base). Calls within a
+     * quarter refresh period of the previous frame count as the same frame.
+     */
+    public void onFrame(long frameNanos) {
+        long last = mLastFrameNanos;
+        long interval = frameNanos - last;
+        if (last != 0 && interval < mPeriodNanos / 4) {
+            return;
+        }
+        mLastFrameNanos = frameNanos;
+        if (last == 0) {
+            return;
+        }
+
+        mFrames++;
+        if (interval * 2 > mPeriodNanos * 3) {
+            mLateFrames++;
+        }
+        if (mFrames == WINDOW) {
+            endWindow();
+        }
+    }
+
+    private void endWindow() {
+        if (mLateFrames * 5 > WINDOW) {
+            mCleanWindows = 0;
+            if (mJustUpgraded) {
+                mUpWindows = Math.min(mUpWindows * 2, MAX_UP_WINDOWS);
+            }
+            if (mTier < mMaxTier) {
+                mDowngradeCount++;
+                setTier(mTier + 1);
+            }
+            mJustUpgraded = false;
+        } else if (mLateFrames == 0) {
+            mJustUpgraded = false;
+            if (++mCleanWindows >= mUpWindows && mTier > 0) {
+                mCleanWindows = 0;
+                mUpgradeCount++;
+                mJustUpgraded = true;
+                setTier(mTier - 1);
+            }
+        } else {
+            mCleanWindows = 0;
+        }
+        mFrames = 0;
+        mLateFrames = 0;
+    }
+
+    private void setTier(int tier) {
+        mTier = tier;
+        mTierEntries[tier]++;
+        if (mListener != null) {
+            mListener.onTierChanged(TIERS[tier]);
+        }
+    }
+}
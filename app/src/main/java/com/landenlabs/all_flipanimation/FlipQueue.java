@@ -0,0 +1,174 @@
+/*
+ * Copyright (c) 2026 Dennis Lang (LanDen Labs) landenlabs@gmail.com
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the
+ * following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT
+ * LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN
+ * NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * @author Dennis Lang
+ * @see https://LanDenLabs.com/
+ */
+
+
+package com.landenlabs.all_flipanimation;
+
+/**
+ * Queue of flip requests (taps, auto-flip, data updates) which never interrupts a running flip.
+ * <p/>
+ * Requests made while a flip runs are handled by the queue's {@link Policy}:
+ * <ul>
+ * <li> COALESCE - pending requests are merged into one multi-step flip.
+ * <li> DROP - requests are ignored until the running flip ends.
+ * <li> CHAIN - requests run one after another, at most {@link #MAX_PENDING} are kept.
+ * </ul>
+ * Every {@link Flipper#startFlip(int)} must be matched by a call to {@link #onFlipEnd()}. If that end
+ * is lost (ex: animation cancelled, view detached) the next request made
+ * {@link #WATCHDOG_MSEC} after the flip's expected end stops waiting for it, same as
+ * {@link FlipScheduler}'s watchdog.
+ * Must be used on the UI thread.
+ */
+public final class FlipQueue {
+
+    public enum Policy {COALESCE, DROP, CHAIN}
+
+    public static final int MAX_PENDING = 8;
+    public static final long WATCHDOG_MSEC = 500;
+
+    private static final long NANOS_PER_MSEC = 1000000L;
+
+    /**
+     * Starts flips for the queue.
+     */
+    public interface Flipper {
+        /**
+         * @param steps Number of panels to advance, more than 1 only for COALESCE.
+         * @return Flip duration in milliseconds.
+         */
+        long startFlip(int steps);
+    }
+
+    private final Policy mPolicy;
+    private final Flipper mFlipper;
+    private boolean mBusy = false;
+    private int mPending = 0;
+    private long mDeadlineNanos = 0;    // Running flip is treated as ended after this.
+
+    // ---- Metrics ----
+    private int mRequestCount = 0;
+    private int mDroppedCount = 0;
+    private int mCoalescedCount = 0;
+    private int mTimeoutCount = 0;
+
+    public FlipQueue(Policy policy, Flipper flipper) {
+        mPolicy = policy;
+        mFlipper = flipper;
+    }
+
+    public Policy getPolicy() {
+        return mPolicy;
+    }
+
+    /**
+     * Request a flip, starts now if no flip is running.
+     */
+    public void request() {
+        mRequestCount++;
+        if (mBusy && System.nanoTime() - mDeadlineNanos >= 0) {
+            // Running flip never reported its end, run this request and any pending ones now.
+            mTimeoutCount++;
+            mPending = Math.min(mPending + 1, (mPolicy == Policy.COALESCE) ? Integer.MAX_VALUE : MAX_PENDING);
+            onFlipEnd();
+            return;
+        }
+        if (!mBusy) {
+            mBusy = true;
+            startFlip(1);
+            return;
+        }
+
+        switch (mPolicy) {
+            case COALESCE:
+                if (mPending != 0) {
+                    mCoalescedCount++;
+                }
+                mPending++;
+                break;
+            case CHAIN:
+                if (mPending < MAX_PENDING) {
+                    mPending++;
+                } else {
+                    mDroppedCount++;
+                }
+                break;
+            case DROP:
+            default:
+                mDroppedCount++;
+                break;
+        }
+    }
+
+    /**
+     * Running flip has ended, start next pending flip if any.
+     */
+    public void onFlipEnd() {
+        if (mPending == 0) {
+            mBusy = false;
+            return;
+        }
+
+        int steps = (mPolicy == Policy.COALESCE) ? mPending : 1;
+        mPending -= steps;
+        mBusy = true;
+        startFlip(steps);
+    }
+
+    /**
+     * Forget pending requests, call when the running flip is cancelled.
+     */
+    public void clear() {
+        mPending = 0;
+        mBusy = false;
+    }
+
+    public boolean isBusy() {
+        return mBusy;
+    }
+
+    public int getPendingCount() {
+        return mPending;
+    }
+
+    public int getRequestCount() {
+        return mRequestCount;
+    }
+
+    public int getDroppedCount() {
+        return mDroppedCount;
+    }
+
+    public int getCoalescedCount() {
+        return mCoalescedCount;
+    }
+
+    /**
+     * @return Number of flips whose end was never reported and were timed out by a later request.
+     */
+    public int getTimeoutCount() {
+        return mTimeoutCount;
+    }
+
+    private void startFlip(int steps) {
+        long durationMsec = mFlipper.startFlip(steps);
+        mDeadlineNanos = System.nanoTime() + (durationMsec + WATCHDOG_MSEC) * NANOS_PER_MSEC;
+    }
+}
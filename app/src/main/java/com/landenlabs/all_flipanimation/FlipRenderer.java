@@ -0,0 +1,281 @@
+/*
+ * Copyright (c) 2026 Dennis Lang (LanDen Labs) landenlabs@gmail.com
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the
+ * following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT
+ * LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN
+ * NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * @author Dennis Lang
+ * @see https://LanDenLabs.com/
+ */
+
+
+package com.landenlabs.all_flipanimation;
+
+import android.animation.Animator;
+import android.animation.AnimatorListenerAdapter;
+import android.animation.ValueAnimator;
+import android.annotation.TargetApi;
+import android.graphics.Canvas;
+import android.graphics.ColorFilter;
+import android.graphics.PixelFormat;
+import android.graphics.RecordingCanvas;
+import android.graphics.RenderNode;
+import android.graphics.drawable.Drawable;
+import android.os.Build;
+import android.view.View;
+import android.view.animation.LinearInterpolator;
+import android.widget.ViewAnimator;
+
+/**
+ * {@link RenderNode} flip renderer for a {@link ViewAnimator}, API 29+.
+ * <p/>
+ * When a flip starts the from and to views are recorded once into render nodes, drawn by the
+ * {@code ViewAnimator}'s overlay. Each frame only sets rotation and translation on the nodes, the
+ * render thread applies the same camera transform as {@link ViewFlipFactory.FlipAnimation}
+ * (camera rotate, pivot, translate) without re-recording view content.
+ * <p/>
+ * A render node camera only moves along Z, so camera x,y offsets are not supported, see
+ * {@link #isSupported(float[])}. Use
+ * {@link ViewFlipFactory#flipTransition(FlipRenderer, ViewAnimator, ViewFlipFactory.FlipDirection, long, float[], int)}
+ * which falls back to the Camera {@link ViewFlipFactory.FlipAnimation} path. Must be used on the UI thread.
+ */
+@TargetApi(Build.VERSION_CODES.Q)
+public class FlipRenderer {
+
+    private final NodeDrawable mOutDrawable;
+    private final NodeDrawable mInDrawable;
+    private final ValueAnimator mAnimator = ValueAnimator.ofFloat(0, 1);
+    private FlipStats mStats;
+    private Runnable mEndAction;
+
+    private ViewAnimator mViewAnimator;
+    private View mToView;
+    private float mToAlpha;
+    private boolean mRunning = false;
+
+    /**
+     * @return true if render node flips are available on this device for the camera position.
+     */
+    public static boolean isSupported(float[] cameraPos) {
+        return Build.VERSION.SDK_INT >= Build.VERSION_CODES.Q
+            && cameraPos[0] == 0 && cameraPos[1] == 0;
+    }
+
+    public FlipRenderer() {
+        mOutDrawable = new NodeDrawable("flipOut");
+        mInDrawable = new NodeDrawable("flipIn");
+        mAnimator.setInterpolator(new LinearInterpolator());
+        mAnimator.addUpdateListener(new ValueAnimator.AnimatorUpdateListener() {
+            @Override
+            public void onAnimationUpdate(ValueAnimator animation) {
+                final FlipStats stats = mStats;
+                long workStart = (stats != null) ? stats.beginWork() : 0;
+                float fraction = animation.getAnimatedFraction();
+                mOutDrawable.update(fraction);
+                mInDrawable.update(fraction);
+                if (stats != null) {
+                    stats.endWork(workStart);
+                }
+            }
+        });
+        mAnimator.addListener(new AnimatorListenerAdapter() {
+            @Override
+            public void onAnimationEnd(Animator animation) {
+                finish(true);
+            }
+        });
+    }
+
+    public void setStats(FlipStats stats) {
+        mStats = stats;
+    }
+
+    /**
+     * Set action run when each flip ends.
+     */
+    public void setEndAction(Runnable endAction) {
+        mEndAction = endAction;
+    }
+
+    public Runnable getEndAction() {
+        return mEndAction;
+    }
+
+    public boolean isRunning() {
+        return mRunning;
+    }
+
+    /**
+     * Record both views and start flip, called by {@link ViewFlipFactory}.
+     */
+    void start(ViewAnimator viewAnimator, View fromView, View toView, int nextIndex,
+        FlipSetup setup, int dirSign, long duration, float[] cameraPos) {
+        if (mRunning) {
+            mAnimator.end();
+        }
+
+        int width = fromView.getWidth();
+        int height = fromView.getHeight();
+        if (toView.getWidth() != width || toView.getHeight() != height || toView.isLayoutRequested()) {
+            // Hidden children may never have been laid out, use from view's bounds.
+            toView.measure(View.MeasureSpec.makeMeasureSpec(width, View.MeasureSpec.EXACTLY),
+                View.MeasureSpec.makeMeasureSpec(height, View.MeasureSpec.EXACTLY));
+            toView.layout(fromView.getLeft(), fromView.getTop(), fromView.getRight(), fromView.getBottom());
+        }
+
+        mOutDrawable.record(fromView, fromView, setup.axis,
+            setup.inRotation, setup.inOriginF, setup.inPivotF, dirSign, cameraPos[2]);
+        mInDrawable.record(toView, fromView, setup.axis,
+            setup.outRotation, setup.outOriginF, setup.outPivotF, dirSign, cameraPos[2]);
+
+        // Swap in the real view now, keep it hidden until the flip ends.
+        mViewAnimator = viewAnimator;
+        mToView = toView;
+        mToAlpha = toView.getAlpha();
+        viewAnimator.setInAnimation(null);
+        viewAnimator.setOutAnimation(null);
+        viewAnimator.setDisplayedChild(nextIndex);
+        toView.setAlpha(0);
+
+        mOutDrawable.setBounds(0, 0, viewAnimator.getWidth(), viewAnimator.getHeight());
+        mInDrawable.setBounds(0, 0, viewAnimator.getWidth(), viewAnimator.getHeight());
+        mOutDrawable.update(0);
+        mInDrawable.update(0);
+        viewAnimator.getOverlay().add(mOutDrawable);
+        viewAnimator.getOverlay().add(mInDrawable);
+
+        if (mStats != null) {
+            mStats.beginFlip();
+        }
+        mRunning = true;
+        mAnimator.setDuration(duration);
+        mAnimator.start();
+    }
+
+    /**
+     * Stop a running flip without its end action, overlay drawables are released.
+     */
+    public void cancel() {
+        if (mRunning) {
+            finish(false);
+            mAnimator.cancel();
+        }
+    }
+
+    private void finish(boolean runEndAction) {
+        if (!mRunning) {
+            return;
+        }
+        mRunning = false;
+        mViewAnimator.getOverlay().remove(mOutDrawable);
+        mViewAnimator.getOverlay().remove(mInDrawable);
+        mOutDrawable.discard();
+        mInDrawable.discard();
+        mToView.setAlpha(mToAlpha);
+        mViewAnimator = null;
+        mToView = null;
+
+        if (runEndAction && mEndAction != null) {
+            mEndAction.run();
+        }
+    }
+
+    /**
+     * Draws one recorded view, per frame only rotation and translation change.
+     */
+    private static final class NodeDrawable extends Drawable {
+        private final RenderNode mNode;
+        private int mAxis;
+        private float mFromDegrees, mToDegrees;
+        private float mOriginXf, mOriginYf;
+        private int mDir;
+        private float mWidth, mHeight;
+
+        NodeDrawable(String name) {
+            mNode = new RenderNode(name);
+        }
+
+        /**
+         * Record {@code view} content placed at {@code bounds} position.
+         */
+        void record(View view, View bounds, int axis, float[] fromToDegrees, float[] originF, float[] pivotF,
+            int dir, float cameraZ) {
+            mAxis = axis;
+            mFromDegrees = fromToDegrees[0] * dir;
+            mToDegrees = fromToDegrees[1] * dir;
+            mOriginXf = originF[0];
+            mOriginYf = originF[1];
+            mDir = dir;
+            mWidth = bounds.getWidth();
+            mHeight = bounds.getHeight();
+
+            mNode.setPosition(bounds.getLeft(), bounds.getTop(), bounds.getRight(), bounds.getBottom());
+            mNode.setPivotX(FlipSetup.flipEdge(pivotF[0], dir) * mWidth);
+            mNode.setPivotY(FlipSetup.flipEdge(pivotF[1], dir) * mHeight);
+            // Camera z is negative (inches), render node wants a positive distance.
+            mNode.setCameraDistance(Math.abs(cameraZ));
+            mNode.setRotationX(0);
+            mNode.setRotationY(0);
+            mNode.setTranslationX(0);
+            mNode.setTranslationY(0);
+
+            RecordingCanvas canvas = mNode.beginRecording(bounds.getWidth(), bounds.getHeight());
+            try {
+                view.draw(canvas);
+            } finally {
+                mNode.endRecording();
+            }
+        }
+
+        /**
+         * Same transform as {@link ViewFlipFactory.FlipAnimation#sample}.
+         */
+        void update(float fraction) {
+            float degrees = mFromDegrees + ((mToDegrees - mFromDegrees) * fraction);
+            if (mAxis == FlipMatrix.ROTATION_X) {
+                mNode.setRotationX(degrees);
+                mNode.setTranslationY((fraction + mOriginYf) * mHeight * mDir);
+            } else {
+                mNode.setRotationY(degrees);
+                mNode.setTranslationX((fraction + mOriginXf) * mWidth * mDir);
+            }
+            invalidateSelf();
+        }
+
+        void discard() {
+            mNode.discardDisplayList();
+        }
+
+        @Override
+        public void draw(Canvas canvas) {
+            if (canvas.isHardwareAccelerated() && mNode.hasDisplayList()) {
+                canvas.drawRenderNode(mNode);
+            }
+        }
+
+        @Override
+        public void setAlpha(int alpha) {
+            mNode.setAlpha(alpha / 255.0f);
+        }
+
+        @Override
+        public void setColorFilter(ColorFilter colorFilter) {
+        }
+
+        @Override
+        public int getOpacity() {
+            return PixelFormat.TRANSLUCENT;
+        }
+    }
+}
@@ -0,0 +1,263 @@
+/*
+ * Copyright (c) 2026 Dennis Lang (LanDen Labs) landenlabs@gmail.com
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the
+ * following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT
+ * LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN
+ * NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * @author Dennis Lang
+ * @see https://LanDenLabs.com/
+ */
+
+
+package com.landenlabs.all_flipanimation;
+
+import android.animation.ValueAnimator;
+import android.util.Property;
+import android.view.animation.Animation;
+import android.view.animation.Transformation;
+
+/**
+ * Replays a flip against a virtual clock, no display or Choreographer required.
+ * <p/>
+ * Frame {@code n} is {@code n} refresh periods after the flip starts, rounded to milliseconds
+ * like the {@link Animation} clock, so a replay is deterministic for a given refresh rate and
+ * duration. Each step records the transform values and the CPU time ({@link System#nanoTime()})
+ * spent computing them into a {@link Trace}.
+ * <p/>
+ * A real {@link Animation} (ex: FlipAnimation and the Flip3dAnimation classes) is replayed through
+ * {@link Animation#getTransformation(long, Transformation)}, so each step includes the interpolator
+ * and {@code applyTransformation} cost. The transform math alone can be replayed from a
+ * {@link FlipKeyframes.Sampler}, as can the {@link FloatCurve} evaluators used by the
+ * ObjectAnimator demos, or a whole {@link ValueAnimator} including its interpolator and setter. Traces are reusable so thousands of flips can be replayed without allocation.
+ */
+public final class FlipReplay {
+
+    public static final float[] REFRESH_RATES = {30, 60, 90, 120, 240};
+
+    private static final long NANOS_PER_MSEC = 1000000L;
+
+    private final float mRefreshRate;
+    private final long mDurationMsec;
+    private final long mPeriodNanos;
+    private final int mFrameCount;
+
+    /**
+     * @param refreshRate  Virtual display refresh rate in Hz, zero or less uses 60Hz.
+     * @param durationMsec Flip duration in milliseconds.
+     */
+    public FlipReplay(float refreshRate, long durationMsec) {
+        mRefreshRate = (refreshRate > 0) ? refreshRate : FlipKeyframes.DEFAULT_REFRESH_RATE;
+        mDurationMsec = Math.max(1, durationMsec);
+        mPeriodNanos = (long) (1000000000L / mRefreshRate);
+        mFrameCount = FlipKeyframes.frameCount(durationMsec, mRefreshRate);
+    }
+
+    public float getRefreshRate() {
+        return mRefreshRate;
+    }
+
+    public int getFrameCount() {
+        return mFrameCount;
+    }
+
+    /**
+     * @return Milliseconds since flip start of frame on the virtual clock, rounded.
+     */
+    public long frameTimeMsec(int frame) {
+        return (frame * mPeriodNanos + NANOS_PER_MSEC / 2) / NANOS_PER_MSEC;
+    }
+
+    /**
+     * @return Animation fraction [0..1] of frame on the virtual clock, same as {@link Animation}.
+     */
+    public float fraction(int frame) {
+        return Math.min(1.0f, (float) frameTimeMsec(frame) / (float) mDurationMsec);
+    }
+
+    /**
+     * Replay animation into {@code trace}, one transformation matrix per frame.
+     * The animation is reset, given the replay duration and initialized with the view size.
+     * Runs on the calling thread, animation listeners are called as on the UI thread.
+     */
+    public Trace replay(Animation animation, int width, int height, Trace trace) {
+        trace.reset(mFrameCount, FlipKeyframes.VALUES);
+        final float[] scratch = trace.mScratch;
+        final Transformation transformation = trace.mTransformation;
+
+        animation.reset();
+        animation.setDuration(mDurationMsec);
+        animation.initialize(width, height, width, height);
+        animation.setStartTime(0);
+        for (int frame = 0; frame < mFrameCount; frame++) {
+            long timeMsec = frameTimeMsec(frame);
+            transformation.clear();
+            long start = System.nanoTime();
+            animation.getTransformation(timeMsec, transformation);
+            trace.mStepNanos[frame] = System.nanoTime() - start;
+            transformation.getMatrix().getValues(scratch);
+            System.arraycopy(scratch, 0, trace.mValues, frame * FlipKeyframes.VALUES, FlipKeyframes.VALUES);
+        }
+        return trace;
+    }
+
+    /**
+     * Replay sampler into a new trace.
+     */
+    public Trace replay(FlipKeyframes.Sampler sampler) {
+        return replay(sampler, new Trace());
+    }
+
+    /**
+     * Replay sampler into {@code trace}, reusing its storage.
+     */
+    public Trace replay(FlipKeyframes.Sampler sampler, Trace trace) {
+        trace.reset(mFrameCount, FlipKeyframes.VALUES);
+        final float[] scratch = trace.mScratch;
+        for (int frame = 0; frame < mFrameCount; frame++) {
+            long start = System.nanoTime();
+            sampler.sample(fraction(frame), scratch);
+            trace.mStepNanos[frame] = System.nanoTime() - start;
+            System.arraycopy(scratch, 0, trace.mValues, frame * FlipKeyframes.VALUES, FlipKeyframes.VALUES);
+        }
+        return trace;
+    }
+
+    /**
+     * Replay curve evaluator into {@code trace}, one value per frame.
+     */
+    public Trace replay(FloatCurve curve, float startValue, float endValue, Trace trace) {
+        trace.reset(mFrameCount, 1);
+        for (int frame = 0; frame < mFrameCount; frame++) {
+            long start = System.nanoTime();
+            float value = curve.evaluate(fraction(frame), startValue, endValue);
+            trace.mStepNanos[frame] = System.nanoTime() - start;
+            trace.mValues[frame] = value;
+        }
+        return trace;
+    }
+
+    /**
+     * Replay value animator (ex: an ObjectAnimator or {@link FloatFlipAnimator#getAnimator()}) into
+     * {@code trace}, one property value per frame. Each step runs the animator's interpolator,
+     * evaluator and setter through {@link ValueAnimator#setCurrentFraction(float)}.
+     */
+    public <T> Trace replay(ValueAnimator animator, T target, Property<T, Float> property, Trace trace) {
+        trace.reset(mFrameCount, 1);
+        animator.setDuration(mDurationMsec);
+        for (int frame = 0; frame < mFrameCount; frame++) {
+            long start = System.nanoTime();
+            animator.setCurrentFraction(fraction(frame));
+            trace.mStepNanos[frame] = System.nanoTime() - start;
+            trace.mValues[frame] = property.get(target);
+        }
+        return trace;
+    }
+
+    /**
+     * Transform sequence and per-step cost of one replay.
+     */
+    public static final class Trace {
+        private final float[] mScratch = new float[FlipKeyframes.VALUES];
+        private final Transformation mTransformation = new Transformation();
+        private float[] mValues = new float[0];
+        private long[] mStepNanos = new long[0];
+        private int mFrameCount;
+        private int mStride;
+
+        void reset(int frameCount, int stride) {
+            if (mValues.length < frameCount * stride) {
+                mValues = new float[frameCount * stride];
+            }
+            if (mStepNanos.length < frameCount) {
+                mStepNanos = new long[frameCount];
+            }
+            mFrameCount = frameCount;
+            mStride = stride;
+        }
+
+        public int getFrameCount() {
+            return mFrameCount;
+        }
+
+        /**
+         * @return Values per frame, 9 for samplers, 1 for curves.
+         */
+        public int getStride() {
+            return mStride;
+        }
+
+        public float getValue(int frame, int index) {
+            return mValues[frame * mStride + index];
+        }
+
+        public long getStepNanos(int frame) {
+            return mStepNanos[frame];
+        }
+
+        public long getTotalNanos() {
+            long total = 0;
+            for (int frame = 0; frame < mFrameCount; frame++) {
+                total += mStepNanos[frame];
+            }
+            return total;
+        }
+
+        public long getMaxStepNanos() {
+            long max = 0;
+            for (int frame = 0; frame < mFrameCount; frame++) {
+                max = Math.max(max, mStepNanos[frame]);
+            }
+            return max;
+        }
+
+        /**
+         * Largest frame to frame change of value {@code index}.
+         */
+        public float maxStep(int index) {
+            float max = 0;
+            for (int frame = 1; frame < mFrameCount; frame++) {
+                max = Math.max(max, Math.abs(getValue(frame, index) - getValue(frame - 1, index)));
+            }
+            return max;
+        }
+
+        /**
+         * Largest second difference of value {@code index}, a smoothness measure. A value moving at
+         * constant speed has zero, a hitch or jump shows up as a spike.
+         */
+        public float maxJerk(int index) {
+            float max = 0;
+            for (int frame = 1; frame < mFrameCount - 1; frame++) {
+                float jerk = getValue(frame + 1, index) - 2 * getValue(frame, index) + getValue(frame - 1, index);
+                max = Math.max(max, Math.abs(jerk));
+            }
+            return max;
+        }
+
+        /**
+         * Largest absolute difference to another trace with the same frame count and stride,
+         * or {@link Float#POSITIVE_INFINITY} if they do not match.
+         */
+        public float maxDifference(Trace other) {
+            if (other.mFrameCount != mFrameCount || other.mStride != mStride) {
+                return Float.POSITIVE_INFINITY;
+            }
+            float max = 0;
+            for (int idx = 0; idx < mFrameCount * mStride; idx++) {
+                max = Math.max(max, Math.abs(mValues[idx] - other.mValues[idx]));
+            }
+            return max;
+        }
+    }
+}
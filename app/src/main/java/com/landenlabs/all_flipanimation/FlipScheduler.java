@@ -0,0 +1,222 @@
+/*
+ * Copyright (c) 2026 Dennis Lang (LanDen Labs) landenlabs@gmail.com
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the
+ * following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT
+ * LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN
+ * NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * @author Dennis Lang
+ * @see https://LanDenLabs.com/
+ */
+
+
+package com.landenlabs.all_flipanimation;
+
+import android.animation.Animator;
+import android.animation.AnimatorListenerAdapter;
+import android.view.Choreographer;
+import android.view.animation.Animation;
+
+/**
+ * Vsync aligned auto-flip scheduler, replaces {@code Handler.postDelayed} flip loops.
+ * <p/>
+ * Each flip is started from a {@link Choreographer} frame callback so it begins on a frame boundary.
+ * The next flip is chained off the real end of the current flip (reported with {@link #onFlipEnd()}
+ * or one of the end listeners) plus a configurable gap. Start times are kept on an absolute
+ * schedule, so rounding to frame boundaries never accumulates into drift on long runs. A flip which
+ * ends late pushes the schedule back instead of overlapping the next flip.
+ * <p/>
+ * Must be created and used on the UI thread.
+ */
+public class FlipScheduler implements Choreographer.FrameCallback {
+
+    /**
+     * Starts one flip.
+     */
+    public interface Flipper {
+        /**
+         * Start a flip and report its end with {@link FlipScheduler#onFlipEnd()}.
+         *
+         * @return Flip duration in milliseconds.
+         */
+        long startFlip();
+    }
+
+    private static final long NANOS_PER_MSEC = 1000000L;
+    private static final long DEFAULT_FRAME_NANOS = 16666667L;      // 60Hz until refresh rate is set.
+    private static final long WATCHDOG_NANOS = 500 * NANOS_PER_MSEC;
+
+    private final Flipper mFlipper;
+    private final Choreographer mChoreographer = Choreographer.getInstance();
+    private long mGapNanos = 0;
+    private long mFrameNanos = DEFAULT_FRAME_NANOS;   // Display frame period, used to round to frames.
+    private boolean mRunning = false;
+    private boolean mFlipping = false;
+    private long mScheduledNanos = 0;       // Target start of current or next flip, 0 = next frame
+    private long mFlipDurationNanos = 0;
+
+    private final Animator.AnimatorListener mAnimatorListener = new AnimatorListenerAdapter() {
+        private Animator mCancelled;
+
+        @Override
+        public void onAnimationCancel(Animator animation) {
+            mCancelled = animation;
+        }
+
+        @Override
+        public void onAnimationEnd(Animator animation) {
+            // Animator reports end after cancel, a cancelled flip is replaced not finished.
+            if (animation == mCancelled) {
+                mCancelled = null;
+                return;
+            }
+            onFlipEnd();
+        }
+    };
+
+    private final Animation.AnimationListener mAnimationListener = new Animation.AnimationListener() {
+        @Override public void onAnimationStart(Animation animation) { }
+        @Override public void onAnimationEnd(Animation animation) {
+            onFlipEnd();
+        }
+        @Override public void onAnimationRepeat(Animation animation) { }
+    };
+
+    public FlipScheduler(Flipper flipper) {
+        mFlipper = flipper;
+    }
+
+    /**
+     * @param gapMsec Idle time between end of one flip and start of the next.
+     */
+    public void setGapMsec(long gapMsec) {
+        mGapNanos = Math.max(0, gapMsec) * NANOS_PER_MSEC;
+    }
+
+    /**
+     * Set display refresh rate used to align flips to frames, ignored if not positive.
+     */
+    public void setRefreshRate(float refreshRate) {
+        if (refreshRate > 0) {
+            mFrameNanos = (long) (1000000000L / refreshRate);
+        }
+    }
+
+    public boolean isRunning() {
+        return mRunning;
+    }
+
+    /**
+     * Start auto flipping, first flip starts on the next frame.
+     */
+    public void start() {
+        start(0);
+    }
+
+    /**
+     * Start auto flipping, first flip starts after {@code delayMsec}.
+     */
+    public void start(long delayMsec) {
+        stop();
+        mRunning = true;
+        if (delayMsec > 0) {
+            long now = System.nanoTime();
+            mScheduledNanos = now + delayMsec * NANOS_PER_MSEC;
+            postAt(now, mScheduledNanos);
+        } else {
+            mScheduledNanos = 0;
+            mChoreographer.postFrameCallback(this);
+        }
+    }
+
+    public void stop() {
+        mRunning = false;
+        mFlipping = false;
+        mChoreographer.removeFrameCallback(this);
+    }
+
+    /**
+     * Listener which reports end of flip for {@link android.animation.Animator} based flips.
+     */
+    public Animator.AnimatorListener getAnimatorListener() {
+        return mAnimatorListener;
+    }
+
+    /**
+     * Listener which reports end of flip for {@link Animation} based flips.
+     */
+    public Animation.AnimationListener getAnimationListener() {
+        return mAnimationListener;
+    }
+
+    /**
+     * Report end of current flip, schedules the next one.
+     */
+    public void onFlipEnd() {
+        if (!mRunning || !mFlipping) {
+            return;
+        }
+        mFlipping = false;
+
+        long plannedEnd = mScheduledNanos + mFlipDurationNanos;
+        long now = System.nanoTime();   // Same time base as Choreographer frame time.
+        // Stay on schedule unless flip finished more than a frame late.
+        long end = (now - plannedEnd > mFrameNanos) ? now : plannedEnd;
+        mScheduledNanos = end + mGapNanos;
+        postAt(now, mScheduledNanos);
+    }
+
+    @Override
+    public void doFrame(long frameTimeNanos) {
+        if (!mRunning) {
+            return;
+        }
+
+        if (mFlipping) {
+            // Watchdog in case the flip end is never reported.
+            if (frameTimeNanos >= mScheduledNanos + mFlipDurationNanos + WATCHDOG_NANOS) {
+                mFlipping = false;
+                mScheduledNanos = frameTimeNanos;
+            } else {
+                postAt(frameTimeNanos, mScheduledNanos + mFlipDurationNanos + WATCHDOG_NANOS);
+                return;
+            }
+        }
+
+        if (mScheduledNanos == 0) {
+            mScheduledNanos = frameTimeNanos;
+        }
+
+        // Start on the frame nearest to the scheduled time.
+        if (frameTimeNanos + mFrameNanos / 2 >= mScheduledNanos) {
+            mFlipping = true;
+            mFlipDurationNanos = mFlipper.startFlip() * NANOS_PER_MSEC;
+            postAt(frameTimeNanos, mScheduledNanos + mFlipDurationNanos + WATCHDOG_NANOS);
+        } else {
+            postAt(frameTimeNanos, mScheduledNanos);
+        }
+    }
+
+    /**
+     * Post frame callback for the frame just before {@code targetNanos}.
+     */
+    private void postAt(long nowNanos, long targetNanos) {
+        mChoreographer.removeFrameCallback(this);
+        long delayMsec = (targetNanos - nowNanos - mFrameNanos) / NANOS_PER_MSEC;
+        if (delayMsec > 0) {
+            mChoreographer.postFrameCallbackDelayed(this, delayMsec);
+        } else {
+            mChoreographer.postFrameCallback(this);
+        }
+    }
+}
@@ -0,0 +1,74 @@
+/*
+ * Copyright (c) 2026 Dennis Lang (LanDen Labs) landenlabs@gmail.com
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the
+ * following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT
+ * LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN
+ * NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * @author Dennis Lang
+ * @see https://LanDenLabs.com/
+ */
+
+
+package com.landenlabs.all_flipanimation;
+
+/**
+ * Fixed flip parameters for the out-going and in-coming view of a flip transition.
+ * <p/>
+ * There are only two parameter sets, vertical (rotate about X) and horizontal (rotate about Y).
+ * Direction is applied by {@link ViewFlipFactory.FlipAnimation} with its dir sign, so the presets are
+ * shared and nothing is allocated per flip. Arrays are read only.
+ */
+public final class FlipSetup {
+
+    public static final FlipSetup VERTICAL = new FlipSetup(FlipMatrix.ROTATION_X,
+        new float[]{0, -90}, new float[]{90, 0},
+        new float[]{0, 0}, new float[]{0, -1},
+        new float[]{0.5f, 0}, new float[]{0.5f, 1});
+
+    public static final FlipSetup HORIZONTAL = new FlipSetup(FlipMatrix.ROTATION_Y,
+        new float[]{0, 90}, new float[]{-90, 0},
+        new float[]{0, 0}, new float[]{-1, 0},
+        new float[]{0, 0.5f}, new float[]{1, 0.5f});
+
+    public final int axis;
+    public final float[] inRotation, outRotation;   // Rotation from -> to
+    public final float[] inOriginF, outOriginF;     // Origin (fraction of view dimensions)
+    public final float[] inPivotF, outPivotF;       // Pivot (fraction of view dimensions)
+
+    private FlipSetup(int axis, float[] inRotation, float[] outRotation,
+        float[] inOriginF, float[] outOriginF, float[] inPivotF, float[] outPivotF) {
+        this.axis = axis;
+        this.inRotation = inRotation;
+        this.outRotation = outRotation;
+        this.inOriginF = inOriginF;
+        this.outOriginF = outOriginF;
+        this.inPivotF = inPivotF;
+        this.outPivotF = outPivotF;
+    }
+
+    /**
+     * @param vertical true for top/bottom flips (rotate about X), false for left/right (rotate about Y).
+     */
+    public static FlipSetup get(boolean vertical) {
+        return vertical ? VERTICAL : HORIZONTAL;
+    }
+
+    /**
+     * Flip edge (ex: 0->1  1->0 0.5 -> 0.5) with dir set to 1 or -1, used to orient pivot fractions.
+     */
+    public static float flipEdge(float value, int dir) {
+        int n = (1 - dir) / 2; // 0 or 1
+        return value * dir + n;
+    }
+}
@@ -0,0 +1,339 @@
+/*
+ * Copyright (c) 2026 Dennis Lang (LanDen Labs) landenlabs@gmail.com
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the
+ * following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT
+ * LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN
+ * NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * @author Dennis Lang
+ * @see https://LanDenLabs.com/
+ */
+
+
+package com.landenlabs.all_flipanimation;
+
+import android.animation.Animator;
+import android.animation.AnimatorListenerAdapter;
+import android.animation.ValueAnimator;
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.ColorFilter;
+import android.graphics.Matrix;
+import android.graphics.Paint;
+import android.graphics.PixelFormat;
+import android.graphics.Rect;
+import android.graphics.RectF;
+import android.graphics.drawable.Drawable;
+import android.view.View;
+import android.view.animation.LinearInterpolator;
+import android.widget.ViewAnimator;
+
+/**
+ * Bitmap snapshot flip for a {@link ViewAnimator}.
+ * <p/>
+ * When a flip starts the from and to views are drawn once into (optionally downscaled) bitmaps
+ * taken from a {@link BitmapPool}. The {@code ViewAnimator} switches to the to view right away,
+ * hidden, and its overlay draws the two bitmaps with the same camera transforms as
+ * {@link ViewFlipFactory.FlipAnimation}. Each frame costs two bitmap draws no matter how complex
+ * the flipped views are. The real to view is shown when the flip ends. With a
+ * {@link SnapshotCache} unchanged views are not captured again.
+ * <p/>
+ * Use {@link ViewFlipFactory#flipTransition(FlipSnapshot, ViewAnimator, ViewFlipFactory.FlipDirection, long, float[], int)}
+ * to start a flip. Must be used on the UI thread.
+ */
+public class FlipSnapshot {
+
+    public static final float DEFAULT_SCALE = 1.0f;
+
+    private final BitmapPool mPool;
+    private final SnapshotDrawable mOutDrawable = new SnapshotDrawable();
+    private final SnapshotDrawable mInDrawable = new SnapshotDrawable();
+    private final ValueAnimator mAnimator = ValueAnimator.ofFloat(0, 1);
+    private final Canvas mCanvas = new Canvas();
+    private float mScale = DEFAULT_SCALE;
+    private SnapshotCache mCache;
+    private SnapshotCache mPinCache;    // Cache holding pins of running flip
+    private boolean mSnapshotCached;
+    private FlipStats mStats;
+    private Runnable mEndAction;
+
+    private ViewAnimator mViewAnimator;
+    private View mToView;
+    private float mToAlpha;
+    private boolean mRunning = false;
+
+    public FlipSnapshot(BitmapPool pool) {
+        mPool = pool;
+        mAnimator.setInterpolator(new LinearInterpolator());
+        mAnimator.addUpdateListener(new ValueAnimator.AnimatorUpdateListener() {
+            @Override
+            public void onAnimationUpdate(ValueAnimator animation) {
+                final FlipStats stats = mStats;
+                long workStart = (stats != null) ? stats.beginWork() : 0;
+                float fraction = animation.getAnimatedFraction();
+                mOutDrawable.update(fraction);
+                mInDrawable.update(fraction);
+                if (stats != null) {
+                    stats.endWork(workStart);
+                }
+            }
+        });
+        mAnimator.addListener(new AnimatorListenerAdapter() {
+            @Override
+            public void onAnimationEnd(Animator animation) {
+                finish(true);
+            }
+        });
+    }
+
+    /**
+     * Set snapshot downscale factor (0..1], 0.5 captures at half width and height.
+     */
+    public void setScale(float scale) {
+        mScale = Math.max(0.05f, Math.min(1.0f, scale));
+    }
+
+    public float getScale() {
+        return mScale;
+    }
+
+    /**
+     * Reuse unchanged view snapshots across flips, null to capture every flip.
+     */
+    public void setCache(SnapshotCache cache) {
+        mCache = cache;
+    }
+
+    public void setStats(FlipStats stats) {
+        mStats = stats;
+    }
+
+    /**
+     * Set action run when each flip ends.
+     */
+    public void setEndAction(Runnable endAction) {
+        mEndAction = endAction;
+    }
+
+    public boolean isRunning() {
+        return mRunning;
+    }
+
+    /**
+     * Snapshot both views and start flip, called by {@link ViewFlipFactory}.
+     */
+    void start(ViewAnimator viewAnimator, View fromView, View toView, int nextIndex,
+        FlipSetup setup, int dirSign, long duration, float[] cameraPos) {
+        if (mRunning) {
+            mAnimator.end();
+        }
+
+        int width = fromView.getWidth();
+        int height = fromView.getHeight();
+        if (toView.getWidth() != width || toView.getHeight() != height || toView.isLayoutRequested()) {
+            // Hidden children may never have been laid out, use from view's bounds.
+            toView.measure(View.MeasureSpec.makeMeasureSpec(width, View.MeasureSpec.EXACTLY),
+                View.MeasureSpec.makeMeasureSpec(height, View.MeasureSpec.EXACTLY));
+            toView.layout(fromView.getLeft(), fromView.getTop(), fromView.getRight(), fromView.getBottom());
+        }
+
+        // Pin cached snapshots so caching the next one cannot evict a bitmap the flip draws.
+        mPinCache = mCache;
+        Bitmap outBitmap = snapshot(fromView, width, height);
+        mOutDrawable.set(outBitmap, mSnapshotCached, fromView, setup.axis,
+            setup.inRotation, setup.inOriginF, setup.inPivotF, dirSign, cameraPos);
+        if (mSnapshotCached) {
+            mPinCache.pin(outBitmap);
+        }
+        Bitmap inBitmap = snapshot(toView, width, height);
+        mInDrawable.set(inBitmap, mSnapshotCached, fromView, setup.axis,
+            setup.outRotation, setup.outOriginF, setup.outPivotF, dirSign, cameraPos);
+        if (mSnapshotCached) {
+            mPinCache.pin(inBitmap);
+        }
+
+        // Swap in the real view now, keep it hidden until the flip ends.
+        mViewAnimator = viewAnimator;
+        mToView = toView;
+        mToAlpha = toView.getAlpha();
+        viewAnimator.setInAnimation(null);
+        viewAnimator.setOutAnimation(null);
+        viewAnimator.setDisplayedChild(nextIndex);
+        toView.setAlpha(0);
+
+        mOutDrawable.setBounds(0, 0, viewAnimator.getWidth(), viewAnimator.getHeight());
+        mInDrawable.setBounds(0, 0, viewAnimator.getWidth(), viewAnimator.getHeight());
+        mOutDrawable.update(0);
+        mInDrawable.update(0);
+        viewAnimator.getOverlay().add(mOutDrawable);
+        viewAnimator.getOverlay().add(mInDrawable);
+
+        if (mStats != null) {
+            mStats.beginFlip();
+        }
+        mRunning = true;
+        mAnimator.setDuration(duration);
+        mAnimator.start();
+    }
+
+    /**
+     * Get view's cached snapshot or draw view into a pooled bitmap scaled by {@link #getScale()}.
+     * Sets {@code mSnapshotCached} if the cache owns the returned bitmap.
+     */
+    Bitmap snapshot(View view, int width, int height) {
+        int bmWidth = Math.max(1, Math.round(width * mScale));
+        int bmHeight = Math.max(1, Math.round(height * mScale));
+        int version = SnapshotCache.getContentVersion(view);
+        Bitmap bitmap = (mCache != null) ? mCache.get(view, version, bmWidth, bmHeight) : null;
+        if (bitmap != null) {
+            mSnapshotCached = true;
+            return bitmap;
+        }
+
+        bitmap = mPool.acquire(bmWidth, bmHeight);
+        mCanvas.setBitmap(bitmap);
+        int saveCount = mCanvas.save();
+        mCanvas.scale(bmWidth / (float) width, bmHeight / (float) height);
+        view.draw(mCanvas);
+        mCanvas.restoreToCount(saveCount);
+        mCanvas.setBitmap(null);
+        mSnapshotCached = (mCache != null) && mCache.put(view, version, bitmap);
+        return bitmap;
+    }
+
+    /**
+     * Stop a running flip without its end action, overlay drawables are released.
+     */
+    public void cancel() {
+        if (mRunning) {
+            finish(false);
+            mAnimator.cancel();
+        }
+    }
+
+    private void finish(boolean runEndAction) {
+        if (!mRunning) {
+            return;
+        }
+        mRunning = false;
+        mViewAnimator.getOverlay().remove(mOutDrawable);
+        mViewAnimator.getOverlay().remove(mInDrawable);
+        mOutDrawable.release(mPool, mPinCache);
+        mInDrawable.release(mPool, mPinCache);
+        mPinCache = null;
+        mToView.setAlpha(mToAlpha);
+        mViewAnimator = null;
+        mToView = null;
+
+        if (runEndAction && mEndAction != null) {
+            mEndAction.run();
+        }
+    }
+
+    /**
+     * Draws one snapshot with a flip camera transform.
+     */
+    private static final class SnapshotDrawable extends Drawable {
+        private final Paint mPaint = new Paint(Paint.FILTER_BITMAP_FLAG);
+        private final Matrix mMatrix = new Matrix();
+        private final float[] mValues = new float[FlipKeyframes.VALUES];
+        private final Rect mSrc = new Rect();
+        private final RectF mDst = new RectF();
+        private Bitmap mBitmap;
+        private boolean mCached;    // Bitmap owned by SnapshotCache
+
+        private int mAxis;
+        private float mFromDegrees, mToDegrees;
+        private float mOriginXf, mOriginYf;
+        private float mPivotXf, mPivotYf;
+        private int mDir;
+        private float mLeft, mTop, mWidth, mHeight;
+        private float[] mCameraPos;
+
+        void set(Bitmap bitmap, boolean cached, View bounds, int axis, float[] fromToDegrees, float[] originF, float[] pivotF,
+            int dir, float[] cameraPos) {
+            mBitmap = bitmap;
+            mCached = cached;
+            mSrc.set(0, 0, bitmap.getWidth(), bitmap.getHeight());
+            mDst.set(0, 0, bounds.getWidth(), bounds.getHeight());
+            mAxis = axis;
+            mFromDegrees = fromToDegrees[0] * dir;
+            mToDegrees = fromToDegrees[1] * dir;
+            mOriginXf = originF[0];
+            mOriginYf = originF[1];
+            mPivotXf = FlipSetup.flipEdge(pivotF[0], dir);
+            mPivotYf = FlipSetup.flipEdge(pivotF[1], dir);
+            mDir = dir;
+            mLeft = bounds.getLeft();
+            mTop = bounds.getTop();
+            mWidth = bounds.getWidth();
+            mHeight = bounds.getHeight();
+            mCameraPos = cameraPos;
+        }
+
+        /**
+         * Drop bitmap, returning it to the pool or unpinning it if the cache owns it.
+         */
+        void release(BitmapPool pool, SnapshotCache cache) {
+            if (mCached) {
+                cache.unpin(mBitmap);
+            } else {
+                pool.release(mBitmap);
+            }
+            mBitmap = null;
+        }
+
+        /**
+         * Same transform as {@link ViewFlipFactory.FlipAnimation#sample}, offset to the view's position.
+         */
+        void update(float fraction) {
+            float degrees = mFromDegrees + ((mToDegrees - mFromDegrees) * fraction);
+            float transX = mLeft;
+            float transY = mTop;
+            if (mAxis == FlipMatrix.ROTATION_X) {
+                transY += (fraction + mOriginYf) * mHeight * mDir;
+            } else {
+                transX += (fraction + mOriginXf) * mWidth * mDir;
+            }
+            FlipMatrix.flip(mValues, mAxis, degrees, mCameraPos[0], mCameraPos[1], mCameraPos[2],
+                mPivotXf * mWidth, mPivotYf * mHeight, transX, transY);
+            mMatrix.setValues(mValues);
+            invalidateSelf();
+        }
+
+        @Override
+        public void draw(Canvas canvas) {
+            if (mBitmap != null) {
+                int saveCount = canvas.save();
+                canvas.concat(mMatrix);
+                canvas.drawBitmap(mBitmap, mSrc, mDst, mPaint);
+                canvas.restoreToCount(saveCount);
+            }
+        }
+
+        @Override
+        public void setAlpha(int alpha) {
+            mPaint.setAlpha(alpha);
+        }
+
+        @Override
+        public void setColorFilter(ColorFilter colorFilter) {
+            mPaint.setColorFilter(colorFilter);
+        }
+
+        @Override
+        public int getOpacity() {
+            return PixelFormat.TRANSLUCENT;
+        }
+    }
+}
@@ -0,0 +1,258 @@
+/*
+ * Copyright (c) 2026 Dennis Lang (LanDen Labs) landenlabs@gmail.com
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the
+ * following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT
+ * LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN
+ * NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * @author Dennis Lang
+ * @see https://LanDenLabs.com/
+ */
+
+
+package com.landenlabs.all_flipanimation;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Per technique frame-time and jank statistics.
+ * <p/>
+ * Each flip technique owns one fixed-size instance. Recording is a few atomic increments with no
+ * locks or allocation, so it is left on in release builds. Frame intervals and the time spent
+ * computing transforms (applyTransformation, evaluators, engine frame) go into fixed bucket
+ * histograms; late frames (interval over 1.5 refresh periods) and the number of missed vsyncs are
+ * counted. Use {@link #exportCsvAsync(File)} to write a run to app storage off the UI thread.
+ * <p/>
+ * Calls made within a quarter refresh period of each other (ex: in and out animation of the same
+ * frame) count as one frame.
+ */
+public final class FlipStats {
+
+    // ---- Techniques, same order as MainActivity ----
+    public static final int VIEW_FLIPPER = 0;
+    public static final int ROT_ANIMATION = 1;
+    public static final int ROT_ANIM_COMP = 2;
+    public static final int OBJ_ANIM_IMG = 3;
+    public static final int OBJ_ANIM_VIEW = 4;
+    public static final int OBJ_ANIM_LIST_R = 5;
+    public static final int OBJ_ANIM_LIST_RT = 6;
+    public static final int FLIP_SURFACE = 7;
+    private static final String[] NAMES = {
+        "ViewFlipper", "RotAnimation", "RotAnimComp", "ObjAnimImg", "ObjAnimView", "ObjAnimListR", "ObjAnimListRT", "FlipSurface"
+    };
+    private static final FlipStats[] STATS = new FlipStats[NAMES.length];
+
+    static {
+        for (int idx = 0; idx < STATS.length; idx++) {
+            STATS[idx] = new FlipStats(NAMES[idx]);
+        }
+    }
+
+    public static volatile boolean sEnabled = true;
+
+    // Serial, so exports of the same technique never overlap.
+    private static final Executor EXPORT_EXECUTOR = Executors.newSingleThreadExecutor();
+
+    // ---- Histogram layout ----
+    public static final int BUCKETS = 64;                        // Last bucket is overflow.
+    public static final long FRAME_BUCKET_NANOS = 500000L;      // 0.5 msec
+    public static final long WORK_BUCKET_NANOS = 10000L;        // 10 usec
+
+    // ---- Counters ----
+    private static final int C_FLIPS = 0;
+    private static final int C_FRAMES = 1;
+    private static final int C_LATE = 2;
+    private static final int C_DROPPED = 3;
+    private static final int C_WORK_CALLS = 4;
+    private static final int C_WORK_NANOS = 5;
+    private static final String[] COUNTER_NAMES = {"flips", "frames", "late", "dropped", "work_calls", "work_nanos"};
+
+    private final String mName;
+    private final AtomicIntegerArray mFrameHist = new AtomicIntegerArray(BUCKETS);
+    private final AtomicIntegerArray mWorkHist = new AtomicIntegerArray(BUCKETS);
+    private final AtomicLongArray mCounters = new AtomicLongArray(COUNTER_NAMES.length);
+    private volatile long mFramePeriodNanos = (long) (1000000000L / FlipKeyframes.DEFAULT_REFRESH_RATE);
+    private volatile long mLastFrameNanos;     // 0 = no frame yet in this flip
+
+    private FlipStats(String name) {
+        mName = name;
+    }
+
+    /**
+     * @param technique One of {@link #VIEW_FLIPPER} .. {@link #FLIP_SURFACE}
+     */
+    public static FlipStats get(int technique) {
+        return STATS[technique];
+    }
+
+    public String getName() {
+        return mName;
+    }
+
+    /**
+     * Set display refresh rate used to detect late frames, ignored if not positive.
+     */
+    public void setRefreshRate(float refreshRate) {
+        if (refreshRate > 0) {
+            mFramePeriodNanos = (long) (1000000000L / refreshRate);
+        }
+    }
+
+    /**
+     * Mark start of a flip, the gap since the previous flip is not a frame interval.
+     */
+    public void beginFlip() {
+        mLastFrameNanos = 0;
+        if (sEnabled) {
+            mCounters.incrementAndGet(C_FLIPS);
+        }
+    }
+
+    /**
+     * Record a frame at {@code frameNanos} ({@link System#nanoTime()} time base).
+     */
+    public void onFrame(long frameNanos) {
+        if (!sEnabled) {
+            return;
+        }
+        long last = mLastFrameNanos;
+        long period = mFramePeriodNanos;
+        if (last != 0) {
+            long interval = frameNanos - last;
+            if (interval < period / 4) {
+                return;     // Same frame.
+            }
+            add(mFrameHist, interval / FRAME_BUCKET_NANOS);
+            if (interval * 2 > period * 3) {
+                mCounters.incrementAndGet(C_LATE);
+                mCounters.addAndGet(C_DROPPED, (interval + period / 2) / period - 1);
+            }
+        }
+        mCounters.incrementAndGet(C_FRAMES);
+        mLastFrameNanos = frameNanos;
+    }
+
+    /**
+     * Record a frame now and return start time for {@link #endWork(long)}.
+     */
+    public long beginWork() {
+        long now = System.nanoTime();
+        onFrame(now);
+        return now;
+    }
+
+    /**
+     * Record time spent computing a transform since {@code startNanos}.
+     */
+    public void endWork(long startNanos) {
+        if (!sEnabled) {
+            return;
+        }
+        long nanos = System.nanoTime() - startNanos;
+        add(mWorkHist, nanos / WORK_BUCKET_NANOS);
+        mCounters.incrementAndGet(C_WORK_CALLS);
+        mCounters.addAndGet(C_WORK_NANOS, nanos);
+    }
+
+    public long getFrameCount() {
+        return mCounters.get(C_FRAMES);
+    }
+
+    public long getLateCount() {
+        return mCounters.get(C_LATE);
+    }
+
+    public long getDroppedCount() {
+        return mCounters.get(C_DROPPED);
+    }
+
+    public void reset() {
+        for (int idx = 0; idx < BUCKETS; idx++) {
+            mFrameHist.set(idx, 0);
+            mWorkHist.set(idx, 0);
+        }
+        for (int idx = 0; idx < mCounters.length(); idx++) {
+            mCounters.set(idx, 0);
+        }
+        mLastFrameNanos = 0;
+    }
+
+    /**
+     * Run {@link #exportCsv(File)} on a background thread, use from UI callbacks such as onDestroy.
+     */
+    public void exportCsvAsync(final File dir) {
+        EXPORT_EXECUTOR.execute(new Runnable() {
+            @Override
+            public void run() {
+                exportCsv(dir);
+            }
+        });
+    }
+
+    /**
+     * Write counters and histograms as CSV to {@code dir/flipstats_<name>.csv}, reset once written.
+     * Rows are: technique,metric,lo_usec,hi_usec,count  (lo/hi empty for counters).
+     * Does file I/O on the calling thread, see {@link #exportCsvAsync(File)}.
+     *
+     * @return output file or null on error, stats are kept on error.
+     */
+    public File exportCsv(File dir) {
+        File file = new File(dir, "flipstats_" + mName + ".csv");
+        PrintWriter out = null;
+        try {
+            out = new PrintWriter(new FileWriter(file));
+            writeCsv(out);
+            if (out.checkError()) {
+                return null;
+            }
+            reset();
+            return file;
+        } catch (IOException ex) {
+            return null;
+        } finally {
+            if (out != null) {
+                out.close();
+            }
+        }
+    }
+
+    public void writeCsv(PrintWriter out) {
+        out.println("technique,metric,lo_usec,hi_usec,count");
+        for (int idx = 0; idx < COUNTER_NAMES.length; idx++) {
+            out.println(mName + "," + COUNTER_NAMES[idx] + ",,," + mCounters.get(idx));
+        }
+        writeHistogram(out, "frame", mFrameHist, FRAME_BUCKET_NANOS);
+        writeHistogram(out, "work", mWorkHist, WORK_BUCKET_NANOS);
+    }
+
+    private void writeHistogram(PrintWriter out, String metric, AtomicIntegerArray hist, long bucketNanos) {
+        for (int idx = 0; idx < BUCKETS; idx++) {
+            int count = hist.get(idx);
+            if (count != 0) {
+                String hi = (idx == BUCKETS - 1) ? "" : String.valueOf((idx + 1) * bucketNanos / 1000.0);
+                out.println(mName + "," + metric + "," + (idx * bucketNanos / 1000.0) + "," + hi + "," + count);
+            }
+        }
+    }
+
+    private static void add(AtomicIntegerArray hist, long bucket) {
+        hist.incrementAndGet((int) Math.min(Math.max(bucket, 0), BUCKETS - 1));
+    }
+}
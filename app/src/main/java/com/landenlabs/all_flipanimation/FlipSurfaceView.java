@@ -0,0 +1,515 @@
+/*
+ * Copyright (c) 2026 Dennis Lang (LanDen Labs) landenlabs@gmail.com
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the
+ * following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT
+ * LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN
+ * NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * @author Dennis Lang
+ * @see https://LanDenLabs.com/
+ */
+
+
+package com.landenlabs.all_flipanimation;
+
+import android.content.Context;
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.Color;
+import android.graphics.Matrix;
+import android.graphics.Paint;
+import android.os.Handler;
+import android.os.HandlerThread;
+import android.os.Looper;
+import android.util.AttributeSet;
+import android.view.Choreographer;
+import android.view.SurfaceHolder;
+import android.view.SurfaceView;
+
+import com.landenlabs.all_flipanimation.ViewFlipFactory.FlipDirection;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Flip surface for walls of panels, all panels are drawn by one render thread.
+ * <p/>
+ * Panels are laid out in a grid of columns x rows. Each frame the render thread draws every panel
+ * bitmap in one canvas pass, flipping panels use the same camera transform as
+ * {@link ViewFlipFactory.FlipAnimation} computed with {@link FlipMatrix}.
+ * <p/>
+ * New panel content is handed over from the UI thread with {@link #setPanelContent(int, Bitmap)},
+ * which only sets an atomic slot. The render thread takes it on its next frame and flips the panel
+ * to it, a newer bitmap set before then replaces the older one. Handed over bitmaps must not be
+ * modified or recycled by the caller.
+ * <p/>
+ * Average frame time and panel throughput are reported to the {@link Listener} about once a second.
+ * Must be configured on the UI thread.
+ */
+public class FlipSurfaceView extends SurfaceView implements SurfaceHolder.Callback {
+
+    /**
+     * Render statistics and flip completion, called on the UI thread.
+     */
+    public interface Listener {
+        /**
+         * Last flipping panel has finished.
+         */
+        void onFlipsDone();
+
+        /**
+         * @param frameMsec    Average render thread time to draw a frame (milliseconds)
+         * @param panelsPerSec Panels drawn per second
+         */
+        void onRenderStats(float frameMsec, float panelsPerSec);
+    }
+
+    private static final long NANOS_PER_MSEC = 1000000L;
+    private static final long REPORT_NANOS = 1000 * NANOS_PER_MSEC;
+
+    // ---- Settings, written on UI thread ----
+    private int mColumns = 1;
+    private int mRows = 1;
+    private volatile FlipDirection mDir = FlipDirection.TOP_BOTTOM;
+    private volatile long mDurationNanos = 1000 * NANOS_PER_MSEC;
+    private volatile float[] mCameraPos = {0.0f, 0.0f, -8.0f};
+    private volatile int mClearColor = Color.BLACK;
+    private Listener mListener;
+    private FlipStats mStats;
+
+    // ---- Handoff, UI thread -> render thread ----
+    private AtomicReferenceArray<Bitmap> mPending = new AtomicReferenceArray<>(1);
+    private volatile int mWidth, mHeight;
+    // Panels shown when the last renderer stopped, restored when the surface is recreated.
+    private Bitmap[] mShown;
+
+    // ---- Render thread ----
+    private HandlerThread mRenderThread;
+    private Handler mRenderHandler;
+    private Renderer mRenderer;
+    private final Handler mUiHandler = new Handler(Looper.getMainLooper());
+
+    // ---- Statistics, written on render thread ----
+    private volatile float mFrameMsec;
+    private volatile float mPanelsPerSec;
+    private final Runnable mReportDone = new Runnable() {
+        @Override
+        public void run() {
+            if (mListener != null) {
+                mListener.onFlipsDone();
+            }
+        }
+    };
+    private final Runnable mReportStats = new Runnable() {
+        @Override
+        public void run() {
+            if (mListener != null) {
+                mListener.onRenderStats(mFrameMsec, mPanelsPerSec);
+            }
+        }
+    };
+
+    public FlipSurfaceView(Context context) {
+        super(context);
+        getHolder().addCallback(this);
+    }
+
+    public FlipSurfaceView(Context context, AttributeSet attrs) {
+        super(context, attrs);
+        getHolder().addCallback(this);
+    }
+
+    /**
+     * Set panel grid, only allowed while the surface is not rendering.
+     */
+    public void setGrid(int columns, int rows) {
+        if (mRenderThread != null) {
+            throw new IllegalStateException("grid can not change while rendering");
+        }
+        mColumns = Math.max(1, columns);
+        mRows = Math.max(1, rows);
+        mPending = new AtomicReferenceArray<>(mColumns * mRows);
+        mShown = null;
+    }
+
+    public int getPanelCount() {
+        return mColumns * mRows;
+    }
+
+    public void setDirection(FlipDirection dir) {
+        mDir = dir;
+    }
+
+    public void setDuration(long durationMsec) {
+        mDurationNanos = Math.max(1, durationMsec) * NANOS_PER_MSEC;
+    }
+
+    /**
+     * @param cameraPos Camera x,y,z, same as {@link ViewFlipFactory#flipTransition}, array is copied.
+     */
+    public void setCameraPos(float[] cameraPos) {
+        mCameraPos = cameraPos.clone();
+    }
+
+    public void setClearColor(int color) {
+        mClearColor = color;
+    }
+
+    public void setListener(Listener listener) {
+        mListener = listener;
+    }
+
+    /**
+     * Record frame intervals and frame cost on the render thread, null to disable.
+     * Only allowed while the surface is not rendering.
+     */
+    public void setStats(FlipStats stats) {
+        mStats = stats;
+    }
+
+    public float getFrameMsec() {
+        return mFrameMsec;
+    }
+
+    public float getPanelsPerSec() {
+        return mPanelsPerSec;
+    }
+
+    /**
+     * Flip {@code panel} to {@code bitmap}, first content of a panel is shown without a flip.
+     * Safe to call from any thread, does not block.
+     */
+    public void setPanelContent(int panel, Bitmap bitmap) {
+        mPending.set(panel, bitmap);
+        Handler handler = mRenderHandler;
+        if (handler != null) {
+            handler.post(mWake);
+        }
+    }
+
+    private final Runnable mWake = new Runnable() {
+        @Override
+        public void run() {
+            if (mRenderer != null) {
+                mRenderer.wake();
+            }
+        }
+    };
+
+    // ---- SurfaceHolder.Callback ----
+
+    @Override
+    public void surfaceCreated(SurfaceHolder holder) {
+        mRenderThread = new HandlerThread("FlipSurface");
+        mRenderThread.start();
+        mRenderHandler = new Handler(mRenderThread.getLooper());
+        final Renderer renderer = new Renderer(holder, mPending, mShown, mColumns, mRows, mStats);
+        mRenderHandler.post(new Runnable() {
+            @Override
+            public void run() {
+                // Choreographer must be created on the render thread's looper.
+                mRenderer = renderer;
+                renderer.start(Choreographer.getInstance());
+            }
+        });
+    }
+
+    @Override
+    public void surfaceChanged(SurfaceHolder holder, int format, int width, int height) {
+        mWidth = width;
+        mHeight = height;
+        Handler handler = mRenderHandler;
+        if (handler != null) {
+            handler.post(mWake);    // Redraw at new size.
+        }
+    }
+
+    @Override
+    public void surfaceDestroyed(SurfaceHolder holder) {
+        // Surface must not be drawn after this returns, wait for render thread to exit.
+        final HandlerThread thread = mRenderThread;
+        mRenderHandler.post(new Runnable() {
+            @Override
+            public void run() {
+                mShown = mRenderer.stop();
+                mRenderer = null;
+            }
+        });
+        thread.quitSafely();
+        try {
+            thread.join();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        mRenderThread = null;
+        mRenderHandler = null;
+        mUiHandler.removeCallbacks(mReportStats);
+        mUiHandler.removeCallbacks(mReportDone);
+    }
+
+    /**
+     * Render thread state, only touched on the render thread.
+     */
+    private final class Renderer implements Choreographer.FrameCallback {
+        private final SurfaceHolder mHolder;
+        private final AtomicReferenceArray<Bitmap> mHandoff;
+        private final int mCols, mRowCnt;
+        private final FlipStats mFlipStats;
+        private final Bitmap[] mCurrent;
+        private final Bitmap[] mNext;           // non-null while panel flips
+        private final long[] mStartNanos;       // 0 = start on next frame
+        private final FlipSetup[] mSetups;
+        private final int[] mDirs;
+        private final Paint mPaint = new Paint(Paint.FILTER_BITMAP_FLAG);
+        private final Matrix mMatrix = new Matrix();
+        private final float[] mValues = new float[FlipKeyframes.VALUES];
+        private Choreographer mChoreographer;
+        private boolean mPosted = false;
+        private boolean mRunning = false;
+        private boolean mRedraw = true;
+        private int mFlipping = 0;
+
+        // Statistics window
+        private long mWindowStart = 0;
+        private long mWindowWorkNanos = 0;
+        private int mWindowFrames = 0;
+        private long mWindowPanels = 0;
+
+        /**
+         * @param shown Panels to show without a flip, from the previous renderer's {@link #stop()}, may be null.
+         */
+        Renderer(SurfaceHolder holder, AtomicReferenceArray<Bitmap> handoff, Bitmap[] shown,
+            int columns, int rows, FlipStats stats) {
+            mHolder = holder;
+            mHandoff = handoff;
+            mCols = columns;
+            mRowCnt = rows;
+            mFlipStats = stats;
+            int count = columns * rows;
+            mCurrent = (shown != null && shown.length == count) ? shown.clone() : new Bitmap[count];
+            mNext = new Bitmap[count];
+            mStartNanos = new long[count];
+            mSetups = new FlipSetup[count];
+            mDirs = new int[count];
+        }
+
+        void start(Choreographer choreographer) {
+            mChoreographer = choreographer;
+            mRunning = true;
+            wake();
+        }
+
+        /**
+         * Stop drawing, returns the panels to show when drawing resumes. Flipping panels end on their new content.
+         */
+        Bitmap[] stop() {
+            mRunning = false;
+            mChoreographer.removeFrameCallback(this);
+            Bitmap[] shown = new Bitmap[mCurrent.length];
+            for (int panel = 0; panel < shown.length; panel++) {
+                shown[panel] = (mNext[panel] != null) ? mNext[panel] : mCurrent[panel];
+            }
+            return shown;
+        }
+
+        void wake() {
+            mRedraw = true;
+            if (mRunning && !mPosted) {
+                mPosted = true;
+                mChoreographer.postFrameCallback(this);
+            }
+        }
+
+        @Override
+        public void doFrame(long frameTimeNanos) {
+            mPosted = false;
+            if (!mRunning) {
+                return;
+            }
+            final FlipStats stats = mFlipStats;
+            long workStart = System.nanoTime();
+            if (stats != null) {
+                stats.onFrame(frameTimeNanos);
+            }
+
+            takePending();
+            int panels = 0;
+            int width = mWidth;
+            int height = mHeight;
+            if ((mRedraw || mFlipping > 0) && width > 0 && height > 0) {
+                mRedraw = false;
+                Canvas canvas = mHolder.lockHardwareCanvas();
+                if (canvas != null) {
+                    try {
+                        panels = drawPanels(canvas, frameTimeNanos, width / (float) mCols, height / (float) mRowCnt);
+                    } finally {
+                        mHolder.unlockCanvasAndPost(canvas);
+                    }
+                }
+            }
+
+            long workNanos = System.nanoTime() - workStart;
+            if (stats != null) {
+                stats.endWork(workStart);
+            }
+            report(frameTimeNanos, workNanos, panels);
+
+            // Content handed over while its panel flipped is still pending once the flip ends.
+            if ((mFlipping > 0 || hasPending()) && !mPosted) {
+                mPosted = true;
+                mChoreographer.postFrameCallback(this);
+            }
+        }
+
+        private boolean hasPending() {
+            for (int panel = 0; panel < mCurrent.length; panel++) {
+                if (mHandoff.get(panel) != null) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        /**
+         * Take handed over content for panels which are not flipping.
+         */
+        private void takePending() {
+            final FlipDirection dir = mDir;
+            for (int panel = 0; panel < mCurrent.length; panel++) {
+                if (mNext[panel] != null || mHandoff.get(panel) == null) {
+                    continue;
+                }
+                Bitmap bitmap = mHandoff.getAndSet(panel, null);
+                if (bitmap == null || bitmap == mCurrent[panel]) {
+                    continue;
+                }
+                if (mCurrent[panel] == null) {
+                    mCurrent[panel] = bitmap;
+                } else {
+                    mNext[panel] = bitmap;
+                    mStartNanos[panel] = 0;
+                    mSetups[panel] = FlipSetup.get(dir == FlipDirection.BOTTOM_TOP || dir == FlipDirection.TOP_BOTTOM);
+                    mDirs[panel] = dir.getDirSign();
+                    if (mFlipping++ == 0 && mFlipStats != null) {
+                        mFlipStats.beginFlip();
+                    }
+                }
+                mRedraw = true;
+            }
+        }
+
+        /**
+         * Draw all panels in one pass, returns number of panels drawn.
+         */
+        private int drawPanels(Canvas canvas, long frameTimeNanos, float panelWidth, float panelHeight) {
+            canvas.drawColor(mClearColor);
+            final float[] cameraPos = mCameraPos;
+            final long durationNanos = mDurationNanos;
+            int drawn = 0;
+            for (int panel = 0; panel < mCurrent.length; panel++) {
+                Bitmap current = mCurrent[panel];
+                if (current == null) {
+                    continue;
+                }
+                float left = (panel % mCols) * panelWidth;
+                float top = (panel / mCols) * panelHeight;
+                Bitmap next = mNext[panel];
+                if (next == null) {
+                    drawStill(canvas, current, left, top, panelWidth, panelHeight);
+                    drawn++;
+                    continue;
+                }
+
+                if (mStartNanos[panel] == 0) {
+                    mStartNanos[panel] = frameTimeNanos;
+                }
+                float fraction = Math.min(1, (frameTimeNanos - mStartNanos[panel]) / (float) durationNanos);
+                if (fraction >= 1) {
+                    mCurrent[panel] = next;
+                    mNext[panel] = null;
+                    if (--mFlipping == 0) {
+                        mUiHandler.post(mReportDone);
+                    }
+                    drawStill(canvas, next, left, top, panelWidth, panelHeight);
+                    drawn++;
+                    continue;
+                }
+
+                final FlipSetup setup = mSetups[panel];
+                final int dir = mDirs[panel];
+                int saveCount = canvas.save();
+                canvas.clipRect(left, top, left + panelWidth, top + panelHeight);
+                drawFlip(canvas, current, setup.axis, setup.inRotation, setup.inOriginF, setup.inPivotF,
+                    dir, fraction, left, top, panelWidth, panelHeight, cameraPos);
+                drawFlip(canvas, next, setup.axis, setup.outRotation, setup.outOriginF, setup.outPivotF,
+                    dir, fraction, left, top, panelWidth, panelHeight, cameraPos);
+                canvas.restoreToCount(saveCount);
+                drawn++;
+            }
+            return drawn;
+        }
+
+        /**
+         * Same transform as {@link ViewFlipFactory.FlipAnimation#sample}, offset to the panel's position.
+         */
+        private void drawFlip(Canvas canvas, Bitmap bitmap, int axis, float[] fromTo, float[] originF, float[] pivotF,
+            int dir, float fraction, float left, float top, float width, float height, float[] cameraPos) {
+            float fromDeg = fromTo[0] * dir;
+            float degrees = fromDeg + (fromTo[1] * dir - fromDeg) * fraction;
+            float transX = left;
+            float transY = top;
+            if (axis == FlipMatrix.ROTATION_X) {
+                transY += (fraction + originF[1]) * height * dir;
+            } else {
+                transX += (fraction + originF[0]) * width * dir;
+            }
+            drawPanel(canvas, bitmap, axis, degrees,
+                FlipSetup.flipEdge(pivotF[0], dir) * width, FlipSetup.flipEdge(pivotF[1], dir) * height,
+                transX, transY, width, height, cameraPos);
+        }
+
+        private void drawPanel(Canvas canvas, Bitmap bitmap, int axis, float degrees,
+            float pivotX, float pivotY, float transX, float transY,
+            float width, float height, float[] cameraPos) {
+            FlipMatrix.flip(mValues, axis, degrees, cameraPos[0], cameraPos[1], cameraPos[2],
+                pivotX, pivotY, transX, transY);
+            FlipMatrix.preScale(mValues, width / bitmap.getWidth(), height / bitmap.getHeight());
+            mMatrix.setValues(mValues);
+            canvas.drawBitmap(bitmap, mMatrix, mPaint);
+        }
+
+        private void drawStill(Canvas canvas, Bitmap bitmap, float left, float top, float width, float height) {
+            mMatrix.setScale(width / bitmap.getWidth(), height / bitmap.getHeight());
+            mMatrix.postTranslate(left, top);
+            canvas.drawBitmap(bitmap, mMatrix, mPaint);
+        }
+
+        private void report(long frameTimeNanos, long workNanos, int panels) {
+            if (mWindowStart == 0) {
+                mWindowStart = frameTimeNanos;
+            }
+            mWindowWorkNanos += workNanos;
+            mWindowFrames++;
+            mWindowPanels += panels;
+            long elapsed = frameTimeNanos - mWindowStart;
+            if (elapsed >= REPORT_NANOS) {
+                mFrameMsec = mWindowWorkNanos / (float) NANOS_PER_MSEC / mWindowFrames;
+                mPanelsPerSec = mWindowPanels * 1e9f / elapsed;
+                mWindowStart = frameTimeNanos;
+                mWindowWorkNanos = 0;
+                mWindowFrames = 0;
+                mWindowPanels = 0;
+                mUiHandler.post(mReportStats);
+            }
+        }
+    }
+}
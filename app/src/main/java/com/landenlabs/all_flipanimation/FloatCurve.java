@@ -0,0 +1,58 @@
+/*
+ * Copyright (c) 2026 Dennis Lang (LanDen Labs) landenlabs@gmail.com
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the
+ * following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT
+ * LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN
+ * NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * @author Dennis Lang
+ * @see https://LanDenLabs.com/
+ */
+
+
+package com.landenlabs.all_flipanimation;
+
+/**
+ * Primitive float curve used to evaluate animated values without boxing.
+ * Same contract as {@code TypeEvaluator<Float>} but with primitive arguments and result.
+ */
+public interface FloatCurve {
+
+    /**
+     * @param fraction   Animation fraction [0..1]
+     * @param startValue Value at fraction 0
+     * @param endValue   Value at fraction 1
+     * @return Value at fraction
+     */
+    float evaluate(float fraction, float startValue, float endValue);
+
+    /**
+     * Linear interpolation.
+     */
+    FloatCurve LINEAR = new FloatCurve() {
+        @Override
+        public float evaluate(float fraction, float startValue, float endValue) {
+            return startValue + ((endValue - startValue) * fraction);
+        }
+    };
+
+    /**
+     * Linear interpolation truncated to whole pixels, same as an {@code Integer} evaluator.
+     */
+    FloatCurve INT_LINEAR = new FloatCurve() {
+        @Override
+        public float evaluate(float fraction, float startValue, float endValue) {
+            return (int) (startValue + ((endValue - startValue) * fraction));
+        }
+    };
+}
@@ -0,0 +1,117 @@
+/*
+ * Copyright (c) 2026 Dennis Lang (LanDen Labs) landenlabs@gmail.com
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the
+ * following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT
+ * LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN
+ * NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * @author Dennis Lang
+ * @see https://LanDenLabs.com/
+ */
+
+
+package com.landenlabs.all_flipanimation;
+
+import android.animation.ValueAnimator;
+import android.util.FloatProperty;
+import android.util.Property;
+import android.view.View;
+
+/**
+ * Primitive float property animator.
+ * <p/>
+ * Replacement for {@code ObjectAnimator.ofObject(view, "RotationX", TypeEvaluator<Float>, ...)}
+ * which boxes a value every frame and finds the setter by reflection.
+ * This animator runs a plain 0..1 {@link ValueAnimator}, evaluates a {@link FloatCurve} and sets the
+ * value through a typed property such as {@link View#ROTATION_X} or {@link View#TRANSLATION_Y}.
+ * Framework view properties are {@link FloatProperty} so no value is boxed per frame.
+ * <p/>
+ * Panel flips run on {@link FlipEngine}'s shared clock. This animator covers single property
+ * animations outside that clock, ex: the click hint fade started with every flip, which reuses
+ * one animator through {@link #start(float, float)}.
+ */
+public class FloatFlipAnimator implements ValueAnimator.AnimatorUpdateListener {
+
+    private final View mView;
+    private final Property<View, Float> mProperty;
+    private final FloatProperty<View> mFloatProperty;
+    private final FloatCurve mCurve;
+    private float mStartValue;
+    private float mEndValue;
+    private ValueAnimator mAnimator;
+
+    @SuppressWarnings("unchecked")
+    public FloatFlipAnimator(View view, Property<View, Float> property, FloatCurve curve,
+        float startValue, float endValue) {
+        mView = view;
+        mProperty = property;
+        mFloatProperty = (property instanceof FloatProperty) ? (FloatProperty<View>) property : null;
+        mCurve = curve;
+        mStartValue = startValue;
+        mEndValue = endValue;
+    }
+
+    /**
+     * Reusable animator, values are set by each {@link #start(float, float)}.
+     */
+    public FloatFlipAnimator(View view, Property<View, Float> property, FloatCurve curve) {
+        this(view, property, curve, 0, 0);
+        mAnimator = ValueAnimator.ofFloat(0f, 1f);
+        mAnimator.addUpdateListener(this);
+    }
+
+    /**
+     * Restart reusable animator from {@code startValue} to {@code endValue}, no allocation.
+     */
+    public void start(float startValue, float endValue) {
+        mAnimator.cancel();
+        mStartValue = startValue;
+        mEndValue = endValue;
+        mAnimator.start();
+    }
+
+    /**
+     * Animator of a reusable instance, ex: to set duration or a listener.
+     */
+    public ValueAnimator getAnimator() {
+        return mAnimator;
+    }
+
+    /**
+     * Create animator which drives {@code property} from {@code startValue} to {@code endValue}
+     * using {@code curve}. Uses the default {@link ValueAnimator} interpolator, same as ObjectAnimator.
+     *
+     * @param view       View to animate
+     * @param property   View property, ex: View.ROTATION_X
+     * @param curve      Curve to evaluate each frame
+     * @param startValue Start value
+     * @param endValue   End value
+     * @return Animator, caller sets duration and starts it.
+     */
+    public static ValueAnimator ofFloat(View view, Property<View, Float> property, FloatCurve curve,
+        float startValue, float endValue) {
+        ValueAnimator animator = ValueAnimator.ofFloat(0f, 1f);
+        animator.addUpdateListener(new FloatFlipAnimator(view, property, curve, startValue, endValue));
+        return animator;
+    }
+
+    @Override
+    public void onAnimationUpdate(ValueAnimator animation) {
+        float value = mCurve.evaluate(animation.getAnimatedFraction(), mStartValue, mEndValue);
+        if (mFloatProperty != null) {
+            mFloatProperty.setValue(mView, value);
+        } else {
+            mProperty.set(mView, value);
+        }
+    }
+}
@@ -0,0 +1,90 @@
+/*
+ * Copyright (c) 2026 Dennis Lang (LanDen Labs) landenlabs@gmail.com
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the
+ * following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT
+ * LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN
+ * NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * @author Dennis Lang
+ * @see https://LanDenLabs.com/
+ */
+
+
+package com.landenlabs.all_flipanimation;
+
+/**
+ * Fixed capacity ring of primitive float records, {@code stride} floats per record.
+ * <p/>
+ * Adding a record to a full ring overwrites the oldest one. Nothing is allocated after
+ * construction. Not thread safe, use from one thread.
+ */
+public class FloatRing {
+    private final float[] mValues;
+    private final int mStride;
+    private final int mCapacity;
+    private int mHead = 0;      // Next record to write
+    private int mSize = 0;
+
+    /**
+     * @param capacity Maximum number of records
+     * @param stride   Floats per record
+     */
+    public FloatRing(int capacity, int stride) {
+        mCapacity = capacity;
+        mStride = stride;
+        mValues = new float[capacity * stride];
+    }
+
+    public int getCapacity() {
+        return mCapacity;
+    }
+
+    public int getStride() {
+        return mStride;
+    }
+
+    public int size() {
+        return mSize;
+    }
+
+    public void clear() {
+        mHead = 0;
+        mSize = 0;
+    }
+
+    /**
+     * Append a record and return its offset in {@link #values()}, caller fills in {@code stride} floats.
+     */
+    public int add() {
+        int offset = mHead * mStride;
+        mHead = (mHead + 1) % mCapacity;
+        if (mSize < mCapacity) {
+            mSize++;
+        }
+        return offset;
+    }
+
+    /**
+     * @return Offset in {@link #values()} of record {@code idx}, 0 is the oldest, {@code size()-1} the newest.
+     */
+    public int offset(int idx) {
+        return ((mHead - mSize + idx + mCapacity) % mCapacity) * mStride;
+    }
+
+    /**
+     * @return Backing values, index with {@link #offset(int)}.
+     */
+    public float[] values() {
+        return mValues;
+    }
+}
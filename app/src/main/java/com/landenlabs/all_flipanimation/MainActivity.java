@@ -96,6 +96,13 @@ public class MainActivity extends Activity {
             }
         });
 
+        this.findViewById(R.id.flipSurface).setOnClickListener(new View.OnClickListener() {
+            @Override
+            public void onClick(View v) {
+                startActivity(ActivityFlipSurface.class);
+            }
+        });
+
         // ---- Open web site with click on titles or logo.
         this.findViewById(R.id.title1).setOnClickListener(new View.OnClickListener() {
             @Override
@@ -0,0 +1,49 @@
+/*
+ * Copyright (c) 2026 Dennis Lang (LanDen Labs) landenlabs@gmail.com
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the
+ * following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT
+ * LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN
+ * NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * @author Dennis Lang
+ * @see https://LanDenLabs.com/
+ */
+
+
+package com.landenlabs.all_flipanimation;
+
+import android.graphics.Matrix;
+
+/**
+ * Small fixed ring of reusable {@link Matrix} objects.
+ * <p/>
+ * Each call to {@link #next()} returns the oldest matrix, so a returned matrix stays valid
+ * until {@code size} more matrices have been requested.
+ */
+public class MatrixRing {
+    private final Matrix[] mMatrices;
+    private int mNext = 0;
+
+    public MatrixRing(int size) {
+        mMatrices = new Matrix[size];
+        for (int idx = 0; idx < size; idx++) {
+            mMatrices[idx] = new Matrix();
+        }
+    }
+
+    public Matrix next() {
+        Matrix matrix = mMatrices[mNext];
+        mNext = (mNext + 1) % mMatrices.length;
+        return matrix;
+    }
+}
@@ -33,6 +33,9 @@ public class SlideBar {
     final TextView mLabel;
     final SeekBar mSeekBar;
     final String mLabelFmt;
+    final boolean mFixedLabel;      // Format has no value, label never changes
+    float mLabelValue = Float.NaN;
+    boolean mLabelSet = false;
     ValueChanged mValueChanged;
 
     public SlideBar(View parent, String labelFmt) {
@@ -40,6 +43,7 @@ public class SlideBar {
         mLabel = (TextView) parent.findViewById(R.id.labelbar);
         mSeekBar = (SeekBar) parent.findViewById(R.id.slidebar);
         mLabelFmt = labelFmt;
+        mFixedLabel = labelFmt.indexOf('%') < 0;
 
         mSeekBar.setOnSeekBarChangeListener(new SeekBar.OnSeekBarChangeListener() {
             @Override
@@ -60,7 +64,16 @@ public class SlideBar {
     public void updateLabel(float progressValue) {
         if (mValueChanged != null) {
             float value = mValueChanged.onValueChanged(mParent, progressValue);
-            mLabel.setText(String.format(mLabelFmt, value));
+            // Only format and set label when it changes.
+            if (mFixedLabel) {
+                if (!mLabelSet) {
+                    mLabelSet = true;
+                    mLabel.setText(mLabelFmt);
+                }
+            } else if (value != mLabelValue) {
+                mLabelValue = value;
+                mLabel.setText(String.format(mLabelFmt, value));
+            }
         }
     }
 
@@ -0,0 +1,210 @@
+/*
+ * Copyright (c) 2026 Dennis Lang (LanDen Labs) landenlabs@gmail.com
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the
+ * following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT
+ * LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN
+ * NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * @author Dennis Lang
+ * @see https://LanDenLabs.com/
+ */
+
+
+package com.landenlabs.all_flipanimation;
+
+import android.graphics.Bitmap;
+import android.view.View;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Byte bounded LRU cache of view snapshots used by {@link FlipSnapshot}.
+ * <p/>
+ * Entries are keyed by view and tagged with the view's content version, see
+ * {@link #setContentVersion(View, int)}. A snapshot is reused while the version and size match
+ * and the view has not been {@link #invalidate(View) invalidated}, so panels which rarely change
+ * cost no capture work. Least recently used entries are evicted to stay within the memory
+ * budget, their bitmaps go back to the {@link BitmapPool}. Snapshots a flip is drawing are
+ * {@link #pin(Bitmap) pinned}, they are never evicted and if removed their bitmap is only returned
+ * to the pool when unpinned. Must be used on the UI thread.
+ */
+public final class SnapshotCache {
+
+    public static final long DEFAULT_MAX_BYTES = 24L * 1024 * 1024;
+
+    private static final class Entry {
+        Bitmap bitmap;
+        int version;
+        long bytes;
+    }
+
+    private final LinkedHashMap<View, Entry> mEntries = new LinkedHashMap<>(8, 0.75f, true);
+    private final BitmapPool mPool;
+    private final ArrayList<Bitmap> mPinned = new ArrayList<>();
+    private final ArrayList<Bitmap> mRemovedPinned = new ArrayList<>();  // Release when unpinned
+    private final long mMaxBytes;
+    private long mBytes = 0;
+
+    // ---- Metrics ----
+    private int mHitCount = 0;
+    private int mMissCount = 0;
+    private int mEvictionCount = 0;
+
+    public SnapshotCache(BitmapPool pool, long maxBytes) {
+        mPool = pool;
+        mMaxBytes = maxBytes;
+    }
+
+    /**
+     * Set view's content version, change it whenever the view's content changes.
+     */
+    public static void setContentVersion(View view, int version) {
+        view.setTag(R.id.snapshot_version, version);
+    }
+
+    /**
+     * @return view's content version, 0 if never set.
+     */
+    public static int getContentVersion(View view) {
+        Object tag = view.getTag(R.id.snapshot_version);
+        return (tag instanceof Integer) ? (Integer) tag : 0;
+    }
+
+    /**
+     * @return cached snapshot of view if version and size match, else null.
+     */
+    public Bitmap get(View view, int version, int width, int height) {
+        Entry entry = mEntries.get(view);
+        if (entry != null && entry.version == version
+            && entry.bitmap.getWidth() == width && entry.bitmap.getHeight() == height) {
+            mHitCount++;
+            return entry.bitmap;
+        }
+        mMissCount++;
+        return null;
+    }
+
+    /**
+     * Add or replace view's snapshot, cache owns the bitmap from now on.
+     * A snapshot which does not fit in the budget without evicting pinned snapshots is not cached.
+     *
+     * @return true if cached, false if caller still owns the bitmap.
+     */
+    public boolean put(View view, int version, Bitmap bitmap) {
+        remove(view);
+        long bytes = bitmap.getAllocationByteCount();
+        if (bytes > mMaxBytes - pinnedBytes()) {
+            return false;
+        }
+
+        Iterator<Map.Entry<View, Entry>> iterator = mEntries.entrySet().iterator();
+        while (mBytes + bytes > mMaxBytes && iterator.hasNext()) {
+            Entry oldest = iterator.next().getValue();
+            if (mPinned.contains(oldest.bitmap)) {
+                continue;
+            }
+            iterator.remove();
+            mBytes -= oldest.bytes;
+            mPool.release(oldest.bitmap);
+            mEvictionCount++;
+        }
+
+        Entry entry = new Entry();
+        entry.bitmap = bitmap;
+        entry.version = version;
+        entry.bytes = bytes;
+        mEntries.put(view, entry);
+        mBytes += bytes;
+        return true;
+    }
+
+    /**
+     * Keep cached bitmap valid while it is drawn, every pin must be matched by {@link #unpin}.
+     */
+    public void pin(Bitmap bitmap) {
+        mPinned.add(bitmap);
+    }
+
+    /**
+     * Release one pin, a bitmap removed from the cache while pinned goes back to the pool.
+     */
+    public void unpin(Bitmap bitmap) {
+        mPinned.remove(bitmap);
+        if (!mPinned.contains(bitmap) && mRemovedPinned.remove(bitmap)) {
+            mPool.release(bitmap);
+        }
+    }
+
+    /**
+     * Drop view's snapshot, ex: when its content changed without a version change.
+     */
+    public void invalidate(View view) {
+        remove(view);
+    }
+
+    public void clear() {
+        for (Entry entry : mEntries.values()) {
+            release(entry.bitmap);
+        }
+        mEntries.clear();
+        mBytes = 0;
+    }
+
+    public long getBytes() {
+        return mBytes;
+    }
+
+    public int getHitCount() {
+        return mHitCount;
+    }
+
+    public int getMissCount() {
+        return mMissCount;
+    }
+
+    public int getEvictionCount() {
+        return mEvictionCount;
+    }
+
+    private void remove(View view) {
+        Entry entry = mEntries.remove(view);
+        if (entry != null) {
+            mBytes -= entry.bytes;
+            release(entry.bitmap);
+        }
+    }
+
+    /**
+     * Return bitmap to pool, or once unpinned if a flip is still drawing it.
+     */
+    private void release(Bitmap bitmap) {
+        if (mPinned.contains(bitmap)) {
+            mRemovedPinned.add(bitmap);
+        } else {
+            mPool.release(bitmap);
+        }
+    }
+
+    private long pinnedBytes() {
+        long bytes = 0;
+        for (Entry entry : mEntries.values()) {
+            if (mPinned.contains(entry.bitmap)) {
+                bytes += entry.bytes;
+            }
+        }
+        return bytes;
+    }
+}
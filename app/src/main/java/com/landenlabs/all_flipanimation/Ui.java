@@ -23,8 +23,10 @@ package com.landenlabs.all_flipanimation;
 
 import android.app.Activity;
 import android.content.res.Resources;
+import android.os.Build;
 import androidx.fragment.app.FragmentActivity;
 
+import android.view.Display;
 import android.view.View;
 
 /**
@@ -48,6 +50,27 @@ public class Ui {
     }
 
 
+    // =============================================================================================
+
+    /**
+     * @return Refresh rate of display showing activity, 0 if unknown.
+     */
+    @SuppressWarnings("deprecation")
+    public static float getRefreshRate(Activity activity) {
+        Display display = (Build.VERSION.SDK_INT >= Build.VERSION_CODES.R)
+            ? activity.getDisplay()
+            : activity.getWindowManager().getDefaultDisplay();
+        return (display != null) ? display.getRefreshRate() : 0;
+    }
+
+    /**
+     * @return Refresh rate of display view is attached to, 0 if unknown or not attached.
+     */
+    public static float getRefreshRate(View view) {
+        Display display = view.getDisplay();
+        return (display != null) ? display.getRefreshRate() : 0;
+    }
+
     // =============================================================================================
 
     /**
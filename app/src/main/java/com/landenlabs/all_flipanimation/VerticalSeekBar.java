@@ -22,25 +22,59 @@
 package com.landenlabs.all_flipanimation;
 
 import android.content.Context;
+import android.content.res.TypedArray;
 import android.graphics.Canvas;
+import android.graphics.Rect;
+import android.graphics.drawable.Drawable;
 import android.util.AttributeSet;
 import android.view.MotionEvent;
 
 /**
  * Simple wrapper class to render a SeekBar vertically.
+ * <p/>
+ * Touch moves are applied at most once per frame using the newest sample of the frame's batch.
+ * The thumb is positioned along the vertical track directly when progress changes, so there is
+ * no size change pass per touch sample.
  */
 public class VerticalSeekBar extends androidx.appcompat.widget.AppCompatSeekBar {
 
+    private final boolean mMirrorForRtl;
+    private float mTouchY;
+    private boolean mTouchPosted = false;
+
+    private final Runnable mApplyTouch = new Runnable() {
+        @Override
+        public void run() {
+            mTouchPosted = false;
+            applyTouch();
+        }
+    };
+
     public VerticalSeekBar(Context context) {
         super(context);
+        mMirrorForRtl = readMirrorForRtl(context, null, android.R.attr.seekBarStyle);
     }
 
     public VerticalSeekBar(Context context, AttributeSet attrs, int defStyle) {
         super(context, attrs, defStyle);
+        mMirrorForRtl = readMirrorForRtl(context, attrs, defStyle);
     }
 
     public VerticalSeekBar(Context context, AttributeSet attrs) {
         super(context, attrs);
+        mMirrorForRtl = readMirrorForRtl(context, attrs, android.R.attr.seekBarStyle);
+    }
+
+    /**
+     * Base class keeps {@code android:mirrorForRtl} private, read it the same way for the thumb.
+     */
+    private static boolean readMirrorForRtl(Context context, AttributeSet attrs, int defStyle) {
+        TypedArray array = context.obtainStyledAttributes(attrs, new int[] {android.R.attr.mirrorForRtl}, defStyle, 0);
+        try {
+            return array.getBoolean(0, false);
+        } finally {
+            array.recycle();
+        }
     }
 
     protected void onSizeChanged(int w, int h, int oldw, int oldh) {
@@ -60,6 +94,33 @@ public class VerticalSeekBar extends androidx.appcompat.widget.AppCompatSeekBar
         super.onDraw(c);
     }
 
+    @Override
+    public synchronized void setProgress(int progress) {
+        super.setProgress(progress);
+        // Base class places the thumb along the view width, move it along the rotated track.
+        updateThumbPos();
+    }
+
+    /**
+     * Same thumb placement as {@code AbsSeekBar} uses for its track, with width and height swapped.
+     */
+    private void updateThumbPos() {
+        final Drawable thumb = getThumb();
+        int range = getMax() - getMin();
+        if (thumb == null || range <= 0) {
+            return;
+        }
+        float scale = (getProgress() - getMin()) / (float) range;
+        int thumbWidth = thumb.getIntrinsicWidth();
+        int available = getHeight() - getPaddingLeft() - getPaddingRight() - thumbWidth + getThumbOffset() * 2;
+        int thumbPos = (int) (scale * available + 0.5f);
+        int left = (mMirrorForRtl && getLayoutDirection() == LAYOUT_DIRECTION_RTL) ? available - thumbPos : thumbPos;
+        final Rect bounds = thumb.getBounds();
+        if (bounds.left != left) {
+            thumb.setBounds(left, bounds.top, left + thumbWidth, bounds.bottom);
+            invalidate();
+        }
+    }
 
     @Override
     public boolean onTouchEvent(MotionEvent event) {
@@ -67,18 +128,42 @@ public class VerticalSeekBar extends androidx.appcompat.widget.AppCompatSeekBar
             return false;
         }
 
-        switch (event.getAction()) {
-            case MotionEvent.ACTION_DOWN:
+        switch (event.getActionMasked()) {
             case MotionEvent.ACTION_MOVE:
+                // Newest sample supersedes the batch's historical samples, apply on next frame.
+                mTouchY = event.getY();
+                if (!mTouchPosted) {
+                    mTouchPosted = true;
+                    postOnAnimation(mApplyTouch);
+                }
+                break;
+            case MotionEvent.ACTION_DOWN:
             case MotionEvent.ACTION_UP:
-                setProgress(getMax() - (int) (getMax() * event.getY() / getHeight()));
-                onSizeChanged(getWidth(), getHeight(), 0, 0);
+                mTouchY = event.getY();
+                if (mTouchPosted) {
+                    mTouchPosted = false;
+                    removeCallbacks(mApplyTouch);
+                }
+                applyTouch();
                 break;
             case MotionEvent.ACTION_CANCEL:
+                if (mTouchPosted) {
+                    mTouchPosted = false;
+                    removeCallbacks(mApplyTouch);
+                }
                 break;
         }
 
         return true;
     }
-}
 
+    private void applyTouch() {
+        int height = getHeight();
+        if (height <= 0) {
+            return;
+        }
+        int max = getMax();
+        int progress = max - (int) (max * mTouchY / height);
+        setProgress(Math.max(getMin(), Math.min(max, progress)));
+    }
+}
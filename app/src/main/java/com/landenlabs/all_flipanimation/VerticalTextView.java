@@ -22,16 +22,28 @@
 package com.landenlabs.all_flipanimation;
 
 import android.content.Context;
+import android.graphics.Bitmap;
 import android.graphics.Canvas;
+import android.graphics.Typeface;
+import android.text.Layout;
 import android.text.TextPaint;
 import android.util.AttributeSet;
 import android.view.Gravity;
 
+import androidx.core.text.PrecomputedTextCompat;
+
+import java.util.concurrent.Executor;
+
 /**
  * Render vertical text, extends TextView.
  * Normal TextView supports rotation, but rotates from center.
  * This class rotates based on gravity (left or right).
  * <p/>
+ * The rotated text is rendered once into a bitmap, which is re-rendered only when the text,
+ * text paint (color, size, typeface) or view size changes. Other redraws, ex: caused by
+ * neighbouring animating views, are a single bitmap blit.
+ * Use {@link #setTextAsync(CharSequence, Executor)} to build the text layout off the main thread.
+ * <p/>
  * <li> <a href="http://blog.stylingandroid.com/verticaltext-part-1/">
  * http://blog.stylingandroid.com/verticaltext-part-1/</a>
  *
@@ -40,6 +52,15 @@ import android.view.Gravity;
 public class VerticalTextView extends androidx.appcompat.widget.AppCompatTextView {
     final boolean topDown;
 
+    // ---- Rotated text cache ----
+    private Bitmap mCache;
+    private final Canvas mCacheCanvas = new Canvas();
+    private boolean mCacheDirty = true;
+    private Layout mCachedLayout;
+    private int mCachedColor;
+    private float mCachedTextSize;
+    private Typeface mCachedTypeface;
+
     public VerticalTextView(Context context, AttributeSet attrs) {
         super(context, attrs);
         final int gravity = getGravity();
@@ -52,31 +73,97 @@ public class VerticalTextView extends androidx.appcompat.widget.AppCompatTextVie
         }
     }
 
+    /**
+     * Set text with its layout measured on {@code executor}, applied at the next measure.
+     * Must be called on the UI thread.
+     *
+     * @param executor Executor used to precompute text, null for the shared default executor.
+     */
+    public void setTextAsync(CharSequence text, Executor executor) {
+        setTextFuture(PrecomputedTextCompat.getTextFuture(text, getTextMetricsParamsCompat(), executor));
+    }
+
     @Override
     protected void onMeasure(int widthMeasureSpec, int heightMeasureSpec) {
         super.onMeasure(heightMeasureSpec, widthMeasureSpec);
         setMeasuredDimension(getMeasuredHeight(), getMeasuredWidth());
     }
 
+    @Override
+    protected void onTextChanged(CharSequence text, int start, int lengthBefore, int lengthAfter) {
+        super.onTextChanged(text, start, lengthBefore, lengthAfter);
+        mCacheDirty = true;
+    }
+
+    @Override
+    protected void onSizeChanged(int width, int height, int oldWidth, int oldHeight) {
+        super.onSizeChanged(width, height, oldWidth, oldHeight);
+        mCacheDirty = true;
+    }
+
+    @Override
+    protected void onDetachedFromWindow() {
+        super.onDetachedFromWindow();
+        if (mCache != null) {
+            mCache.recycle();
+            mCache = null;
+        }
+        mCacheDirty = true;
+    }
+
     @Override
     protected void onDraw(Canvas canvas) {
+        int width = getWidth();
+        int height = getHeight();
+        Layout layout = getLayout();
+        if (width <= 0 || height <= 0 || layout == null) {
+            return;
+        }
+
         TextPaint textPaint = getPaint();
-        textPaint.setColor(getCurrentTextColor());
-        textPaint.drawableState = getDrawableState();
+        int color = getCurrentTextColor();
+        if (mCacheDirty || mCache == null || layout != mCachedLayout || color != mCachedColor
+            || textPaint.getTextSize() != mCachedTextSize || textPaint.getTypeface() != mCachedTypeface) {
+            renderCache(layout, textPaint, color, width, height);
+        }
+        canvas.drawBitmap(mCache, 0, 0, null);
+    }
+
+    /**
+     * Draw rotated text into the cache bitmap, reusing the bitmap when the size is unchanged.
+     */
+    private void renderCache(Layout layout, TextPaint textPaint, int color, int width, int height) {
+        if (mCache == null || mCache.getWidth() != width || mCache.getHeight() != height) {
+            if (mCache != null) {
+                mCache.recycle();
+            }
+            mCache = Bitmap.createBitmap(width, height, Bitmap.Config.ARGB_8888);
+        } else {
+            mCache.eraseColor(0);
+        }
 
-        canvas.save();
+        textPaint.setColor(color);
+        textPaint.drawableState = getDrawableState();
 
+        final Canvas canvas = mCacheCanvas;
+        canvas.setBitmap(mCache);
+        int saveCount = canvas.save();
         if (topDown) {
-            canvas.translate(getWidth(), 0);
+            canvas.translate(width, 0);
             canvas.rotate(90);
         } else {
-            canvas.translate(0, getHeight());
+            canvas.translate(0, height);
             canvas.rotate(-90);
         }
-
         canvas.translate(getCompoundPaddingLeft(), getExtendedPaddingTop());
+        layout.draw(canvas);
+        canvas.restoreToCount(saveCount);
+        canvas.setBitmap(null);
 
-        getLayout().draw(canvas);
-        canvas.restore();
+        mCacheDirty = false;
+        mCachedLayout = layout;
+        mCachedColor = color;
+        mCachedTextSize = textPaint.getTextSize();
+        mCachedTypeface = textPaint.getTypeface();
     }
-}
\ No newline at end of file
+}
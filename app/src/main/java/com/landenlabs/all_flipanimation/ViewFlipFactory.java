@@ -21,8 +21,6 @@
 
 package com.landenlabs.all_flipanimation;
 
-import android.graphics.Camera;
-import android.graphics.Matrix;
 import android.view.View;
 import android.view.animation.AccelerateInterpolator;
 import android.view.animation.Animation;
@@ -37,6 +35,45 @@ import android.widget.ViewAnimator;
  */
 public class ViewFlipFactory {
 
+    private static FlipCurveCache sCurveCache;
+    private static FlipStats sStats;
+    private static FlipQuality sQuality;
+    private static FlipLayers sLayers = FlipLayers.getDefault();
+
+    /**
+     * Set persistent cache used by baked flips to skip sampling camera curves, null to disable.
+     */
+    public static void setCurveCache(FlipCurveCache cache) {
+        sCurveCache = cache;
+    }
+
+    public static FlipCurveCache getCurveCache() {
+        return sCurveCache;
+    }
+
+    /**
+     * Set statistics which record frame intervals and cost of each {@link FlipAnimation} frame, null to disable.
+     */
+    public static void setStats(FlipStats stats) {
+        sStats = stats;
+    }
+
+    /**
+     * Set adaptive quality controller, each {@link FlipAnimation} picks its mode from the current
+     * tier when it starts and reports its frames to the controller. Null to always use the camera.
+     */
+    public static void setQuality(FlipQuality quality) {
+        sQuality = quality;
+    }
+
+    /**
+     * Set hardware layer manager used to promote flipping views for the length of a flip,
+     * null to leave layer types alone. Defaults to {@link FlipLayers#getDefault()}.
+     */
+    public static void setLayers(FlipLayers layers) {
+        sLayers = layers;
+    }
+
     /**
      * Flip to the next view of the {@code ViewAnimator}'s subviews. A call to this method will initiate a {@link FlipAnimation} to show the next View.
      * If the currently visible view is the last view, flip direction will be reversed for this transition.
@@ -47,23 +84,196 @@ public class ViewFlipFactory {
      * @return direction  hit end - flips direction.
      */
     public static FlipDirection flipTransition(final ViewAnimator viewAnimator, FlipDirection dir, long duration, float[] cameraPos) {
+        return flipTransition(viewAnimator, dir, duration, cameraPos, false);
+    }
+
+    /**
+     * Same as {@link #flipTransition(ViewAnimator, FlipDirection, long, float[])} with optional baked playback.
+     *
+     * @param baked        true to pre-sample transforms when flip starts, see {@link FlipAnimation#setBaked}
+     */
+    public static FlipDirection flipTransition(final ViewAnimator viewAnimator, FlipDirection dir, long duration, float[] cameraPos, boolean baked) {
+        return flipTransition(viewAnimator, dir, duration, cameraPos, baked, 1);
+    }
+
+    /**
+     * Same as {@link #flipTransition(ViewAnimator, FlipDirection, long, float[], boolean)} but flips
+     * directly to the view {@code steps} ahead, used to coalesce several pending flips into one.
+     *
+     * @param steps        number of views to advance, 1 or more.
+     */
+    public static FlipDirection flipTransition(final ViewAnimator viewAnimator, FlipDirection dir, long duration, float[] cameraPos,
+        boolean baked, int steps) {
 
         final int currentIndex = viewAnimator.getDisplayedChild();
-        final int nextIndex = (currentIndex + 1) % viewAnimator.getChildCount();
+        final int nextIndex = nextIndex(viewAnimator, currentIndex, steps);
 
         final View fromView = viewAnimator.getCurrentView();
         final View toView = viewAnimator.getChildAt(nextIndex);
 
-        Animation[] animc = flipAnimation(fromView, toView, dir, duration, new LinearInterpolator(), cameraPos);
+        // One transition is one flip for the quality controller, both animations report its frames.
+        if (sQuality != null) {
+            sQuality.beginFlip();
+        }
+        Animation[] animc = flipAnimation(fromView, toView, dir, duration, new LinearInterpolator(), cameraPos, baked);
 
         viewAnimator.setOutAnimation(animc[0]);
         viewAnimator.setInAnimation(animc[1]);
 
-        viewAnimator.showNext();
+        viewAnimator.setDisplayedChild(nextIndex);
 
         return (nextIndex < currentIndex) ? dir.theOtherDirection() : dir;
     }
 
+    /**
+     * Same as {@link #flipTransition(ViewAnimator, FlipDirection, long, float[])} but both views are
+     * registered as panels of the shared {@link FlipEngine} clock and animated with view properties.
+     * The {@code ViewAnimator} switches to the next child, without animation, when the flip ends.
+     *
+     * @param engine       shared flip engine
+     * @param steps        number of views to advance, 1 or more.
+     */
+    public static FlipDirection flipTransition(FlipEngine engine, final ViewAnimator viewAnimator, FlipDirection dir,
+        long duration, float[] cameraPos, int steps) {
+
+        final int currentIndex = viewAnimator.getDisplayedChild();
+        final int nextIndex = nextIndex(viewAnimator, currentIndex, steps);
+
+        final View fromView = viewAnimator.getCurrentView();
+        final View toView = viewAnimator.getChildAt(nextIndex);
+
+        int dirSign = dir.getDirSign();
+        FlipSetup setup = FlipSetup.get(dir == FlipDirection.BOTTOM_TOP || dir == FlipDirection.TOP_BOTTOM);
+        boolean rotateX = setup.axis == FlipMatrix.ROTATION_X;
+        float size = rotateX ? fromView.getHeight() : fromView.getWidth();
+        int originIdx = rotateX ? 1 : 0;
+
+        float cameraDist = 1280 + cameraPos[2] * -100;
+        fromView.setCameraDistance(cameraDist);
+        toView.setCameraDistance(cameraDist);
+        toView.setVisibility(View.VISIBLE);
+
+        float outOrigin = setup.inOriginF[originIdx];
+        engine.flip(fromView, setup.axis,
+            setup.inRotation[0] * dirSign, setup.inRotation[1] * dirSign, FloatCurve.LINEAR,
+            outOrigin * size * dirSign, (1 + outOrigin) * size * dirSign, FloatCurve.LINEAR,
+            FlipSetup.flipEdge(setup.inPivotF[0], dirSign) * fromView.getWidth(),
+            FlipSetup.flipEdge(setup.inPivotF[1], dirSign) * fromView.getHeight(),
+            FlipEngine.EASE_LINEAR, duration, null);
+
+        float inOrigin = setup.outOriginF[originIdx];
+        engine.flip(toView, setup.axis,
+            setup.outRotation[0] * dirSign, setup.outRotation[1] * dirSign, FloatCurve.LINEAR,
+            inOrigin * size * dirSign, (1 + inOrigin) * size * dirSign, FloatCurve.LINEAR,
+            FlipSetup.flipEdge(setup.outPivotF[0], dirSign) * toView.getWidth(),
+            FlipSetup.flipEdge(setup.outPivotF[1], dirSign) * toView.getHeight(),
+            FlipEngine.EASE_LINEAR, duration, new Runnable() {
+                @Override
+                public void run() {
+                    viewAnimator.setInAnimation(null);
+                    viewAnimator.setOutAnimation(null);
+                    viewAnimator.setDisplayedChild(nextIndex);
+                    fromView.setRotationX(0);
+                    fromView.setRotationY(0);
+                    fromView.setTranslationX(0);
+                    fromView.setTranslationY(0);
+                }
+            });
+
+        return (nextIndex < currentIndex) ? dir.theOtherDirection() : dir;
+    }
+
+    /**
+     * Same as {@link #flipTransition(ViewAnimator, FlipDirection, long, float[])} but both views are
+     * drawn once into bitmaps and the flip animates the bitmaps in the {@code ViewAnimator}'s overlay.
+     * Frame cost does not depend on the complexity of the views.
+     *
+     * @param snapshot     snapshot flipper, see {@link FlipSnapshot#setEndAction(Runnable)}
+     * @param steps        number of views to advance, 1 or more.
+     */
+    public static FlipDirection flipTransition(FlipSnapshot snapshot, ViewAnimator viewAnimator, FlipDirection dir,
+        long duration, float[] cameraPos, int steps) {
+
+        final int currentIndex = viewAnimator.getDisplayedChild();
+        final int nextIndex = nextIndex(viewAnimator, currentIndex, steps);
+
+        final View fromView = viewAnimator.getCurrentView();
+        final View toView = viewAnimator.getChildAt(nextIndex);
+
+        FlipSetup setup = FlipSetup.get(dir == FlipDirection.BOTTOM_TOP || dir == FlipDirection.TOP_BOTTOM);
+        snapshot.start(viewAnimator, fromView, toView, nextIndex, setup, dir.getDirSign(), duration, cameraPos);
+
+        return (nextIndex < currentIndex) ? dir.theOtherDirection() : dir;
+    }
+
+    /**
+     * Same as {@link #flipTransition(ViewAnimator, FlipDirection, long, float[])} but both views are
+     * recorded once into render nodes and each frame only updates their transforms, see {@link FlipRenderer}.
+     * Falls back to the Camera {@link FlipAnimation} path when {@link FlipRenderer#isSupported(float[])}
+     * is false, the renderer's end action is then run when the in animation ends.
+     *
+     * @param renderer     render node flipper, see {@link FlipRenderer#setEndAction(Runnable)}
+     * @param steps        number of views to advance, 1 or more.
+     */
+    public static FlipDirection flipTransition(FlipRenderer renderer, ViewAnimator viewAnimator, FlipDirection dir,
+        long duration, float[] cameraPos, int steps) {
+
+        if (!FlipRenderer.isSupported(cameraPos)) {
+            FlipDirection nextDir = flipTransition(viewAnimator, dir, duration, cameraPos, false, steps);
+            final Runnable endAction = renderer.getEndAction();
+            if (endAction != null) {
+                viewAnimator.getInAnimation().setAnimationListener(new Animation.AnimationListener() {
+                    @Override
+                    public void onAnimationStart(Animation animation) {
+                    }
+
+                    @Override
+                    public void onAnimationEnd(Animation animation) {
+                        endAction.run();
+                    }
+
+                    @Override
+                    public void onAnimationRepeat(Animation animation) {
+                    }
+                });
+            }
+            return nextDir;
+        }
+
+        final int currentIndex = viewAnimator.getDisplayedChild();
+        final int nextIndex = nextIndex(viewAnimator, currentIndex, steps);
+
+        final View fromView = viewAnimator.getCurrentView();
+        final View toView = viewAnimator.getChildAt(nextIndex);
+
+        FlipSetup setup = FlipSetup.get(dir == FlipDirection.BOTTOM_TOP || dir == FlipDirection.TOP_BOTTOM);
+        renderer.start(viewAnimator, fromView, toView, nextIndex, setup, dir.getDirSign(), duration, cameraPos);
+
+        return (nextIndex < currentIndex) ? dir.theOtherDirection() : dir;
+    }
+
+    /**
+     * @return index of child {@code steps} after {@code currentIndex}, wrapping, never {@code currentIndex}
+     * unless there is only one child.
+     */
+    private static int nextIndex(ViewAnimator viewAnimator, int currentIndex, int steps) {
+        int count = viewAnimator.getChildCount();
+        int nextIndex = (currentIndex + Math.max(1, steps)) % count;
+        return (nextIndex == currentIndex) ? (currentIndex + 1) % count : nextIndex;
+    }
+
+    /**
+     * Stop any flip animation on view and release the hardware layer a {@link FlipAnimation}
+     * promoted for it, including one replaced by {@link View#startAnimation} before it ended.
+     */
+    public static void endFlip(View view) {
+        view.clearAnimation();
+        Object owner = view.getTag(R.id.flip_layer_owner);
+        if (owner instanceof FlipAnimation) {
+            ((FlipAnimation) owner).releaseLayer();
+        }
+    }
+
     /**
      * Create a pair of {@link FlipAnimation} that can be used to flip 3D transition from {@code fromView} to {@code toView}.
      * A typical use case is with {@link ViewAnimator} as an out and in transition.
@@ -79,51 +289,44 @@ public class ViewFlipFactory {
      */
     public static Animation[] flipAnimation(final View fromView, final View toView, FlipDirection dir,
         long duration, Interpolator interpolator, float[] cameraPos) {
+        return flipAnimation(fromView, toView, dir, duration, interpolator, cameraPos, false);
+    }
+
+    /**
+     * Same as {@link #flipAnimation(View, View, FlipDirection, long, Interpolator, float[])} with optional
+     * baked playback.
+     *
+     * @param baked        true to pre-sample transforms when flip starts, see {@link FlipAnimation#setBaked}
+     * @return animation pair
+     */
+    public static Animation[] flipAnimation(final View fromView, final View toView, FlipDirection dir,
+        long duration, Interpolator interpolator, float[] cameraPos, boolean baked) {
 
         int dirSign = dir.getDirSign();
-        int axis;
-        float[] inRotation, outRotation;
-        float[] inOriginF, outOriginF;
-        float[] inPivotF, outPivotF;
-
-        if (dir == FlipDirection.BOTTOM_TOP || dir == FlipDirection.TOP_BOTTOM) {
-            axis = FlipAnimation.ROTATION_X;
-            inRotation = new float[]{0, -90};
-            outRotation = new float[]{90, 0};
-            inOriginF = new float[]{0, 0};
-            outOriginF = new float[]{0, -1};
-            inPivotF = new float[]{0.5f, 0};
-            outPivotF = new float[]{0.5f, 1};
-        } else {
-            axis = FlipAnimation.ROTATION_Y;
-            inRotation = new float[]{0, 90};
-            outRotation = new float[]{-90, 0};
-            inOriginF = new float[]{0, 0};
-            outOriginF = new float[]{-1, 0};
-            inPivotF = new float[]{0, 0.5f};
-            outPivotF = new float[]{1, 0.5f};
-        }
+        FlipSetup setup = FlipSetup.get(dir == FlipDirection.BOTTOM_TOP || dir == FlipDirection.TOP_BOTTOM);
 
         Animation[] result = new Animation[2];
 
         FlipAnimation outFlip = new FlipAnimation(
-            inRotation,     // Rotation from -> to
-            inOriginF,      // Origin (fraction of view dimensions)
-            inPivotF,       // Pivot (fraction of view dimensions)
-            cameraPos, axis, dirSign, fromView);
+            setup.inRotation,     // Rotation from -> to
+            setup.inOriginF,      // Origin (fraction of view dimensions)
+            setup.inPivotF,       // Pivot (fraction of view dimensions)
+            cameraPos, setup.axis, dirSign, fromView);
         outFlip.setDuration(duration);
         outFlip.setFillAfter(true);
         outFlip.setInterpolator(interpolator);
+        outFlip.setBaked(baked);
         result[0] = outFlip;
 
         FlipAnimation inFlip = new FlipAnimation(
-            outRotation,    // Rotation from -> to
-            outOriginF,     // Origin (fraction of view dimensions)
-            outPivotF,      // Pivot (fraction of view dimensions)
-            cameraPos, axis, dirSign, toView);
+            setup.outRotation,    // Rotation from -> to
+            setup.outOriginF,     // Origin (fraction of view dimensions)
+            setup.outPivotF,      // Pivot (fraction of view dimensions)
+            cameraPos, setup.axis, dirSign, toView);
         inFlip.setDuration(duration);
         inFlip.setFillAfter(true);
         inFlip.setInterpolator(interpolator);
+        inFlip.setBaked(baked);
         result[1] = inFlip;
 
         return result;
@@ -172,9 +375,9 @@ public class ViewFlipFactory {
      * <p/>
      * NOTE: use {@link ViewFlipFactory} to use this class.
      */
-    public static class FlipAnimation extends Animation {
-        public static final int ROTATION_X = 0;
-        public static final int ROTATION_Y = 1;
+    public static class FlipAnimation extends Animation implements FlipKeyframes.Sampler {
+        public static final int ROTATION_X = FlipMatrix.ROTATION_X;
+        public static final int ROTATION_Y = FlipMatrix.ROTATION_Y;
 
         private final float mFromDegrees;
         private final float mToDegrees;
@@ -183,10 +386,51 @@ public class ViewFlipFactory {
         private final float mPivotXf;
         private final float mPivotYf;
 
-        enum Mode {USE_CAMERA, VIEW_ONLY}
-        final Mode mMode = Mode.USE_CAMERA;
+        /**
+         * <ul>
+         * <li> USE_CAMERA - perspective matrix, {@link FlipQuality.Tier#CAMERA}
+         * <li> VIEW_ONLY - view rotation properties, content redrawn each frame, {@link FlipQuality.Tier#VIEW_PROPERTY}
+         * <li> VIEW_LAYER - view rotation of a hardware layer, content drawn once, {@link FlipQuality.Tier#BITMAP}
+         * <li> CROSS_FADE - alpha fade without rotation, {@link FlipQuality.Tier#CROSS_FADE}
+         * </ul>
+         */
+        enum Mode {USE_CAMERA, VIEW_ONLY, VIEW_LAYER, CROSS_FADE}
+        private Mode mMode = Mode.USE_CAMERA;
+        private FlipQuality mQuality;
+        private FlipLayers mLayers;
+        private boolean mLayerHeld = false;
+        private AnimationListener mListener;
+
+        // Release layer however the flip stops: end, cancel() or View.clearAnimation() (detach).
+        private final AnimationListener mLayerListener = new AnimationListener() {
+            @Override
+            public void onAnimationStart(Animation animation) {
+                if (mListener != null) {
+                    mListener.onAnimationStart(animation);
+                }
+            }
+
+            @Override
+            public void onAnimationEnd(Animation animation) {
+                releaseLayer();
+                if (mListener != null) {
+                    mListener.onAnimationEnd(animation);
+                }
+            }
+
+            @Override
+            public void onAnimationRepeat(Animation animation) {
+                if (mListener != null) {
+                    mListener.onAnimationRepeat(animation);
+                }
+            }
+        };
 
-        private Camera mCamera;
+        private final float[] mMatrixValues = new float[9];
+        private final FlipKeyframes mKeyframes = new FlipKeyframes();
+        private boolean mBaked = false;
+        private FlipCurveCache mCurveCache;
+        private long mCurveHandle = -1;
         private final float[] mCameraPos;
         private final int mAxis;
         private final int mDir;   // 1=left To Right, -1=right to left
@@ -220,6 +464,7 @@ public class ViewFlipFactory {
             mCameraPos = cameraPos;
             mAxis = axis;
             mView = view;
+            super.setAnimationListener(mLayerListener);
 
             // Log.e("flip", String.format("From:%.0f To:%.0f PivXf:%.1f ",mFromDegrees, mToDegrees, mPivotXf) + ((TextView)view).getText());
         }
@@ -231,20 +476,85 @@ public class ViewFlipFactory {
          * @return input value oriented inside 0..1 domain depending on mDir.
          */
         float flip(float value) {
-            int n = (1 - mDir) / 2; // 0 or 1
-            return value * mDir + n;
+            return FlipSetup.flipEdge(value, mDir);
+        }
+
+        /**
+         * Enable baked playback. Camera transforms for the whole flip are sampled at the display
+         * refresh rate when the animation is initialized, each frame is then an array lookup.
+         * Camera curves are read from the {@link FlipCurveCache} when one is set.
+         * Camera position changes during the flip are ignored.
+         */
+        public void setBaked(boolean baked) {
+            mBaked = baked;
+        }
+
+        public boolean isBaked() {
+            return mBaked;
         }
 
         @Override
         public void initialize(int width, int height, int parentWidth, int parentHeight) {
             super.initialize(width, height, parentWidth, parentHeight);
-            mCamera = new Camera();
+            releaseLayer();
+            mKeyframes.clear();
+            mCurveHandle = -1;
+            mCurveCache = sCurveCache;
+            mQuality = sQuality;
+            if (mQuality != null) {
+                mMode = modeFor(mQuality.getTier());
+            }
+
+            // Clear view properties left by a previous VIEW_ONLY or VIEW_LAYER flip.
+            if (mMode == Mode.USE_CAMERA || mMode == Mode.CROSS_FADE) {
+                mView.setRotationX(0);
+                mView.setRotationY(0);
+                mView.setTranslationX(0);
+                mView.setTranslationY(0);
+            }
+
+            // View.startAnimation replaces an in-flight flip without ending it, release its layer.
+            Object owner = mView.getTag(R.id.flip_layer_owner);
+            if (owner instanceof FlipAnimation && owner != this) {
+                ((FlipAnimation) owner).releaseLayer();
+            }
+
+            // Only the transform changes during the flip, draw view content once into a layer.
+            // VIEW_ONLY never holds a layer, that is what VIEW_LAYER adds one tier down.
+            if (mMode == Mode.VIEW_ONLY) {
+                mLayers = null;
+            } else {
+                mLayers = (sLayers == null && mMode == Mode.VIEW_LAYER) ? FlipLayers.getDefault() : sLayers;
+            }
+            if (mLayers != null) {
+                mLayerHeld = mLayers.promote(mView);
+                if (mLayerHeld) {
+                    mView.setTag(R.id.flip_layer_owner, this);
+                }
+            }
+
+            if (mBaked && mMode == Mode.USE_CAMERA) {
+                int frameCount = FlipKeyframes.frameCount(getDuration(), Ui.getRefreshRate(mView));
+                if (mCurveCache != null) {
+                    // Memory lookup only, a missing curve is sampled and saved in the background.
+                    mCurveHandle = mCurveCache.findOrRequest(mAxis, mFromDegrees, mToDegrees,
+                        mCameraPos[0], mCameraPos[1], mCameraPos[2], frameCount);
+                }
+                if (mCurveHandle < 0) {
+                    mKeyframes.bake(this, frameCount);
+                }
+            }
         }
 
         @Override
         protected void applyTransformation(float interpolatedTime, Transformation trans) {
+            final FlipStats stats = sStats;
+            long workStart = (stats != null) ? stats.beginWork() : 0;
+            if (mQuality != null) {
+                mQuality.onFrame(System.nanoTime());
+            }
 
-            // Two possible ways to apply transformation
+            // Possible ways to apply transformation, cheapest last.
             switch (mMode) {
                 case USE_CAMERA:
                     // Use camera for perspective rotation
@@ -253,45 +563,108 @@ public class ViewFlipFactory {
                 case VIEW_ONLY:
                     // Rotate view directly.
                     applyTransformationView(interpolatedTime, trans);
+                    break;
+                case VIEW_LAYER:
+                    // Rotate view directly, view content is drawn once into its layer.
+                    applyTransformationView(interpolatedTime, trans);
+                    break;
+                case CROSS_FADE:
+                    // In-coming view ends at 0 degrees.
+                    trans.setAlpha((mToDegrees == 0) ? interpolatedTime : 1.0f - interpolatedTime);
+                    break;
+            }
+
+            if (interpolatedTime >= 1.0f) {
+                releaseLayer();
+            }
+            if (stats != null) {
+                stats.endWork(workStart);
+            }
+        }
+
+        @Override
+        public void cancel() {
+            releaseLayer();
+            super.cancel();
+        }
+
+        @Override
+        public void setAnimationListener(AnimationListener listener) {
+            mListener = listener;
+        }
+
+        private void releaseLayer() {
+            if (mLayerHeld) {
+                mLayerHeld = false;
+                mLayers.release(mView);
+                if (mView.getTag(R.id.flip_layer_owner) == this) {
+                    mView.setTag(R.id.flip_layer_owner, null);
+                }
+            }
+        }
+
+        private static Mode modeFor(FlipQuality.Tier tier) {
+            switch (tier) {
+                case VIEW_PROPERTY:
+                    return Mode.VIEW_ONLY;
+                case BITMAP:
+                    return Mode.VIEW_LAYER;
+                case CROSS_FADE:
+                    return Mode.CROSS_FADE;
+                case CAMERA:
+                default:
+                    return Mode.USE_CAMERA;
             }
         }
 
         /**
-         * Apply Transform using Camera for 3d perspective rotation.
+         * Apply Transform using Camera for 3d perspective rotation, computed by {@link FlipMatrix}.
          *
          * @param interpolatedTime Value from interpolation [0 to 1].
          * @param trans            Holds matrix.
          */
         private void applyTransformationCamera(float interpolatedTime, Transformation trans) {
+            if (mCurveHandle >= 0 && mCurveCache.getValues(mCurveHandle, interpolatedTime, mMatrixValues)) {
+                pivotTranslate(interpolatedTime, mMatrixValues);
+            } else if (mKeyframes.isBaked()) {
+                mKeyframes.getValues(interpolatedTime, mMatrixValues);
+            } else {
+                sample(interpolatedTime, mMatrixValues);
+            }
+            trans.getMatrix().setValues(mMatrixValues);
+        }
+
+        /**
+         * Compute camera transform matrix values.
+         *
+         * @param interpolatedTime Value from interpolation [0 to 1].
+         * @param out              Matrix values (9 floats)
+         */
+        @Override
+        public void sample(float interpolatedTime, float[] out) {
             final float fromDegrees = mFromDegrees;
             float degrees = fromDegrees + ((mToDegrees - fromDegrees) * interpolatedTime);
 
+            FlipMatrix.camera(out, mAxis, degrees, mCameraPos[0], mCameraPos[1], mCameraPos[2]);
+            pivotTranslate(interpolatedTime, out);
+        }
+
+        /**
+         * Apply pivot and edge translation to camera matrix values.
+         */
+        private void pivotTranslate(float interpolatedTime, float[] out) {
             float height = mView.getHeight();
             float width = mView.getWidth();
 
-            final Matrix matrix = trans.getMatrix();
-            mCamera.save();
-            mCamera.setLocation(mCameraPos[0], mCameraPos[1], mCameraPos[2]);
-
-            if (mAxis == ROTATION_X) {
-                mCamera.rotateX(degrees);
-            } else {
-                mCamera.rotateY(degrees);
-            }
-
-            mCamera.getMatrix(matrix);
-            mCamera.restore();
-
+            float transX = 0;
+            float transY = 0;
             if (mAxis == ROTATION_X) {
-                matrix.postTranslate(0, (interpolatedTime + mTransYf) * height * mDir);
+                transY = (interpolatedTime + mTransYf) * height * mDir;
             } else {
-                matrix.postTranslate((interpolatedTime + mTransXf) * width * mDir, 0);
+                transX = (interpolatedTime + mTransXf) * width * mDir;
             }
 
-            float pivotX = mPivotXf * width;
-            float pivotY = mPivotYf * height;
-            matrix.preTranslate(-pivotX, -pivotY);
-            matrix.postTranslate(pivotX, pivotY);
+            FlipMatrix.pivotTranslate(out, mPivotXf * width, mPivotYf * height, transX, transY);
         }
 
         /**
@@ -0,0 +1,93 @@
+/*
+ * Copyright (c) 2026 Dennis Lang (LanDen Labs) landenlabs@gmail.com
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the
+ * following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT
+ * LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN
+ * NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * @author Dennis Lang
+ * @see https://LanDenLabs.com/
+ */
+
+
+package com.landenlabs.all_flipanimation;
+
+import static org.junit.Assert.assertEquals;
+
+import android.app.Activity;
+import android.widget.TextView;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.Robolectric;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import java.util.Locale;
+import java.util.Random;
+
+/**
+ * {@link FastLabel} text matches {@code String.format}, including the sign of values which round to zero.
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 35)
+public class FastLabelTest {
+
+    private static final float[] VALUES = {
+        0, -0.0f, -0.4f, 0.4f, -0.5f, 0.5f, -0.04f, 0.05f, -0.05f, 0.15f, 0.45f, 1.005f, 2.5f, -2.5f,
+        359.5f, -359.5f, 360.4f, -360.6f, 1000.4f, Float.NaN, Float.POSITIVE_INFINITY, Float.NEGATIVE_INFINITY
+    };
+    private static final int RANDOM_VALUES = 10000;
+
+    private final TextView mTextView = new TextView(Robolectric.buildActivity(Activity.class).setup().get());
+    private final FastLabel mLabel = new FastLabel(mTextView);
+
+    private void check(float value) {
+        String degrees = String.format(Locale.US, "%.0f°", value);
+        assertEquals(degrees, FastLabel.degrees(value));
+        mLabel.setDegrees(value);
+        assertEquals(degrees, mTextView.getText().toString());
+
+        for (int decimals = 0; decimals <= 3; decimals++) {
+            mLabel.begin().append(value, decimals).commit();
+            assertEquals(String.format(Locale.US, "%." + decimals + "f", value), mTextView.getText().toString());
+        }
+    }
+
+    @Test
+    public void matchesFormat() {
+        for (float value : VALUES) {
+            check(value);
+        }
+    }
+
+    @Test
+    public void matchesFormatOnHalfSteps() {
+        Random random = new Random(1);
+        for (int idx = 0; idx < RANDOM_VALUES; idx++) {
+            float value = (random.nextFloat() - 0.5f) * (float) Math.pow(10, random.nextInt(6) - 2);
+            check(value);
+            // Values near a rounding midpoint at 0..3 decimals.
+            check(Math.round(value * 1000) / 1000.0f + 0.0005f);
+            check((Math.round(value * 2) + 0.5f) / 2);
+        }
+    }
+
+    @Test
+    public void negativeZeroUpdatesDegreeLabel() {
+        mLabel.setDegrees(0.4f);
+        assertEquals("0°", mTextView.getText().toString());
+        mLabel.setDegrees(-0.4f);
+        assertEquals("-0°", mTextView.getText().toString());
+    }
+}
@@ -0,0 +1,163 @@
+/*
+ * Copyright (c) 2026 Dennis Lang (LanDen Labs) landenlabs@gmail.com
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the
+ * following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT
+ * LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN
+ * NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * @author Dennis Lang
+ * @see https://LanDenLabs.com/
+ */
+
+
+
+package com.landenlabs.all_flipanimation;
+
+import static org.junit.Assert.assertEquals;
+
+import android.app.Activity;
+import android.view.View;
+import android.view.animation.Animation;
+import android.view.animation.LinearInterpolator;
+import android.view.animation.Transformation;
+
+import com.landenlabs.all_flipanimation.ViewFlipFactory.FlipDirection;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.Robolectric;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+/**
+ * {@link ViewFlipFactory.FlipAnimation} releases its hardware layer however the flip stops, and
+ * only holds one in the quality tiers which draw from it.
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 35)
+public class FlipAnimationLayerTest {
+
+    private final FlipLayers mLayers = new FlipLayers(FlipLayers.DEFAULT_MAX_BYTES);
+    private View mFromView;
+    private View mToView;
+
+    @Before
+    public void setUp() {
+        ViewFlipFactory.setLayers(mLayers);
+        Activity activity = Robolectric.buildActivity(Activity.class).setup().get();
+        mFromView = new View(activity);
+        mToView = new View(activity);
+        mFromView.layout(0, 0, 200, 300);
+        mToView.layout(0, 0, 200, 300);
+    }
+
+    @After
+    public void tearDown() {
+        ViewFlipFactory.setLayers(FlipLayers.getDefault());
+        ViewFlipFactory.setQuality(null);
+    }
+
+    /**
+     * Quality controller stepped down to {@code tier} by late frames.
+     */
+    private static FlipQuality qualityAt(FlipQuality.Tier tier) {
+        FlipQuality quality = new FlipQuality();
+        long frameNanos = 1;
+        while (quality.getTier() != tier) {
+            frameNanos += 100000000L;   // 100 msec, every frame is late.
+            quality.onFrame(frameNanos);
+        }
+        return quality;
+    }
+
+    private Animation[] flips() {
+        return ViewFlipFactory.flipAnimation(mFromView, mToView, FlipDirection.LEFT_RIGHT, 1000,
+            new LinearInterpolator(), new float[]{0, 0, -8}, false);
+    }
+
+    /**
+     * Start animation on view and run its first frame, as View.draw would.
+     */
+    private static void startFrame(View view, Animation animation) {
+        view.startAnimation(animation);
+        animation.initialize(view.getWidth(), view.getHeight(), view.getWidth(), view.getHeight());
+        animation.getTransformation(animation.getStartTime() + 100, new Transformation());
+    }
+
+    @Test
+    public void clearAnimationReleasesLayer() {
+        Animation[] flips = flips();
+        startFrame(mFromView, flips[0]);
+        startFrame(mToView, flips[1]);
+        assertEquals(2, mLayers.getLayerCount());
+
+        mFromView.clearAnimation();
+        mToView.clearAnimation();
+        assertEquals(0, mLayers.getLayerCount());
+    }
+
+    @Test
+    public void replacedAnimationReleasesLayer() {
+        startFrame(mFromView, flips()[0]);
+        assertEquals(1, mLayers.getLayerCount());
+
+        // ViewAnimator.showOnly starts the next flip without ending the current one.
+        startFrame(mFromView, flips()[0]);
+        assertEquals(1, mLayers.getLayerCount());
+
+        ViewFlipFactory.endFlip(mFromView);
+        assertEquals(0, mLayers.getLayerCount());
+    }
+
+    @Test
+    public void listenerStillCalled() {
+        final int[] ends = new int[1];
+        Animation flip = flips()[0];
+        flip.setAnimationListener(new Animation.AnimationListener() {
+            @Override public void onAnimationStart(Animation animation) { }
+            @Override public void onAnimationEnd(Animation animation) {
+                ends[0]++;
+            }
+            @Override public void onAnimationRepeat(Animation animation) { }
+        });
+        startFrame(mFromView, flip);
+        flip.cancel();
+        assertEquals(1, ends[0]);
+        assertEquals(0, mLayers.getLayerCount());
+    }
+
+    @Test
+    public void viewPropertyTierHoldsNoLayer() {
+        ViewFlipFactory.setQuality(qualityAt(FlipQuality.Tier.VIEW_PROPERTY));
+        startFrame(mFromView, flips()[0]);
+        assertEquals(0, mLayers.getLayerCount());
+    }
+
+    @Test
+    public void bitmapTierHoldsLayer() {
+        ViewFlipFactory.setQuality(qualityAt(FlipQuality.Tier.BITMAP));
+        startFrame(mFromView, flips()[0]);
+        assertEquals(1, mLayers.getLayerCount());
+
+        // Bitmap tier promotes with the default manager when layers are turned off.
+        ViewFlipFactory.endFlip(mFromView);
+        ViewFlipFactory.setLayers(null);
+        int defaultLayers = FlipLayers.getDefault().getLayerCount();
+        startFrame(mFromView, flips()[0]);
+        assertEquals(defaultLayers + 1, FlipLayers.getDefault().getLayerCount());
+        ViewFlipFactory.endFlip(mFromView);
+        assertEquals(defaultLayers, FlipLayers.getDefault().getLayerCount());
+    }
+}
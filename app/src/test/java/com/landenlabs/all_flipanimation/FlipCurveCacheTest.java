@@ -0,0 +1,245 @@
+/*
+ * Copyright (c) 2026 Dennis Lang (LanDen Labs) landenlabs@gmail.com
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the
+ * following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT
+ * LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN
+ * NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * @author Dennis Lang
+ * @see https://LanDenLabs.com/
+ */
+
+
+
+package com.landenlabs.all_flipanimation;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+
+/**
+ * {@link FlipCurveCache} file work only runs on its executor, lookups are memory only.
+ * Damaged files reset to an empty usable cache, values match {@link FlipMatrix#camera}.
+ */
+public class FlipCurveCacheTest {
+
+    private static final int FRAMES = 181;
+    private static final int CURVE_BYTES = 32 + FRAMES * 9 * 4;   // Entry header + values
+    private static final int HEADER_BYTES = 16;
+
+    /**
+     * Executor which queues tasks until {@link #runAll} is called.
+     */
+    private static class QueuedExecutor implements Executor {
+        final List<Runnable> mTasks = new ArrayList<>();
+
+        @Override
+        public void execute(Runnable task) {
+            mTasks.add(task);
+        }
+
+        void runAll() {
+            while (!mTasks.isEmpty()) {
+                mTasks.remove(0).run();
+            }
+        }
+    }
+
+    private File mFile;
+
+    @Before
+    public void setUp() throws IOException {
+        mFile = File.createTempFile("flip_curves", ".bin");
+    }
+
+    @After
+    public void tearDown() {
+        mFile.delete();
+    }
+
+    @Test
+    public void lookupsDoNotWaitForFile() {
+        QueuedExecutor executor = new QueuedExecutor();
+        FlipCurveCache cache = new FlipCurveCache(mFile, FlipCurveCache.DEFAULT_MAX_BYTES, executor);
+
+        // Nothing is loaded or sampled on the calling thread.
+        assertEquals(-1, cache.findOrRequest(FlipMatrix.ROTATION_Y, 0, 90, 0, 0, -8, FRAMES));
+        assertEquals(0, cache.getEntryCount());
+
+        executor.runAll();
+        long handle = cache.find(FlipMatrix.ROTATION_Y, 0, 90, 0, 0, -8, FRAMES);
+        assertTrue(handle >= 0);
+        assertTrue(cache.getValues(handle, 0.5f, new float[9]));
+    }
+
+    @Test
+    public void curvesPersistAcrossInstances() {
+        FlipCurveCache cache = new FlipCurveCache(mFile, FlipCurveCache.DEFAULT_MAX_BYTES, FlipCurveCache.DIRECT);
+        long handle = cache.findOrRequest(FlipMatrix.ROTATION_X, 0, -90, 0, 0, -8, FRAMES);
+        float[] expect = new float[9];
+        assertTrue(cache.getValues(handle, 0.25f, expect));
+        cache.close();
+        assertFalse(cache.getValues(handle, 0.25f, expect));
+
+        FlipCurveCache reopened = new FlipCurveCache(mFile, FlipCurveCache.DEFAULT_MAX_BYTES, FlipCurveCache.DIRECT);
+        float[] actual = new float[9];
+        handle = reopened.find(FlipMatrix.ROTATION_X, 0, -90, 0, 0, -8, FRAMES);
+        assertTrue(reopened.getValues(handle, 0.25f, actual));
+        assertArrayEquals(expect, actual, 0);
+        reopened.close();
+    }
+
+    @Test
+    public void valuesMatchCameraMatrix() {
+        FlipCurveCache cache = new FlipCurveCache(mFile, FlipCurveCache.DEFAULT_MAX_BYTES, FlipCurveCache.DIRECT);
+        long handle = cache.findOrRequest(FlipMatrix.ROTATION_Y, 0, 180, 1, -2, -8, FRAMES);
+        assertCameraValues(cache, handle, FlipMatrix.ROTATION_Y, 0, 180, 1, -2, -8);
+        cache.close();
+
+        // Same values once read back from the file.
+        FlipCurveCache reopened = new FlipCurveCache(mFile, FlipCurveCache.DEFAULT_MAX_BYTES, FlipCurveCache.DIRECT);
+        handle = reopened.find(FlipMatrix.ROTATION_Y, 0, 180, 1, -2, -8, FRAMES);
+        assertCameraValues(reopened, handle, FlipMatrix.ROTATION_Y, 0, 180, 1, -2, -8);
+        reopened.close();
+    }
+
+    @Test
+    public void truncatedFileResets() throws IOException {
+        writeTwoCurves();
+        RandomAccessFile file = new RandomAccessFile(mFile, "rw");
+        file.setLength(file.length() - CURVE_BYTES / 2);
+        file.close();
+        assertReopensEmpty();
+    }
+
+    @Test
+    public void badMagicResets() throws IOException {
+        writeTwoCurves();
+        writeInt(0, FlipCurveCache.MAGIC + 1);
+        assertReopensEmpty();
+    }
+
+    @Test
+    public void badVersionResets() throws IOException {
+        writeTwoCurves();
+        writeInt(4, FlipCurveCache.VERSION + 1);
+        assertReopensEmpty();
+    }
+
+    @Test
+    public void checksumMismatchResets() throws IOException {
+        writeTwoCurves();
+        // First value of the second curve.
+        long offset = HEADER_BYTES + CURVE_BYTES + 32;
+        RandomAccessFile file = new RandomAccessFile(mFile, "rw");
+        file.seek(offset);
+        float value = file.readFloat();
+        file.seek(offset);
+        file.writeFloat(value + 1);
+        file.close();
+        assertReopensEmpty();
+    }
+
+    @Test
+    public void evictionKeepsMostRecentlyUsed() {
+        // Room for four curves, the fifth evicts down to half the file.
+        FlipCurveCache cache = new FlipCurveCache(mFile, HEADER_BYTES + 4 * CURVE_BYTES, FlipCurveCache.DIRECT);
+        for (int toDeg = 10; toDeg <= 40; toDeg += 10) {
+            assertTrue(cache.findOrRequest(FlipMatrix.ROTATION_Y, 0, toDeg, 0, 0, -8, FRAMES) >= 0);
+        }
+        assertEquals(4, cache.getEntryCount());
+        assertTrue(cache.find(FlipMatrix.ROTATION_Y, 0, 10, 0, 0, -8, FRAMES) >= 0);   // Oldest is now newest
+
+        long handle = cache.findOrRequest(FlipMatrix.ROTATION_Y, 0, 50, 0, 0, -8, FRAMES);
+        assertTrue(handle >= 0);
+        assertEquals(2, cache.getEntryCount());
+        assertTrue(cache.find(FlipMatrix.ROTATION_Y, 0, 10, 0, 0, -8, FRAMES) >= 0);
+        for (int toDeg = 20; toDeg <= 40; toDeg += 10) {
+            assertEquals(-1, cache.find(FlipMatrix.ROTATION_Y, 0, toDeg, 0, 0, -8, FRAMES));
+        }
+        cache.close();
+
+        // Rewritten file holds the survivors.
+        FlipCurveCache reopened = new FlipCurveCache(mFile, HEADER_BYTES + 4 * CURVE_BYTES, FlipCurveCache.DIRECT);
+        assertEquals(2, reopened.getEntryCount());
+        handle = reopened.find(FlipMatrix.ROTATION_Y, 0, 10, 0, 0, -8, FRAMES);
+        assertCameraValues(reopened, handle, FlipMatrix.ROTATION_Y, 0, 10, 0, 0, -8);
+        reopened.close();
+    }
+
+    private void writeTwoCurves() {
+        FlipCurveCache cache = new FlipCurveCache(mFile, FlipCurveCache.DEFAULT_MAX_BYTES, FlipCurveCache.DIRECT);
+        cache.findOrRequest(FlipMatrix.ROTATION_X, 0, -90, 0, 0, -8, FRAMES);
+        cache.findOrRequest(FlipMatrix.ROTATION_Y, 0, 90, 0, 0, -8, FRAMES);
+        assertEquals(2, cache.getEntryCount());
+        cache.close();
+        assertEquals(HEADER_BYTES + 2 * CURVE_BYTES, mFile.length());
+    }
+
+    private void writeInt(long offset, int value) throws IOException {
+        RandomAccessFile file = new RandomAccessFile(mFile, "rw");
+        file.seek(offset);
+        file.writeInt(value);
+        file.close();
+    }
+
+    /**
+     * Damaged file opens as an empty cache which still samples, stores and reloads curves.
+     */
+    private void assertReopensEmpty() {
+        FlipCurveCache cache = new FlipCurveCache(mFile, FlipCurveCache.DEFAULT_MAX_BYTES, FlipCurveCache.DIRECT);
+        assertTrue(cache.isOpen());
+        assertEquals(0, cache.getEntryCount());
+        assertEquals(-1, cache.find(FlipMatrix.ROTATION_X, 0, -90, 0, 0, -8, FRAMES));
+
+        long handle = cache.findOrRequest(FlipMatrix.ROTATION_Y, 0, 90, 0, 0, -8, FRAMES);
+        assertCameraValues(cache, handle, FlipMatrix.ROTATION_Y, 0, 90, 0, 0, -8);
+        cache.close();
+
+        FlipCurveCache reopened = new FlipCurveCache(mFile, FlipCurveCache.DEFAULT_MAX_BYTES, FlipCurveCache.DIRECT);
+        assertEquals(1, reopened.getEntryCount());
+        assertTrue(reopened.find(FlipMatrix.ROTATION_Y, 0, 90, 0, 0, -8, FRAMES) >= 0);
+        reopened.close();
+    }
+
+    /**
+     * Cached values at every frame equal the camera matrix computed directly.
+     */
+    private static void assertCameraValues(FlipCurveCache cache, long handle, int axis,
+        float fromDeg, float toDeg, float camX, float camY, float camZ) {
+        assertTrue(handle >= 0);
+        float[] expect = new float[9];
+        float[] actual = new float[9];
+        float step = 1.0f / (FRAMES - 1);
+        for (int frame = 0; frame < FRAMES; frame++) {
+            float degrees = fromDeg + (toDeg - fromDeg) * (frame * step);
+            FlipMatrix.camera(expect, axis, degrees, camX, camY, camZ);
+            assertTrue(cache.getValues(handle, frame * step, actual));
+            for (int idx = 0; idx < 9; idx++) {
+                assertEquals(expect[idx], actual[idx], 1e-5f * Math.max(1, Math.abs(expect[idx])));
+            }
+        }
+    }
+}
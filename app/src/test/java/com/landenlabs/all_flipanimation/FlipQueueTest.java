@@ -0,0 +1,104 @@
+/*
+ * Copyright (c) 2026 Dennis Lang (LanDen Labs) landenlabs@gmail.com
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the
+ * following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT
+ * LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN
+ * NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * @author Dennis Lang
+ * @see https://LanDenLabs.com/
+ */
+
+
+
+package com.landenlabs.all_flipanimation;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+/**
+ * {@link FlipQueue} recovers when a running flip never reports its end.
+ */
+public class FlipQueueTest {
+
+    /**
+     * Counts started flips, each expected to last durationMsec.
+     */
+    private static class CountingFlipper implements FlipQueue.Flipper {
+        long mDurationMsec;
+        int mStarts = 0;
+        int mLastSteps = 0;
+
+        CountingFlipper(long durationMsec) {
+            mDurationMsec = durationMsec;
+        }
+
+        @Override
+        public long startFlip(int steps) {
+            mStarts++;
+            mLastSteps = steps;
+            return mDurationMsec;
+        }
+    }
+
+    @Test
+    public void busyQueueWaitsForFlipEnd() {
+        CountingFlipper flipper = new CountingFlipper(60000);
+        FlipQueue queue = new FlipQueue(FlipQueue.Policy.DROP, flipper);
+        queue.request();
+        queue.request();
+        assertEquals(1, flipper.mStarts);
+        assertEquals(1, queue.getDroppedCount());
+        assertEquals(0, queue.getTimeoutCount());
+
+        queue.onFlipEnd();
+        assertFalse(queue.isBusy());
+        queue.request();
+        assertEquals(2, flipper.mStarts);
+    }
+
+    @Test
+    public void lostFlipEndTimesOut() {
+        // Deadline is the start time, so the next request finds the flip overdue.
+        CountingFlipper flipper = new CountingFlipper(-FlipQueue.WATCHDOG_MSEC);
+        FlipQueue queue = new FlipQueue(FlipQueue.Policy.DROP, flipper);
+        queue.request();
+        queue.request();
+        assertEquals(2, flipper.mStarts);
+        assertEquals(1, queue.getTimeoutCount());
+        assertEquals(0, queue.getDroppedCount());
+        assertTrue(queue.isBusy());
+    }
+
+    @Test
+    public void timeoutRunsCoalescedRequests() {
+        CountingFlipper flipper = new CountingFlipper(60000);
+        FlipQueue queue = new FlipQueue(FlipQueue.Policy.COALESCE, flipper);
+        queue.request();
+        queue.request();
+        queue.request();
+        assertEquals(2, queue.getPendingCount());
+
+        // Next flip is overdue at once, its end is never reported.
+        flipper.mDurationMsec = -FlipQueue.WATCHDOG_MSEC;
+        queue.onFlipEnd();
+        assertEquals(2, flipper.mLastSteps);
+        queue.request();
+        assertEquals(3, flipper.mStarts);
+        assertEquals(1, flipper.mLastSteps);
+        assertEquals(0, queue.getPendingCount());
+        assertEquals(1, queue.getTimeoutCount());
+    }
+}
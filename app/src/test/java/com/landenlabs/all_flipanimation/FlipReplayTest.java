@@ -0,0 +1,311 @@
+/*
+ * Copyright (c) 2026 Dennis Lang (LanDen Labs) landenlabs@gmail.com
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the
+ * following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT
+ * LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN
+ * NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * @author Dennis Lang
+ * @see https://LanDenLabs.com/
+ */
+
+
+
+package com.landenlabs.all_flipanimation;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import android.animation.ObjectAnimator;
+import android.animation.ValueAnimator;
+import android.app.Activity;
+import android.graphics.Camera;
+import android.graphics.Matrix;
+import android.view.View;
+import android.view.animation.Animation;
+import android.view.animation.LinearInterpolator;
+
+import com.landenlabs.all_flipanimation.ViewFlipFactory.FlipDirection;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.Robolectric;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+import org.robolectric.annotation.GraphicsMode;
+
+/**
+ * Replay the real FlipAnimation and Flip3dAnimation classes through
+ * {@link Animation#getTransformation} at every {@link FlipReplay#REFRESH_RATES} rate, and the
+ * ObjectAnimator curves through {@link ValueAnimator#setCurrentFraction}.
+ * <p/>
+ * Transforms are checked against an {@link Camera} composition written out in this
+ * test, curves against a framework ObjectAnimator. Every trace must also be smooth, a repeated or
+ * skipped frame shows up as a step or jerk spike above what the ms rounded clock allows.
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 35)
+@GraphicsMode(GraphicsMode.Mode.NATIVE)
+public class FlipReplayTest {
+
+    private static final long DURATION_MSEC = 1000;
+    private static final int WIDTH = 400;
+    private static final int HEIGHT = 600;
+    private static final float CAMERA_Z = -8;
+    private static final float HALF_PI = (float) (Math.PI / 2);
+
+    private final FlipReplay.Trace mAnimTrace = new FlipReplay.Trace();
+    private final FlipReplay.Trace mRefTrace = new FlipReplay.Trace();
+
+    /**
+     * Reference flip transform, same steps as the original Camera based FlipAnimation:
+     * camera rotation, slide translation, then rotation about the pivot.
+     */
+    private static final class CameraFlip implements FlipKeyframes.Sampler {
+        private final Camera mCamera = new Camera();
+        private final Matrix mMatrix = new Matrix();
+        final int mAxis;
+        final float mFromDeg, mToDeg;
+        final float mCamZ;
+        final float mPivotX, mPivotY;
+        final float mSlideX, mSlideY, mSlideStart;
+
+        /**
+         * @param slideX     Translation x over the whole flip (pixels)
+         * @param slideY     Translation y over the whole flip (pixels)
+         * @param slideStart Translation at start as a fraction of the slide, 0 or -1
+         */
+        CameraFlip(int axis, float fromDeg, float toDeg, float camZ,
+            float pivotX, float pivotY, float slideX, float slideY, float slideStart) {
+            mAxis = axis;
+            mFromDeg = fromDeg;
+            mToDeg = toDeg;
+            mCamZ = camZ;
+            mPivotX = pivotX;
+            mPivotY = pivotY;
+            mSlideX = slideX;
+            mSlideY = slideY;
+            mSlideStart = slideStart;
+        }
+
+        @Override
+        public void sample(float fraction, float[] out) {
+            float degrees = mFromDeg + (mToDeg - mFromDeg) * fraction;
+            mCamera.save();
+            mCamera.setLocation(0, 0, mCamZ);
+            if (mAxis == FlipMatrix.ROTATION_X) {
+                mCamera.rotateX(degrees);
+            } else {
+                mCamera.rotateY(degrees);
+            }
+            mCamera.getMatrix(mMatrix);
+            mCamera.restore();
+
+            float slide = mSlideStart + fraction;
+            mMatrix.postTranslate(slide * mSlideX, slide * mSlideY);
+            mMatrix.preTranslate(-mPivotX, -mPivotY);
+            mMatrix.postTranslate(mPivotX, mPivotY);
+            mMatrix.getValues(out);
+        }
+
+        /**
+         * Perspective value which carries the rotation, pivot and slide do not change it.
+         */
+        int perspIndex() {
+            return (mAxis == FlipMatrix.ROTATION_X) ? FlipMatrix.MPERSP_1 : FlipMatrix.MPERSP_0;
+        }
+
+        /**
+         * Largest change of {@link #perspIndex()} value per unit fraction, sin over a 90 degree turn.
+         */
+        float perspSlope() {
+            return HALF_PI / (-mCamZ * FlipMatrix.CAMERA_DPI);
+        }
+    }
+
+    /**
+     * Out-going and in-coming reference flips of a {@link ViewFlipFactory#flipAnimation} pair.
+     * The out-going view turns 90 degrees about its trailing edge while sliding one panel, the
+     * in-coming view turns from -90 degrees about its leading edge and slides into place.
+     */
+    private static CameraFlip[] referencePair(FlipDirection dir) {
+        float sign = dir.getDirSign();
+        boolean forward = sign > 0;
+        if (dir == FlipDirection.LEFT_RIGHT || dir == FlipDirection.RIGHT_LEFT) {
+            return new CameraFlip[]{
+                new CameraFlip(FlipMatrix.ROTATION_Y, 0, 90 * sign, CAMERA_Z,
+                    forward ? 0 : WIDTH, HEIGHT / 2.0f, WIDTH * sign, 0, 0),
+                new CameraFlip(FlipMatrix.ROTATION_Y, -90 * sign, 0, CAMERA_Z,
+                    forward ? WIDTH : 0, HEIGHT / 2.0f, WIDTH * sign, 0, -1)
+            };
+        }
+        return new CameraFlip[]{
+            new CameraFlip(FlipMatrix.ROTATION_X, 0, -90 * sign, CAMERA_Z,
+                WIDTH / 2.0f, forward ? 0 : HEIGHT, 0, HEIGHT * sign, 0),
+            new CameraFlip(FlipMatrix.ROTATION_X, 90 * sign, 0, CAMERA_Z,
+                WIDTH / 2.0f, forward ? HEIGHT : 0, 0, HEIGHT * sign, -1)
+        };
+    }
+
+    /**
+     * Replay animation at each refresh rate. Every frame must run through applyTransformation,
+     * the flip must end, transforms must match the Camera reference and change smoothly.
+     */
+    private void checkReplay(String name, Animation animation, CameraFlip reference) {
+        animation.setInterpolator(new LinearInterpolator());
+        for (float refreshRate : FlipReplay.REFRESH_RATES) {
+            String msg = name + " at " + refreshRate + "Hz";
+            FlipReplay replay = new FlipReplay(refreshRate, DURATION_MSEC);
+            replay.replay(animation, WIDTH, HEIGHT, mAnimTrace);
+            replay.replay(reference, mRefTrace);
+
+            assertEquals(msg, FlipKeyframes.frameCount(DURATION_MSEC, refreshRate), mAnimTrace.getFrameCount());
+            assertTrue(msg + " ended", animation.hasEnded());
+            assertTrue(msg + " timed", mAnimTrace.getTotalNanos() > 0);
+            assertMatrixClose(msg, mRefTrace, mAnimTrace);
+            assertSmooth(msg, mAnimTrace, reference.perspIndex(), reference.perspSlope(),
+                reference.perspSlope() * HALF_PI, refreshRate);
+        }
+    }
+
+    /**
+     * Matrix values match within float precision, translations within a thousandth of a pixel.
+     */
+    private static void assertMatrixClose(String msg, FlipReplay.Trace expect, FlipReplay.Trace actual) {
+        assertEquals(msg, expect.getFrameCount(), actual.getFrameCount());
+        for (int frame = 0; frame < expect.getFrameCount(); frame++) {
+            for (int idx = 0; idx < FlipKeyframes.VALUES; idx++) {
+                float value = expect.getValue(frame, idx);
+                boolean trans = (idx == FlipMatrix.MTRANS_X || idx == FlipMatrix.MTRANS_Y);
+                float tolerance = (trans ? 1e-3f : 1e-6f) + 1e-4f * Math.abs(value);
+                assertEquals(msg + " frame " + frame + " value " + idx, value, actual.getValue(frame, idx), tolerance);
+            }
+        }
+    }
+
+    /**
+     * Frame to frame change is bounded by the value's slope over one (ms rounded) refresh period,
+     * and the change of that change by the 2 ms clock rounding plus the curve's own curvature.
+     *
+     * @param slope     Largest change of the value per unit fraction.
+     * @param curvature Largest second derivative of the value over fraction.
+     */
+    private static void assertSmooth(String msg, FlipReplay.Trace trace, int index,
+        float slope, float curvature, float refreshRate) {
+        double frameStep = (1000.0 / refreshRate + 1) / DURATION_MSEC;
+        double jitter = 2.0 / DURATION_MSEC;
+        double eps = 1e-4 * slope;
+        float maxStep = trace.maxStep(index);
+        float maxJerk = trace.maxJerk(index);
+        assertTrue(msg + " maxStep " + maxStep, maxStep <= slope * frameStep + eps);
+        assertTrue(msg + " maxJerk " + maxJerk, maxJerk <= slope * jitter + curvature * frameStep * frameStep + eps);
+    }
+
+    @Test
+    public void flipAnimation() {
+        Activity activity = Robolectric.buildActivity(Activity.class).setup().get();
+        View fromView = new View(activity);
+        View toView = new View(activity);
+        fromView.layout(0, 0, WIDTH, HEIGHT);
+        toView.layout(0, 0, WIDTH, HEIGHT);
+
+        for (FlipDirection dir : FlipDirection.values()) {
+            Animation[] flips = ViewFlipFactory.flipAnimation(fromView, toView, dir, DURATION_MSEC,
+                new LinearInterpolator(), new float[]{0, 0, CAMERA_Z}, false);
+            CameraFlip[] reference = referencePair(dir);
+            checkReplay("out " + dir, flips[0], reference[0]);
+            checkReplay("in " + dir, flips[1], reference[1]);
+        }
+    }
+
+    @Test
+    public void rotAnimationFlip3d() {
+        ActivityRotAnimation activity = Robolectric.buildActivity(ActivityRotAnimation.class).setup().get();
+        ActivityRotAnimation.Flip3dAnimation rotation = activity.mRotation1;
+        rotation.mFromDegrees = 0;
+        rotation.mToDegrees = 90;
+        rotation.mCenterX = WIDTH;
+        rotation.mCenterY = HEIGHT / 2.0f;
+        rotation.reset(activity.mView1, (int) DURATION_MSEC, activity.mCameraZ);
+        int axis = activity.mRotateYaxis ? FlipMatrix.ROTATION_Y : FlipMatrix.ROTATION_X;
+        checkReplay("RotAnimation", rotation,
+            new CameraFlip(axis, 0, 90, activity.mCameraZ, WIDTH, HEIGHT / 2.0f, 0, 0, 0));
+    }
+
+    @Test
+    public void rotAnimCompFlip3d() {
+        ActivityRotAnimComp activity = Robolectric.buildActivity(ActivityRotAnimComp.class).setup().get();
+        ActivityRotAnimComp.Flip3dAnimation rotation = activity.mRotation2;
+        rotation.mFromDegrees = -90;
+        rotation.mToDegrees = 0;
+        rotation.mCenterX = 0;
+        rotation.mCenterY = HEIGHT / 2.0f;
+        rotation.reset(activity.mView2, (int) DURATION_MSEC, activity.mCameraZ);
+        int axis = activity.mRotateYaxis ? FlipMatrix.ROTATION_Y : FlipMatrix.ROTATION_X;
+        checkReplay("RotAnimComp", rotation,
+            new CameraFlip(axis, -90, 0, activity.mCameraZ, 0, HEIGHT / 2.0f, 0, 0, 0));
+    }
+
+    /**
+     * {@link FloatCurve} evaluators match the framework float evaluator, edge sync matches its
+     * exact {@code acos(1 - fraction)} angle.
+     */
+    @Test
+    public void floatCurves() {
+        View view = new View(Robolectric.buildActivity(Activity.class).setup().get());
+        ObjectAnimator linear = ObjectAnimator.ofFloat(view, View.ROTATION_Y, 0, 90);
+        linear.setInterpolator(new LinearInterpolator());
+
+        for (float refreshRate : FlipReplay.REFRESH_RATES) {
+            String msg = "FloatCurve at " + refreshRate + "Hz";
+            FlipReplay replay = new FlipReplay(refreshRate, DURATION_MSEC);
+            replay.replay(FloatCurve.LINEAR, 0, 90, mAnimTrace);
+            replay.replay(linear, view, View.ROTATION_Y, mRefTrace);
+            assertEquals(msg, 0, mAnimTrace.maxDifference(mRefTrace), 1e-4f);
+            assertSmooth(msg, mAnimTrace, 0, 90, 0, refreshRate);
+
+            replay.replay(EdgeSyncCurve.getDefault(), 0, 90, mAnimTrace);
+            for (int frame = 0; frame < mAnimTrace.getFrameCount(); frame++) {
+                double exact = Math.toDegrees(Math.acos(1 - replay.fraction(frame)));
+                assertEquals(msg + " edge sync frame " + frame, exact, mAnimTrace.getValue(frame, 0), 0.01);
+            }
+        }
+    }
+
+    /**
+     * {@link FloatFlipAnimator} replayed through its ValueAnimator sets the same property values as
+     * an ObjectAnimator, both with the default accelerate-decelerate interpolator.
+     */
+    @Test
+    public void floatFlipAnimator() {
+        Activity activity = Robolectric.buildActivity(Activity.class).setup().get();
+        View view = new View(activity);
+        View refView = new View(activity);
+        ValueAnimator flip = FloatFlipAnimator.ofFloat(view, View.ROTATION_Y, FloatCurve.LINEAR, 0, 90);
+        ObjectAnimator reference = ObjectAnimator.ofFloat(refView, View.ROTATION_Y, 0, 90);
+
+        // 90 * (1 - cos(pi * fraction)) / 2
+        float slope = 90 * HALF_PI;
+        float curvature = 90 * HALF_PI * 2 * HALF_PI;
+        for (float refreshRate : FlipReplay.REFRESH_RATES) {
+            String msg = "FloatFlipAnimator at " + refreshRate + "Hz";
+            FlipReplay replay = new FlipReplay(refreshRate, DURATION_MSEC);
+            replay.replay(flip, view, View.ROTATION_Y, mAnimTrace);
+            replay.replay(reference, refView, View.ROTATION_Y, mRefTrace);
+            assertEquals(msg, 0, mAnimTrace.maxDifference(mRefTrace), 1e-3f);
+            assertEquals(msg + " end", 90, mAnimTrace.getValue(mAnimTrace.getFrameCount() - 1, 0), 1e-3f);
+            assertTrue(msg + " timed", mAnimTrace.getTotalNanos() > 0);
+            assertSmooth(msg, mAnimTrace, 0, slope, curvature, refreshRate);
+        }
+    }
+}
@@ -0,0 +1,73 @@
+/*
+ * Copyright (c) 2026 Dennis Lang (LanDen Labs) landenlabs@gmail.com
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the
+ * following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT
+ * LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN
+ * NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * @author Dennis Lang
+ * @see https://LanDenLabs.com/
+ */
+
+
+package com.landenlabs.all_flipanimation;
+
+import static org.junit.Assert.assertEquals;
+
+import android.app.Activity;
+import android.view.View;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.Robolectric;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+/**
+ * {@link FloatFlipAnimator} sets typed view properties from its curve and restarts without allocating.
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 35)
+public class FloatFlipAnimatorTest {
+
+    private static final float EPS = 0.001f;
+
+    @Test
+    public void setsPropertyFromCurve() {
+        View view = new View(Robolectric.buildActivity(Activity.class).setup().get());
+        FloatFlipAnimator flip = new FloatFlipAnimator(view, View.ROTATION_X, FloatCurve.LINEAR);
+
+        flip.start(10, 30);
+        flip.getAnimator().setCurrentFraction(0.5f);
+        assertEquals(20, view.getRotationX(), EPS);     // Accelerate-decelerate is 0.5 at 0.5
+        flip.getAnimator().setCurrentFraction(1);
+        assertEquals(30, view.getRotationX(), EPS);
+
+        // Restart reuses the same animator with new values.
+        flip.start(view.getRotationX(), 0);
+        flip.getAnimator().setCurrentFraction(1);
+        assertEquals(0, view.getRotationX(), EPS);
+        flip.getAnimator().cancel();
+    }
+
+    @Test
+    public void intCurveTruncatesTranslation() {
+        View view = new View(Robolectric.buildActivity(Activity.class).setup().get());
+        FloatFlipAnimator flip = new FloatFlipAnimator(view, View.TRANSLATION_Y, FloatCurve.INT_LINEAR);
+
+        flip.start(0, 101);
+        flip.getAnimator().setCurrentFraction(0.5f);
+        assertEquals(50, view.getTranslationY(), EPS);
+        flip.getAnimator().cancel();
+    }
+}
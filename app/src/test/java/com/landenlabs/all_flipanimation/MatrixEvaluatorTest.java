@@ -0,0 +1,119 @@
+/*
+ * Copyright (c) 2026 Dennis Lang (LanDen Labs) landenlabs@gmail.com
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the
+ * following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT
+ * LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN
+ * NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * @author Dennis Lang
+ * @see https://LanDenLabs.com/
+ */
+
+
+
+package com.landenlabs.all_flipanimation;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertTrue;
+
+import android.graphics.Matrix;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.Robolectric;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+import org.robolectric.annotation.GraphicsMode;
+
+import java.lang.management.ManagementFactory;
+
+/**
+ * Allocation and ownership checks of {@link ActivityObjAnimImg.MatrixEvaluator}.
+ * Uses native graphics so {@link Matrix} is the real implementation and not a Java shadow.
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 35)
+@GraphicsMode(GraphicsMode.Mode.NATIVE)
+public class MatrixEvaluatorTest {
+
+    private static final int FRAMES = 10000;
+
+    private ActivityObjAnimImg mActivity;
+    private final Matrix mStart = new Matrix();
+    private final Matrix mEnd = new Matrix();
+
+    @Before
+    public void setUp() {
+        mActivity = Robolectric.buildActivity(ActivityObjAnimImg.class).setup().get();
+        mStart.setScale(2, 2);
+        mEnd.setRotate(45);
+        mEnd.postTranslate(10, 20);
+    }
+
+    /**
+     * Thread allocation counter, bytes allocated by the current thread.
+     */
+    private static long allocatedBytes() {
+        return ((com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean())
+            .getCurrentThreadAllocatedBytes();
+    }
+
+    @Test
+    public void evaluateDoesNotAllocatePerFrame() {
+        ActivityObjAnimImg.MatrixEvaluator evaluator = mActivity.new MatrixEvaluator();
+
+        // Warm up so class loading and JIT do not count.
+        for (int frame = 0; frame < FRAMES; frame++) {
+            evaluator.evaluate(frame / (float) FRAMES, mStart, mEnd);
+        }
+
+        long before = allocatedBytes();
+        for (int frame = 0; frame < FRAMES; frame++) {
+            evaluator.evaluate(frame / (float) FRAMES, mStart, mEnd);
+        }
+        long bytes = allocatedBytes() - before;
+        assertTrue("allocated " + bytes + " bytes over " + FRAMES + " frames", bytes < FRAMES);
+    }
+
+    @Test
+    public void evaluateLerpsMatrixValues() {
+        ActivityObjAnimImg.MatrixEvaluator evaluator = mActivity.new MatrixEvaluator();
+        float[] start = new float[9];
+        float[] end = new float[9];
+        float[] expect = new float[9];
+        float[] actual = new float[9];
+        mStart.getValues(start);
+        mEnd.getValues(end);
+        FlipMatrix.lerp(expect, start, end, 0.25f);
+
+        evaluator.evaluate(0.25f, mStart, mEnd).getValues(actual);
+        assertArrayEquals(expect, actual, 1e-5f);
+    }
+
+    @Test
+    public void evaluateDoubleBuffersResult() {
+        ActivityObjAnimImg.MatrixEvaluator evaluator = mActivity.new MatrixEvaluator();
+        Matrix first = evaluator.evaluate(0.25f, mStart, mEnd);
+        float[] firstValues = new float[9];
+        first.getValues(firstValues);
+
+        Matrix second = evaluator.evaluate(0.75f, mStart, mEnd);
+        assertNotSame(first, second);
+
+        float[] values = new float[9];
+        first.getValues(values);
+        assertArrayEquals(firstValues, values, 0);
+    }
+}
@@ -0,0 +1,145 @@
+/*
+ * Copyright (c) 2026 Dennis Lang (LanDen Labs) landenlabs@gmail.com
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the
+ * following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT
+ * LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN
+ * NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * @author Dennis Lang
+ * @see https://LanDenLabs.com/
+ */
+
+
+
+package com.landenlabs.all_flipanimation;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import android.graphics.Bitmap;
+import android.view.View;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.annotation.Config;
+
+/**
+ * {@link SnapshotCache} reuse, versioning and metrics, pinned bitmaps stay valid while a flip draws them.
+ * The pool holds nothing, so any bitmap released to it is recycled.
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 35)
+public class SnapshotCacheTest {
+
+    private static final int SIZE = 10;     // 400 byte bitmaps
+
+    private final BitmapPool mPool = new BitmapPool(0);
+    private final SnapshotCache mCache = new SnapshotCache(mPool, 600);
+    private View mView1;
+    private View mView2;
+
+    @Before
+    public void setUp() {
+        mView1 = new View(RuntimeEnvironment.getApplication());
+        mView2 = new View(RuntimeEnvironment.getApplication());
+    }
+
+    private static Bitmap bitmap() {
+        return Bitmap.createBitmap(SIZE, SIZE, Bitmap.Config.ARGB_8888);
+    }
+
+    @Test
+    public void unpinnedSnapshotIsEvicted() {
+        Bitmap first = bitmap();
+        assertTrue(mCache.put(mView1, 0, first));
+        assertTrue(mCache.put(mView2, 0, bitmap()));
+        assertTrue(first.isRecycled());
+    }
+
+    @Test
+    public void pinnedSnapshotIsNotEvicted() {
+        Bitmap first = bitmap();
+        assertTrue(mCache.put(mView1, 0, first));
+        mCache.pin(first);
+
+        Bitmap second = bitmap();
+        assertFalse(mCache.put(mView2, 0, second));
+        assertFalse(first.isRecycled());
+        assertTrue(mCache.get(mView1, 0, SIZE, SIZE) == first);
+
+        mCache.unpin(first);
+        assertTrue(mCache.put(mView2, 0, second));
+        assertTrue(first.isRecycled());
+    }
+
+    @Test
+    public void removedPinnedSnapshotIsReleasedOnUnpin() {
+        Bitmap first = bitmap();
+        assertTrue(mCache.put(mView1, 0, first));
+        mCache.pin(first);
+
+        mCache.invalidate(mView1);
+        mCache.clear();
+        assertFalse(first.isRecycled());
+
+        mCache.unpin(first);
+        assertTrue(first.isRecycled());
+    }
+
+    @Test
+    public void versionChangeForcesRecapture() {
+        Bitmap first = bitmap();
+        SnapshotCache.setContentVersion(mView1, 1);
+        int version = SnapshotCache.getContentVersion(mView1);
+        assertTrue(mCache.put(mView1, version, first));
+        assertTrue(mCache.get(mView1, version, SIZE, SIZE) == first);
+
+        SnapshotCache.setContentVersion(mView1, 2);
+        version = SnapshotCache.getContentVersion(mView1);
+        assertNull(mCache.get(mView1, version, SIZE, SIZE));
+
+        // Re-captured snapshot replaces the stale one, which goes back to the pool.
+        Bitmap second = bitmap();
+        assertTrue(mCache.put(mView1, version, second));
+        assertTrue(first.isRecycled());
+        assertTrue(mCache.get(mView1, version, SIZE, SIZE) == second);
+        assertEquals(second.getAllocationByteCount(), mCache.getBytes());
+    }
+
+    @Test
+    public void countersTrackHitsMissesAndEvictions() {
+        assertNull(mCache.get(mView1, 0, SIZE, SIZE));
+        assertTrue(mCache.put(mView1, 0, bitmap()));
+        assertTrue(mCache.get(mView1, 0, SIZE, SIZE) != null);
+        assertTrue(mCache.get(mView1, 0, SIZE, SIZE) != null);
+        assertNull(mCache.get(mView1, 0, SIZE * 2, SIZE));  // Size mismatch is a miss
+        assertEquals(2, mCache.getHitCount());
+        assertEquals(2, mCache.getMissCount());
+        assertEquals(0, mCache.getEvictionCount());
+
+        // Budget holds one bitmap, each new view evicts the previous one.
+        assertTrue(mCache.put(mView2, 0, bitmap()));
+        assertTrue(mCache.put(mView1, 0, bitmap()));
+        assertEquals(2, mCache.getEvictionCount());
+
+        // Invalidate and same-view replacement are not evictions.
+        mCache.invalidate(mView1);
+        assertEquals(0, mCache.getBytes());
+        assertEquals(2, mCache.getEvictionCount());
+    }
+}
@@ -0,0 +1,118 @@
+/*
+ * Copyright (c) 2026 Dennis Lang (LanDen Labs) landenlabs@gmail.com
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the
+ * following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT
+ * LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN
+ * NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * @author Dennis Lang
+ * @see https://LanDenLabs.com/
+ */
+
+
+package com.landenlabs.all_flipanimation.benchmark;
+
+import com.landenlabs.all_flipanimation.EdgeSyncCurve;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Random;
+
+/**
+ * Edge-sync angle compensation, per-frame cost of the evaluators in ActivityObjAnimView,
+ * ActivityObjAnimListR and Flip3dAnimation in ActivityRotAnimComp.
+ * <p/>
+ * The curve benchmarks run the app's {@link EdgeSyncCurve}. The *Legacy and *Boxed benchmarks are
+ * frozen snapshots of the original acos/asin evaluators, kept as a baseline; that code no longer
+ * exists in the app.
+ */
+@State(Scope.Thread)
+public class EdgeSyncBenchmark {
+
+    private static final float END_ANGLE = 90.0f;
+    private static final int SAMPLES = 1024;
+
+    private final float[] mFractions = new float[SAMPLES];
+    private int mIdx = 0;
+    private final EdgeSyncCurve mLinear = new EdgeSyncCurve(EdgeSyncCurve.DEFAULT_RESOLUTION, EdgeSyncCurve.LINEAR);
+    private final EdgeSyncCurve mCubic = new EdgeSyncCurve(EdgeSyncCurve.DEFAULT_RESOLUTION, EdgeSyncCurve.CUBIC);
+    private float mStart = 0;
+    private float mEnd = END_ANGLE;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(1234);
+        for (int idx = 0; idx < SAMPLES; idx++) {
+            mFractions[idx] = random.nextFloat();
+        }
+    }
+
+    private float nextFraction() {
+        mIdx = (mIdx + 1) & (SAMPLES - 1);
+        return mFractions[mIdx];
+    }
+
+    /**
+     * Frozen snapshot of the original TypeEvaluator&lt;Float&gt;, double precision acos and boxed result.
+     */
+    @Benchmark
+    public Float objAnimEvaluatorBoxed() {
+        return legacyEvaluate(nextFraction(), mStart, mEnd);
+    }
+
+    private static Float legacyEvaluate(float fraction, Float startValue, Float endValue) {
+        if (startValue != 0)
+            fraction = 1 - fraction;
+        float angle = (float) (Math.acos(1 - fraction) * 180 / Math.PI);
+        float percent = angle / END_ANGLE;
+        if (startValue != 0)
+            percent = 1 - percent;
+        return startValue + ((endValue - startValue) * percent);
+    }
+
+    @Benchmark
+    public float curveLinear() {
+        return mLinear.evaluate(nextFraction(), mStart, mEnd);
+    }
+
+    @Benchmark
+    public float curveCubic() {
+        return mCubic.evaluate(nextFraction(), mStart, mEnd);
+    }
+
+    /**
+     * Frozen snapshot of the original ActivityRotAnimComp.Flip3dAnimation angle math
+     * (acos, asin and unused degrees1).
+     */
+    @Benchmark
+    public float rotAnimCompLegacy() {
+        float interpolatedTime = nextFraction();
+        float degrees1 = mStart + ((mEnd - mStart) * interpolatedTime);
+        float percent1 = (float) Math.toDegrees(Math.acos(1 - interpolatedTime)) / 90;
+        float percent2 = (float) Math.toDegrees(Math.asin(interpolatedTime)) / 90;
+        float percent = (mStart == 0) ? percent1 : percent2;
+        return mStart + ((mEnd - mStart) * percent) + degrees1 * 0;
+    }
+
+    @Benchmark
+    public float rotAnimCompCurve() {
+        float interpolatedTime = nextFraction();
+        float percent = (mStart == 0)
+            ? mLinear.percent(interpolatedTime)
+            : mLinear.percentReverse(interpolatedTime);
+        return mStart + ((mEnd - mStart) * percent);
+    }
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright (c) 2026 Dennis Lang (LanDen Labs) landenlabs@gmail.com
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the
+ * following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT
+ * LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN
+ * NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * @author Dennis Lang
+ * @see https://LanDenLabs.com/
+ */
+
+
+package com.landenlabs.all_flipanimation.benchmark;
+
+import com.landenlabs.all_flipanimation.FlipMatrix;
+import com.landenlabs.all_flipanimation.FlipSetup;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Per-flip parameter setup done by ViewFlipFactory.flipAnimation for each FlipDirection,
+ * including the direction resolve done in the FlipAnimation constructor.
+ * <p/>
+ * {@link #setupPreset} runs the app's {@link FlipSetup} and {@link FlipSetup#flipEdge}.
+ * {@link #setupLegacy} is a frozen snapshot of the original per-flip array setup, kept as a
+ * baseline; that code no longer exists in the app.
+ */
+@State(Scope.Thread)
+public class FlipSetupBenchmark {
+
+    private int mDir = 0;   // LEFT_RIGHT, RIGHT_LEFT, TOP_BOTTOM, BOTTOM_TOP
+
+    /**
+     * Frozen snapshot of the original setup, six parameter arrays allocated per flip.
+     */
+    @Benchmark
+    public void setupLegacy(Blackhole bh) {
+        mDir = (mDir + 1) & 3;
+        int dirSign = ((mDir & 1) == 0) ? 1 : -1;
+        int axis;
+        float[] inRotation, outRotation;
+        float[] inOriginF, outOriginF;
+        float[] inPivotF, outPivotF;
+
+        if (mDir >= 2) {
+            axis = FlipMatrix.ROTATION_X;
+            inRotation = new float[]{0, -90};
+            outRotation = new float[]{90, 0};
+            inOriginF = new float[]{0, 0};
+            outOriginF = new float[]{0, -1};
+            inPivotF = new float[]{0.5f, 0};
+            outPivotF = new float[]{0.5f, 1};
+        } else {
+            axis = FlipMatrix.ROTATION_Y;
+            inRotation = new float[]{0, 90};
+            outRotation = new float[]{-90, 0};
+            inOriginF = new float[]{0, 0};
+            outOriginF = new float[]{-1, 0};
+            inPivotF = new float[]{0, 0.5f};
+            outPivotF = new float[]{1, 0.5f};
+        }
+
+        resolve(bh, axis, dirSign, inRotation, inOriginF, inPivotF);
+        resolve(bh, axis, dirSign, outRotation, outOriginF, outPivotF);
+    }
+
+    /**
+     * Shared FlipSetup presets.
+     */
+    @Benchmark
+    public void setupPreset(Blackhole bh) {
+        mDir = (mDir + 1) & 3;
+        int dirSign = ((mDir & 1) == 0) ? 1 : -1;
+        FlipSetup setup = FlipSetup.get(mDir >= 2);
+
+        resolve(bh, setup.axis, dirSign, setup.inRotation, setup.inOriginF, setup.inPivotF);
+        resolve(bh, setup.axis, dirSign, setup.outRotation, setup.outOriginF, setup.outPivotF);
+    }
+
+    /**
+     * Same values FlipAnimation constructor derives from its arguments.
+     */
+    private static void resolve(Blackhole bh, int axis, int dir, float[] fromTo, float[] originF, float[] pivotF) {
+        bh.consume(axis);
+        bh.consume(fromTo[0] * dir);
+        bh.consume(fromTo[1] * dir);
+        bh.consume(originF[0]);
+        bh.consume(originF[1]);
+        bh.consume(FlipSetup.flipEdge(pivotF[0], dir));
+        bh.consume(FlipSetup.flipEdge(pivotF[1], dir));
+    }
+}
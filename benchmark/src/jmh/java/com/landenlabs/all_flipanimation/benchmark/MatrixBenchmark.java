@@ -0,0 +1,149 @@
+/*
+ * Copyright (c) 2026 Dennis Lang (LanDen Labs) landenlabs@gmail.com
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the
+ * following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT
+ * LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN
+ * NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * @author Dennis Lang
+ * @see https://LanDenLabs.com/
+ */
+
+
+package com.landenlabs.all_flipanimation.benchmark;
+
+import com.landenlabs.all_flipanimation.FlipCurveCache;
+import com.landenlabs.all_flipanimation.FlipKeyframes;
+import com.landenlabs.all_flipanimation.FlipMatrix;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.File;
+import java.io.IOException;
+
+/**
+ * Per-frame matrix work: FlipAnimation camera composition, baked playback and MatrixEvaluator lerp.
+ * <p/>
+ * The flip and pooled benchmarks run the app's {@link FlipMatrix}, {@link FlipKeyframes} and
+ * {@link FlipCurveCache}; the real Android MatrixEvaluator is covered by the app's MatrixEvaluatorTest.
+ * {@link #matrixEvaluatorLegacy} is a frozen snapshot of the original evaluator, kept as a baseline.
+ */
+@State(Scope.Thread)
+public class MatrixBenchmark {
+
+    private static final int FRAMES = 181;  // 3 sec at 60Hz
+    private static final float WIDTH = 1080;
+    private static final float HEIGHT = 720;
+
+    private final float[] mOut = new float[9];
+    private final float[] mStart = new float[9];
+    private final float[] mEnd = new float[9];
+    private final FlipKeyframes mKeyframes = new FlipKeyframes();
+    private FlipCurveCache mCache;
+    private File mCacheFile;
+    private long mCurve;
+    private int mFrame = 0;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        FlipMatrix.flip(mStart, FlipMatrix.ROTATION_Y, 0, 0, 0, -8, 0, HEIGHT / 2, 0, 0);
+        FlipMatrix.flip(mEnd, FlipMatrix.ROTATION_Y, 90, 0, 0, -8, 0, HEIGHT / 2, 0, 0);
+        mKeyframes.bake(new FlipKeyframes.Sampler() {
+            @Override
+            public void sample(float fraction, float[] out) {
+                flip(fraction, out);
+            }
+        }, FRAMES);
+
+        mCacheFile = File.createTempFile("flip_curves", ".bin");
+        mCache = new FlipCurveCache(mCacheFile, FlipCurveCache.DEFAULT_MAX_BYTES, FlipCurveCache.DIRECT);
+        mCurve = mCache.findOrRequest(FlipMatrix.ROTATION_Y, 0, 90, 0, 0, -8, FRAMES);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        mCache.close();
+        mCacheFile.delete();
+    }
+
+    private float nextFraction() {
+        mFrame = (mFrame + 1) % FRAMES;
+        return mFrame / (float) (FRAMES - 1);
+    }
+
+    private static void flip(float fraction, float[] out) {
+        FlipMatrix.flip(out, FlipMatrix.ROTATION_Y, 90 * fraction, 0, 0, -8,
+            0, HEIGHT / 2, fraction * WIDTH, 0);
+    }
+
+    /**
+     * FlipAnimation.applyTransformationCamera live path.
+     */
+    @Benchmark
+    public float[] flipLive() {
+        flip(nextFraction(), mOut);
+        return mOut;
+    }
+
+    /**
+     * FlipAnimation baked path, in-memory keyframes.
+     */
+    @Benchmark
+    public float[] flipBaked() {
+        mKeyframes.getValues(nextFraction(), mOut);
+        return mOut;
+    }
+
+    /**
+     * FlipAnimation baked path, curve cache plus pivot and translation.
+     */
+    @Benchmark
+    public float[] flipCachedCurve() {
+        float fraction = nextFraction();
+        mCache.getValues(mCurve, fraction, mOut);
+        FlipMatrix.pivotTranslate(mOut, 0, HEIGHT / 2, fraction * WIDTH, 0);
+        return mOut;
+    }
+
+    /**
+     * Frozen snapshot of the original ActivityObjAnimImg.MatrixEvaluator, three scratch arrays per frame
+     * (the Android Matrix allocation is not included).
+     */
+    @Benchmark
+    public float[] matrixEvaluatorLegacy() {
+        float fraction = nextFraction();
+        float[] startEntries = new float[9];
+        float[] endEntries = new float[9];
+        float[] currentEntries = new float[9];
+        System.arraycopy(mStart, 0, startEntries, 0, 9);
+        System.arraycopy(mEnd, 0, endEntries, 0, 9);
+        for (int i = 0; i < 9; i++)
+            currentEntries[i] = (1 - fraction) * startEntries[i]
+                + fraction * endEntries[i];
+        return currentEntries;
+    }
+
+    /**
+     * Lerp kernel of the pooled MatrixEvaluator, cached start/end values and reused output.
+     */
+    @Benchmark
+    public float[] matrixEvaluatorPooled() {
+        FlipMatrix.lerp(mOut, mStart, mEnd, nextFraction());
+        return mOut;
+    }
+}